@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks at 1, 4 and N threads, where N is the number of
+ * available processors, reporting allocation rates via the GC profiler.
+ * <p>
+ * Any arguments are passed on as standard JMH command line options, so a
+ * subset can be run with, for example, <code>FormatBenchmark</code>.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int[] threadCounts = (cpus == 1 || cpus == 4 ? new int[] {1, 4} : new int[] {1, 4, cpus});
+        for (int threads : threadCounts) {
+            Options opts = new OptionsBuilder()
+                .parent(cmd)
+                .threads(threads)
+                .addProfiler(GCProfiler.class)
+                .build();
+            new Runner(opts).run();
+        }
+    }
+
+}
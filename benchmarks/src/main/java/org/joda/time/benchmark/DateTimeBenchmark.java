@@ -0,0 +1,131 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeFieldType;
+import org.joda.time.DateTimeZone;
+import org.joda.time.chrono.GregorianChronology;
+import org.joda.time.chrono.ISOChronology;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for constructing datetimes, reading fields and simple arithmetic.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateTimeBenchmark {
+
+    private final DateTimeZone iZone = DateTimeZone.forID("Europe/Paris");
+    private final Chronology iChrono = ISOChronology.getInstance(iZone);
+    private final Chronology iChronoUTC = ISOChronology.getInstanceUTC();
+    private final Chronology iGregorianUTC = GregorianChronology.getInstanceUTC();
+    private final DateTime iDateTime = new DateTime(2015, 6, 30, 12, 30, 45, 123, iChrono);
+
+    @Benchmark
+    public DateTime construct(Instants instants) {
+        return new DateTime(instants.next(), iChrono);
+    }
+
+    @Benchmark
+    public DateTime constructFromFields() {
+        return new DateTime(2015, 6, 30, 12, 30, 45, 123, iChrono);
+    }
+
+    @Benchmark
+    public void fieldGetters(Instants instants, Blackhole bh) {
+        long instant = instants.next();
+        bh.consume(iChrono.year().get(instant));
+        bh.consume(iChrono.monthOfYear().get(instant));
+        bh.consume(iChrono.dayOfMonth().get(instant));
+        bh.consume(iChrono.hourOfDay().get(instant));
+        bh.consume(iChrono.minuteOfHour().get(instant));
+        bh.consume(iChrono.secondOfMinute().get(instant));
+        bh.consume(iChrono.millisOfSecond().get(instant));
+    }
+
+    @Benchmark
+    public void fieldTypeGetters(Instants instants, Blackhole bh) {
+        long instant = instants.next();
+        bh.consume(DateTimeFieldType.year().getField(iChrono).get(instant));
+        bh.consume(DateTimeFieldType.monthOfYear().getField(iChrono).get(instant));
+        bh.consume(DateTimeFieldType.dayOfMonth().getField(iChrono).get(instant));
+        bh.consume(DateTimeFieldType.hourOfDay().getField(iChrono).get(instant));
+        bh.consume(DateTimeFieldType.minuteOfHour().getField(iChrono).get(instant));
+        bh.consume(DateTimeFieldType.secondOfMinute().getField(iChrono).get(instant));
+        bh.consume(DateTimeFieldType.millisOfSecond().getField(iChrono).get(instant));
+    }
+
+    @Benchmark
+    public void centuryFieldGetters(Instants instants, Blackhole bh) {
+        long instant = instants.next();
+        bh.consume(iChronoUTC.centuryOfEra().get(instant));
+        bh.consume(iChronoUTC.yearOfCentury().get(instant));
+        bh.consume(iChronoUTC.yearOfEra().get(instant));
+        bh.consume(iGregorianUTC.centuryOfEra().get(instant));
+        bh.consume(iGregorianUTC.yearOfCentury().get(instant));
+        bh.consume(iGregorianUTC.weekyearOfCentury().get(instant));
+    }
+
+    @Benchmark
+    public int yearMonthDayUTC(Instants instants) {
+        long instant = instants.next();
+        return iChronoUTC.year().get(instant)
+            + iChronoUTC.monthOfYear().get(instant)
+            + iChronoUTC.dayOfMonth().get(instant);
+    }
+
+    @Benchmark
+    public int[] fieldGettersBulk(Instants instants, Values values) {
+        iChrono.getDateTimeFields(instants.next(), values.iValues);
+        return values.iValues;
+    }
+
+    @Benchmark
+    public DateTime plusDays() {
+        return iDateTime.plusDays(3);
+    }
+
+    @Benchmark
+    public DateTime plusMonths() {
+        return iDateTime.plusMonths(3);
+    }
+
+    /**
+     * Reusable per-thread array for bulk field extraction.
+     */
+    @State(Scope.Thread)
+    public static class Values {
+        final int[] iValues = new int[7];
+    }
+
+}
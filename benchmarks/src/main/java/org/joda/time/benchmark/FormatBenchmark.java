@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for printing and parsing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatBenchmark {
+
+    private final DateTimeZone iZone = DateTimeZone.forID("Europe/Paris");
+    private final DateTimeFormatter iPattern =
+        DateTimeFormat.forPattern("dd/MMM/yyyy:HH:mm:ss Z").withZone(iZone);
+    private final DateTimeFormatter iIsoPrinter = ISODateTimeFormat.dateTime().withZone(iZone);
+    private final DateTimeFormatter iIsoParser = ISODateTimeFormat.dateTimeParser().withOffsetParsed();
+    private final String iPatternText = "30/Jun/2015:12:30:45 +0200";
+    private final String iIsoText = "2015-06-30T12:30:45.123+02:00";
+    private final String iIsoBasicText = "20150630T123045.123+0200";
+    private final DateTimeFormatter iIsoBasic = ISODateTimeFormat.basicDateTime();
+    private final DateTimeFormatter iNumeric =
+        DateTimeFormat.forPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(iZone);
+    private final DateTimeFormatter iNumericCompiled = iNumeric.compile();
+    private final String iNumericText = "2015-06-30 12:30:45.123";
+
+    @Benchmark
+    public String printPattern(Instants instants) {
+        return iPattern.print(instants.next());
+    }
+
+    @Benchmark
+    public String printIso(Instants instants) {
+        return iIsoPrinter.print(instants.next());
+    }
+
+    @Benchmark
+    public DateTime parsePattern() {
+        return iPattern.parseDateTime(iPatternText);
+    }
+
+    @Benchmark
+    public DateTime parseIso() {
+        return iIsoParser.parseDateTime(iIsoText);
+    }
+
+    @Benchmark
+    public long parseIsoMillis() {
+        return iIsoParser.parseMillis(iIsoText);
+    }
+
+    @Benchmark
+    public long parseIsoBasicMillis() {
+        return iIsoBasic.parseMillis(iIsoBasicText);
+    }
+
+    @Benchmark
+    public String printNumeric(Instants instants) {
+        return iNumeric.print(instants.next());
+    }
+
+    @Benchmark
+    public String printNumericCompiled(Instants instants) {
+        return iNumericCompiled.print(instants.next());
+    }
+
+    @Benchmark
+    public long parseNumericMillis() {
+        return iNumeric.parseMillis(iNumericText);
+    }
+
+    @Benchmark
+    public long parseNumericCompiledMillis() {
+        return iNumericCompiled.parseMillis(iNumericText);
+    }
+
+    @Benchmark
+    public DateTimeFormatter forPattern() {
+        return DateTimeFormat.forPattern("yyyy-MM-dd HH:mm");
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-thread supply of instants, so that benchmarks do not repeatedly
+ * operate on one constant value.
+ * <p>
+ * The instants are spread over 1990 to 2030, which is the range most
+ * applications work in.
+ */
+@State(Scope.Thread)
+public class Instants {
+
+    /** The number of instants, a power of two. */
+    private static final int SIZE = 1024;
+    /** 1990-01-01T00:00:00Z. */
+    private static final long START = 631152000000L;
+    /** Forty years in millis. */
+    private static final long RANGE = 40L * 365 * 24 * 60 * 60 * 1000;
+
+    private final long[] iInstants = new long[SIZE];
+    private int iIndex;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(20151017L);
+        for (int i = 0; i < SIZE; i++) {
+            iInstants[i] = START + (long) (random.nextDouble() * RANGE);
+        }
+    }
+
+    /**
+     * Gets the next instant, cycling through the table.
+     *
+     * @return millis from 1970-01-01T00:00:00Z
+     */
+    public long next() {
+        return iInstants[iIndex++ & (SIZE - 1)];
+    }
+
+    /**
+     * Gets a copy of all the instants.
+     *
+     * @return the instants, not null
+     */
+    public long[] all() {
+        return iInstants.clone();
+    }
+
+}
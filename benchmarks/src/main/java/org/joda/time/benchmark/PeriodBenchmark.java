@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.joda.time.Months;
+import org.joda.time.Period;
+import org.joda.time.Years;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for periods and single field periods.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PeriodBenchmark {
+
+    private final DateTimeZone iZone = DateTimeZone.forID("Europe/London");
+    private final DateTime iStart = new DateTime(1987, 3, 14, 9, 15, iZone);
+    private final DateTime iEnd = new DateTime(2015, 10, 2, 17, 45, iZone);
+    private final LocalDate iStartDate = new LocalDate(2015, 1, 31);
+    private final LocalDate iEndDate = new LocalDate(2015, 11, 15);
+    private final Period iPeriod = new Period(0, 0, 0, 400, 30, 200, 100, 5000);
+
+    @Benchmark
+    public Period normalizedStandard() {
+        return iPeriod.normalizedStandard();
+    }
+
+    @Benchmark
+    public Period periodBetween() {
+        return new Period(iStart, iEnd);
+    }
+
+    @Benchmark
+    public Days daysBetween() {
+        return Days.daysBetween(iStartDate, iEndDate);
+    }
+
+    @Benchmark
+    public Days daysBetweenInstants() {
+        return Days.daysBetween(iStart, iEnd);
+    }
+
+    @Benchmark
+    public Months monthsBetween() {
+        return Months.monthsBetween(iStart, iEnd);
+    }
+
+    @Benchmark
+    public Months monthsBetweenDates() {
+        return Months.monthsBetween(iStartDate, iEndDate);
+    }
+
+    @Benchmark
+    public Years yearsBetween() {
+        return Years.yearsBetween(iStart, iEnd);
+    }
+
+}
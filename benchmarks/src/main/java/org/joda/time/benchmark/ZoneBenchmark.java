@@ -0,0 +1,67 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.tz.CachedDateTimeZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for time zone offset lookup, with and without the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZoneBenchmark {
+
+    private final DateTimeZone iCached = DateTimeZone.forID("America/New_York");
+    private final DateTimeZone iUncached = (iCached instanceof CachedDateTimeZone
+        ? ((CachedDateTimeZone) iCached).getUncachedZone() : iCached);
+
+    @Benchmark
+    public int getOffsetCached(Instants instants) {
+        return iCached.getOffset(instants.next());
+    }
+
+    @Benchmark
+    public int getOffsetUncached(Instants instants) {
+        return iUncached.getOffset(instants.next());
+    }
+
+    @Benchmark
+    public int getOffsetFromLocal(Instants instants) {
+        return iCached.getOffsetFromLocal(instants.next());
+    }
+
+    @Benchmark
+    public long nextTransition(Instants instants) {
+        return iCached.nextTransition(instants.next());
+    }
+
+}
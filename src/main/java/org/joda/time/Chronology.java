@@ -154,6 +154,34 @@ public abstract class Chronology {
                            int hourOfDay, int minuteOfHour,
                            int secondOfMinute, int millisOfSecond);
 
+    /**
+     * Gets the year, month, day, hour, minute, second and millisecond values
+     * of an instant in a single call, storing them into the specified array.
+     * <p>
+     * The values are stored in the same order as the parameters of
+     * {@link #getDateTimeMillis(int, int, int, int, int, int, int)}, that is
+     * year, monthOfYear, dayOfMonth, hourOfDay, minuteOfHour, secondOfMinute
+     * and millisOfSecond. Each value is the same as that returned by the
+     * matching field's <code>get</code> method.
+     * <p>
+     * The default implementation calls upon separate DateTimeFields to
+     * determine the result. Subclasses are encouraged to provide a more
+     * efficient implementation.
+     *
+     * @param instant  millisecond instant from 1970-01-01T00:00:00Z
+     * @param values  the array to fill, must have a length of at least seven
+     * @since 2.9
+     */
+    public void getDateTimeFields(long instant, int[] values) {
+        values[0] = year().get(instant);
+        values[1] = monthOfYear().get(instant);
+        values[2] = dayOfMonth().get(instant);
+        values[3] = hourOfDay().get(instant);
+        values[4] = minuteOfHour().get(instant);
+        values[5] = secondOfMinute().get(instant);
+        values[6] = millisOfSecond().get(instant);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Validates whether the values are valid for the fields of a partial instant.
@@ -17,6 +17,8 @@ package org.joda.time;
 
 import java.io.Serializable;
 
+import org.joda.time.chrono.AssembledChronology;
+
 /**
  * Identifies a field, such as year or minuteOfHour, in a chronology-neutral way.
  * <p>
@@ -506,6 +508,10 @@ public abstract class DateTimeFieldType implements Serializable {
         /** @inheritdoc */
         public DateTimeField getField(Chronology chronology) {
             chronology = DateTimeUtils.getChronology(chronology);
+            if (chronology instanceof AssembledChronology &&
+                    iOrdinal >= ERA && iOrdinal <= MILLIS_OF_SECOND) {
+                return ((AssembledChronology) chronology).getFieldByOrdinal(iOrdinal);
+            }
             StandardDateTimeFieldTypePool pool = StandardDateTimeFieldTypePool.getInstance();
             StandardDateTimeFieldType standardDateTimeFieldType = pool.obtain(iOrdinal);
 
@@ -533,16 +539,13 @@ public abstract class DateTimeFieldType implements Serializable {
     private static class StandardDateTimeFieldTypePool
         extends PoolStandard<StandardDateTimeFieldType> {
 
-        private static StandardDateTimeFieldTypePool myInstance;
+        private static final StandardDateTimeFieldTypePool myInstance =
+            new StandardDateTimeFieldTypePool();
 
         private StandardDateTimeFieldTypePool() {
         }
 
         public static StandardDateTimeFieldTypePool getInstance() {
-            if (myInstance == null) {
-                myInstance = new StandardDateTimeFieldTypePool();
-            }
-
             return myInstance;
         }
 
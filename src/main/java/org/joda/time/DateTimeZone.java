@@ -27,7 +27,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.joda.convert.FromString;
 import org.joda.convert.ToString;
@@ -108,6 +110,12 @@ public abstract class DateTimeZone implements Serializable {
     public static final DateTimeZone UTC = UTCDateTimeZone.INSTANCE;
     /** Maximum offset. */
     private static final int MAX_MILLIS = (86400 * 1000) - 1;
+    /** Millis in a quarter hour. */
+    private static final int QUARTER_HOUR_MILLIS = 15 * 60 * 1000;
+    /** The number of quarter hours in the maximum offset. */
+    private static final int QUARTER_HOURS = MAX_MILLIS / QUARTER_HOUR_MILLIS;
+    /** Maximum number of interned zones whose offset is not a quarter hour. */
+    private static final int ODD_OFFSET_CACHE_SIZE = 500;
 
     /**
      * The instance that is providing time zones.
@@ -127,6 +135,18 @@ public abstract class DateTimeZone implements Serializable {
      */
     private static final AtomicReference<DateTimeZone> cDefault =
                     new AtomicReference<DateTimeZone>();
+    /**
+     * The interned fixed offset zones for each quarter hour offset,
+     * from -23:45 to +23:45, populated as each offset is first requested.
+     */
+    private static final AtomicReferenceArray<DateTimeZone> cQuarterHourZones =
+                    new AtomicReferenceArray<DateTimeZone>(QUARTER_HOURS * 2 + 1);
+    /**
+     * The interned fixed offset zones for other offsets.
+     * Size capped at ODD_OFFSET_CACHE_SIZE.
+     */
+    private static final ConcurrentHashMap<Integer, DateTimeZone> cOddOffsetZones =
+                    new ConcurrentHashMap<Integer, DateTimeZone>();
 
     //-----------------------------------------------------------------------
     /**
@@ -219,12 +239,7 @@ public abstract class DateTimeZone implements Serializable {
         }
         if (id.startsWith("+") || id.startsWith("-")) {
             int offset = parseOffset(id);
-            if (offset == 0L) {
-                return DateTimeZone.UTC;
-            } else {
-                id = printOffset(offset);
-                return fixedOffsetZone(id, offset);
-            }
+            return fixedOffsetZone(offset);
         }
         throw new IllegalArgumentException("The datetime zone id '" + id + "' is not recognised");
     }
@@ -312,8 +327,7 @@ public abstract class DateTimeZone implements Serializable {
         if (millisOffset < -MAX_MILLIS || millisOffset > MAX_MILLIS) {
             throw new IllegalArgumentException("Millis out of range: " + millisOffset);
         }
-        String id = printOffset(millisOffset);
-        return fixedOffsetZone(id, millisOffset);
+        return fixedOffsetZone(millisOffset);
     }
 
     /**
@@ -363,12 +377,7 @@ public abstract class DateTimeZone implements Serializable {
             if (convId.startsWith("GMT+") || convId.startsWith("GMT-")) {
                 convId = convId.substring(3);
                 int offset = parseOffset(convId);
-                if (offset == 0L) {
-                    return DateTimeZone.UTC;
-                } else {
-                    convId = printOffset(offset);
-                    return fixedOffsetZone(convId, offset);
-                }
+                return fixedOffsetZone(offset);
             }
         }
         throw new IllegalArgumentException("The datetime zone id '" + id + "' is not recognised");
@@ -377,16 +386,43 @@ public abstract class DateTimeZone implements Serializable {
     //-----------------------------------------------------------------------
     /**
      * Gets the zone using a fixed offset amount.
+     * <p>
+     * Zones are interned, so the same offset returns the same instance.
+     * Quarter hour offsets are held in a table indexed by offset, avoiding
+     * both allocation and hashing. Other offsets are held in a map.
      * 
-     * @param id  the zone id
      * @param offset  the offset in millis
      * @return the zone
      */
-    private static DateTimeZone fixedOffsetZone(String id, int offset) {
+    private static DateTimeZone fixedOffsetZone(int offset) {
         if (offset == 0) {
             return DateTimeZone.UTC;
         }
-        return new FixedDateTimeZone(id, null, offset, offset);
+        if (offset % QUARTER_HOUR_MILLIS == 0) {
+            int index = offset / QUARTER_HOUR_MILLIS + QUARTER_HOURS;
+            DateTimeZone zone = cQuarterHourZones.get(index);
+            if (zone == null) {
+                zone = new FixedDateTimeZone(printOffset(offset), null, offset, offset);
+                if (cQuarterHourZones.compareAndSet(index, null, zone) == false) {
+                    zone = cQuarterHourZones.get(index);
+                }
+            }
+            return zone;
+        }
+        Integer key = Integer.valueOf(offset);
+        DateTimeZone zone = cOddOffsetZones.get(key);
+        if (zone == null) {
+            zone = new FixedDateTimeZone(printOffset(offset), null, offset, offset);
+            if (cOddOffsetZones.size() < ODD_OFFSET_CACHE_SIZE) {
+                // the size check is not locked against concurrent access,
+                // but is accepted to be slightly off in contention scenarios.
+                DateTimeZone existing = cOddOffsetZones.putIfAbsent(key, zone);
+                if (existing != null) {
+                    zone = existing;
+                }
+            }
+        }
+        return zone;
     }
 
     /**
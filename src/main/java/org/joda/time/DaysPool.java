@@ -2,15 +2,11 @@ package org.joda.time;
 
 public class DaysPool extends MiniPool<Days> {
 
-  private static DaysPool myInstance;
+  private static final DaysPool myInstance = new DaysPool();
 
   private DaysPool() {}
 
   public static DaysPool getInstance() {
-    if (myInstance == null) {
-      myInstance = new DaysPool();
-    }
-
     return myInstance;
   }
 
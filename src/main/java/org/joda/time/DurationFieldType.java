@@ -17,6 +17,8 @@ package org.joda.time;
 
 import java.io.Serializable;
 
+import org.joda.time.chrono.AssembledChronology;
+
 /**
  * Identifies a duration field, such as years or minutes, in a chronology-neutral way.
  * <p>
@@ -280,7 +282,11 @@ public abstract class DurationFieldType implements Serializable {
 
         public DurationField getField(Chronology chronology) {
             chronology = DateTimeUtils.getChronology(chronology);
-            
+            if (chronology instanceof AssembledChronology &&
+                    iOrdinal >= ERAS && iOrdinal <= MILLIS) {
+                return ((AssembledChronology) chronology).getDurationFieldByOrdinal(iOrdinal);
+            }
+
             switch (iOrdinal) {
                 case ERAS:
                     return chronology.eras();
@@ -2,15 +2,11 @@ package org.joda.time;
 
 public class HoursPool extends MiniPool<Hours> {
 
-  private static HoursPool myInstance;
+  private static final HoursPool myInstance = new HoursPool();
 
   private HoursPool() {}
 
   public static HoursPool getInstance() {
-    if (myInstance == null) {
-      myInstance = new HoursPool();
-    }
-
     return myInstance;
   }
 
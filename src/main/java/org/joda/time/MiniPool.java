@@ -1,35 +1,194 @@
 package org.joda.time;
 
-import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * Thread-safe, bounded pool of single field instances keyed by their value.
+ * <p>
+ * Values within the hot range are held in a preallocated array and are never
+ * evicted, so once warm a lookup is a single array read. Values outside the
+ * hot range go to a fixed size, direct-mapped overflow table where a colliding
+ * value replaces the previous entry. The two extremes, <code>Integer.MIN_VALUE</code>
+ * and <code>Integer.MAX_VALUE</code>, are always retained so that the
+ * <code>MIN_VALUE</code> and <code>MAX_VALUE</code> constants keep their identity.
+ * <p>
+ * All operations are lock-free. Two threads racing to create the same hot value
+ * agree on a single instance via compare-and-set. Hits are counted in counters
+ * striped by thread, each on its own cache line, so that threads finding pooled
+ * instances concurrently rarely write to the same cache line. The counts are
+ * approximate while lookups are in progress.
+ * <p>
+ * The defaults can be changed with the system properties
+ * <code>org.joda.time.MiniPool.hotMin</code>, <code>org.joda.time.MiniPool.hotMax</code>
+ * and <code>org.joda.time.MiniPool.overflowSize</code>.
+ */
 public abstract class MiniPool<T> implements PoolRetriever<T> {
 
-  private HashMap<Integer, T> pool;
+  private static final int cHotMin;
+  private static final int cHotMax;
+  private static final int cOverflowSize;
+
+  /** The number of hit counter stripes, a power of two. */
+  private static final int HIT_STRIPES = 16;
+  /** The distance between hit counters, so that each is on its own cache line. */
+  private static final int HIT_STRIDE = 8;
+
+  static {
+    cHotMin = getIntProperty("org.joda.time.MiniPool.hotMin", -1024);
+    cHotMax = Math.max(cHotMin, getIntProperty("org.joda.time.MiniPool.hotMax", 1024));
+    cOverflowSize = getIntProperty("org.joda.time.MiniPool.overflowSize", 256);
+  }
+
+  private final int hotMin;
+  private final int hotMax;
+  private final AtomicReferenceArray<T> hot;
+  private final AtomicReferenceArray<Entry<T>> overflow;
+  private final int overflowMask;
+  private final AtomicReferenceArray<T> limits;
+
+  private final AtomicLongArray hits = new AtomicLongArray(HIT_STRIPES * HIT_STRIDE);
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
 
   public MiniPool() {
-    this.pool = new HashMap<Integer, T>();
+    this(cHotMin, cHotMax, cOverflowSize);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param hotMin  the smallest value held in the hot array
+   * @param hotMax  the largest value held in the hot array, not less than hotMin
+   * @param overflowSize  the number of overflow slots, rounded up to a power of two
+   */
+  protected MiniPool(int hotMin, int hotMax, int overflowSize) {
+    if (hotMax < hotMin) {
+      throw new IllegalArgumentException("Hot range is empty: " + hotMin + ".." + hotMax);
+    }
+    if ((long) hotMax - hotMin >= Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Hot range is too large: " + hotMin + ".." + hotMax);
+    }
+    this.hotMin = hotMin;
+    this.hotMax = hotMax;
+    this.hot = new AtomicReferenceArray<T>(hotMax - hotMin + 1);
+    int size = powerOfTwo(overflowSize);
+    this.overflow = new AtomicReferenceArray<Entry<T>>(size);
+    this.overflowMask = size - 1;
+    this.limits = new AtomicReferenceArray<T>(2);
   }
 
   protected abstract T create(int numeral);
 
   public T retrieve(int numeral) {
-    T result = obtain(numeral);
-
-    if (result == null) {
-      result =  create(numeral);
-      add(numeral, result);
+    if (numeral >= hotMin && numeral <= hotMax) {
+      return retrieve(hot, numeral - hotMin, numeral);
+    }
+    if (numeral == Integer.MIN_VALUE) {
+      return retrieve(limits, 0, numeral);
+    }
+    if (numeral == Integer.MAX_VALUE) {
+      return retrieve(limits, 1, numeral);
     }
 
+    int index = spread(numeral) & overflowMask;
+    Entry<T> entry = overflow.get(index);
+    if (entry != null && entry.numeral == numeral) {
+      countHit();
+      return entry.value;
+    }
+    misses.incrementAndGet();
+    T result = create(numeral);
+    Entry<T> previous = overflow.getAndSet(index, new Entry<T>(numeral, result));
+    if (previous != null && previous.numeral != numeral) {
+      evictions.incrementAndGet();
+    }
     return result;
   }
 
-  private void add(int numeral, T type) {
-    pool.put(new Integer(numeral), type);
+  /**
+   * Gets the number of lookups that found a pooled instance.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    long count = 0;
+    for (int i = 0; i < HIT_STRIPES; i++) {
+      count += hits.get(i * HIT_STRIDE);
+    }
+    return count;
+  }
+
+  /**
+   * Gets the number of lookups that had to create an instance.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return misses.get();
   }
 
-  private T obtain(int numeral){
-    T instance = pool.get(new Integer(numeral));
+  /**
+   * Gets the number of overflow entries replaced by a different value.
+   *
+   * @return the eviction count
+   */
+  public long getEvictionCount() {
+    return evictions.get();
+  }
 
-    return instance;
+  private T retrieve(AtomicReferenceArray<T> array, int index, int numeral) {
+    T result = array.get(index);
+    if (result != null) {
+      countHit();
+      return result;
+    }
+    misses.incrementAndGet();
+    result = create(numeral);
+    if (array.compareAndSet(index, null, result)) {
+      return result;
+    }
+    return array.get(index);
+  }
+
+  private void countHit() {
+    int stripe = (int) Thread.currentThread().getId() & (HIT_STRIPES - 1);
+    hits.incrementAndGet(stripe * HIT_STRIDE);
+  }
+
+  private static int spread(int numeral) {
+    int h = numeral * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private static int powerOfTwo(int size) {
+    if (size <= 1) {
+      return 1;
+    }
+    if (size > (1 << 30)) {
+      return 1 << 30;
+    }
+    return Integer.highestOneBit(size - 1) << 1;
+  }
+
+  private static int getIntProperty(String name, int defaultValue) {
+    Integer i;
+    try {
+      i = Integer.getInteger(name);
+    } catch (SecurityException e) {
+      i = null;
+    }
+    return i == null ? defaultValue : i.intValue();
+  }
+
+  private static final class Entry<T> {
+    final int numeral;
+    final T value;
+
+    Entry(int numeral, T value) {
+      this.numeral = numeral;
+      this.value = value;
+    }
   }
 }
@@ -2,15 +2,11 @@ package org.joda.time;
 
 public class MinutesPool extends MiniPool<Minutes> {
 
-  private static MinutesPool myInstance;
+  private static final MinutesPool myInstance = new MinutesPool();
 
   private MinutesPool() {}
 
   public static MinutesPool getInstance() {
-    if (myInstance == null) {
-      myInstance = new MinutesPool();
-    }
-
     return myInstance;
   }
 
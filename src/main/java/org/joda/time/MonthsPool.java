@@ -2,15 +2,11 @@ package org.joda.time;
 
 public class MonthsPool extends MiniPool<Months> {
 
-  private static MonthsPool myInstance;
+  private static final MonthsPool myInstance = new MonthsPool();
 
   private MonthsPool() {}
 
   public static MonthsPool getInstance() {
-    if (myInstance == null) {
-      myInstance = new MonthsPool();
-    }
-
     return myInstance;
   }
 
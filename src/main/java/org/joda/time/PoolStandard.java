@@ -1,13 +1,20 @@
 package org.joda.time;
 
-import java.util.HashMap;
-
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe pool of standard types keyed by their byte ordinal.
+ * <p>
+ * Instances are held in an array indexed by the unsigned ordinal, so lookups
+ * need no boxing or hashing. Racing creators agree on a single instance via
+ * compare-and-set.
+ */
 public abstract class PoolStandard<T> implements PoolRetrieverStandard<T> {
 
-  private HashMap<Byte, T> pool;
+  private final AtomicReferenceArray<T> pool;
 
   public PoolStandard() {
-    this.pool = new HashMap<Byte, T>();
+    this.pool = new AtomicReferenceArray<T>(256);
   }
 
   protected abstract T create(String name, byte ordinal, DurationFieldType unitType,
@@ -19,19 +26,15 @@ public abstract class PoolStandard<T> implements PoolRetrieverStandard<T> {
 
     if (result == null) {
       result = create(name, ordinal, unitType, rangeType, field);
-      add(ordinal, result);
+      if (!pool.compareAndSet(ordinal & 0xFF, null, result)) {
+        result = obtain(ordinal);
+      }
     }
 
     return result;
   }
 
-  private void add(Byte ordinal, T type) {
-    pool.put(new Byte(ordinal), type);
-  }
-
-  protected T obtain(Byte ordinal) {
-    T instance = pool.get(new Byte(ordinal));
-
-    return instance;
+  protected T obtain(byte ordinal) {
+    return pool.get(ordinal & 0xFF);
   }
 }
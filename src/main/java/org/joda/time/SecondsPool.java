@@ -2,15 +2,11 @@ package org.joda.time;
 
 public class SecondsPool extends MiniPool<Seconds> {
 
-  private static SecondsPool myInstance;
+  private static final SecondsPool myInstance = new SecondsPool();
 
   private SecondsPool() {}
 
   public static SecondsPool getInstance() {
-    if (myInstance == null) {
-      myInstance = new SecondsPool();
-    }
-
     return myInstance;
   }
 
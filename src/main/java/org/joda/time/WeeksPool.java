@@ -2,15 +2,11 @@ package org.joda.time;
 
 public class WeeksPool extends MiniPool<Weeks> {
 
-  private static WeeksPool myInstance;
+  private static final WeeksPool myInstance = new WeeksPool();
 
   private WeeksPool() {}
 
   public static WeeksPool getInstance() {
-    if (myInstance == null) {
-      myInstance = new WeeksPool();
-    }
-
     return myInstance;
   }
 
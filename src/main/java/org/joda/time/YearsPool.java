@@ -2,15 +2,11 @@ package org.joda.time;
 
 public class YearsPool extends MiniPool<Years> {
 
-  private static YearsPool myInstance;
+  private static final YearsPool myInstance = new YearsPool();
 
   private YearsPool() {}
 
   public static YearsPool getInstance() {
-    if (myInstance == null) {
-      myInstance = new YearsPool();
-    }
-
     return myInstance;
   }
 
@@ -22,6 +22,8 @@ import org.joda.time.Chronology;
 import org.joda.time.DateTimeField;
 import org.joda.time.DateTimeZone;
 import org.joda.time.DurationField;
+import org.joda.time.DurationFieldType;
+import org.joda.time.ReadablePeriod;
 
 /**
  * Abstract Chronology that enables chronologies to be assembled from
@@ -78,10 +80,15 @@ public abstract class AssembledChronology extends BaseChronology {
     private transient DateTimeField iCenturyOfEra;
     private transient DateTimeField iEra;
 
+    // Fields indexed by the ordinals of the standard field types
+    private transient DateTimeField[] iFieldsByOrdinal;
+    private transient DurationField[] iDurationFieldsByOrdinal;
+
     // Bit set determines which base fields are used
     // bit 1 set: hourOfDay, minuteOfHour, secondOfMinute, and millisOfSecond fields
     // bit 2 set: millisOfDayField
     // bit 3 set: year, monthOfYear, and dayOfMonth fields
+    // bit 4 set: years, months, weeks, days, hours, minutes, seconds and millis fields
     private transient int iBaseFlags;
 
     /**
@@ -152,6 +159,114 @@ public abstract class AssembledChronology extends BaseChronology {
             (instant, hourOfDay, minuteOfHour, secondOfMinute, millisOfSecond);
     }
 
+    public void getDateTimeFields(long instant, int[] values) {
+        Chronology base;
+        if ((base = iBase) != null && (iBaseFlags & 5) == 5) {
+            // Only call specialized implementation if applicable fields are the same.
+            base.getDateTimeFields(instant, values);
+            return;
+        }
+        super.getDateTimeFields(instant, values);
+    }
+
+    public int[] get(ReadablePeriod period, long startInstant, long endInstant) {
+        Chronology base;
+        if ((base = iBase) != null && (iBaseFlags & 8) == 8 && isStandardPeriod(period)) {
+            // Only call specialized implementation if applicable fields are the same.
+            return base.get(period, startInstant, endInstant);
+        }
+        return super.get(period, startInstant, endInstant);
+    }
+
+    /**
+     * Checks if the period only uses the years, months, weeks, days, hours,
+     * minutes, seconds and millis field types.
+     *
+     * @param period  the period to check, not null
+     * @return true if only the standard field types are used
+     */
+    static boolean isStandardPeriod(ReadablePeriod period) {
+        for (int i = 0, isize = period.size(); i < isize; i++) {
+            DurationFieldType type = period.getFieldType(i);
+            if (type != DurationFieldType.years() &&
+                type != DurationFieldType.months() &&
+                type != DurationFieldType.weeks() &&
+                type != DurationFieldType.days() &&
+                type != DurationFieldType.hours() &&
+                type != DurationFieldType.minutes() &&
+                type != DurationFieldType.seconds() &&
+                type != DurationFieldType.millis()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the chronology that calculates the year, monthOfYear and dayOfMonth
+     * fields, following base chronologies that share the same fields.
+     *
+     * @return the chronology that owns the date fields, never null
+     */
+    Chronology getDateFieldsChronology() {
+        Chronology base;
+        if ((base = iBase) != null && (iBaseFlags & 4) == 4) {
+            if (base instanceof AssembledChronology) {
+                return ((AssembledChronology) base).getDateFieldsChronology();
+            }
+            return base;
+        }
+        return this;
+    }
+
+    /**
+     * Gets the chronology that calculates the years to millis duration fields,
+     * following base chronologies that share the same fields.
+     *
+     * @return the chronology that owns the duration fields, never null
+     */
+    Chronology getDurationFieldsChronology() {
+        Chronology base;
+        if ((base = iBase) != null && (iBaseFlags & 8) == 8) {
+            if (base instanceof AssembledChronology) {
+                return ((AssembledChronology) base).getDurationFieldsChronology();
+            }
+            return base;
+        }
+        return this;
+    }
+
+    /**
+     * Gets a field by the ordinal of its standard field type.
+     * <p>
+     * The ordinals are those of the standard {@link org.joda.time.DateTimeFieldType}
+     * instances, from 1 for era to 23 for millisOfSecond. This allows the field
+     * types to find the field with an array lookup.
+     *
+     * @param ordinal  the ordinal of the standard field type
+     * @return the field, never null
+     * @throws ArrayIndexOutOfBoundsException if the ordinal is invalid
+     * @since 2.9
+     */
+    public final DateTimeField getFieldByOrdinal(int ordinal) {
+        return iFieldsByOrdinal[ordinal];
+    }
+
+    /**
+     * Gets a duration field by the ordinal of its standard field type.
+     * <p>
+     * The ordinals are those of the standard {@link org.joda.time.DurationFieldType}
+     * instances, from 1 for eras to 12 for millis.
+     *
+     * @param ordinal  the ordinal of the standard duration field type
+     * @return the duration field, never null
+     * @throws ArrayIndexOutOfBoundsException if the ordinal is invalid
+     * @since 2.9
+     */
+    public final DurationField getDurationFieldByOrdinal(int ordinal) {
+        return iDurationFieldsByOrdinal[ordinal];
+    }
+
     public final DurationField millis() {
         return iMillis;
     }
@@ -365,6 +480,20 @@ public abstract class AssembledChronology extends BaseChronology {
             iEra                = (f = fields.era)                != null ? f : super.era();
         }
 
+        iFieldsByOrdinal = new DateTimeField[] {
+            null,
+            iEra, iYearOfEra, iCenturyOfEra, iYearOfCentury, iYear,
+            iDayOfYear, iMonthOfYear, iDayOfMonth, iWeekyearOfCentury, iWeekyear,
+            iWeekOfWeekyear, iDayOfWeek, iHalfdayOfDay, iHourOfHalfday, iClockhourOfHalfday,
+            iClockhourOfDay, iHourOfDay, iMinuteOfDay, iMinuteOfHour, iSecondOfDay,
+            iSecondOfMinute, iMillisOfDay, iMillisOfSecond
+        };
+        iDurationFieldsByOrdinal = new DurationField[] {
+            null,
+            iEras, iCenturies, iWeekyears, iYears, iMonths, iWeeks,
+            iDays, iHalfdays, iHours, iMinutes, iSeconds, iMillis
+        };
+
         int flags;
         if (iBase == null) {
             flags = 0;
@@ -379,7 +508,16 @@ public abstract class AssembledChronology extends BaseChronology {
 
                 ((iYear        == iBase.year()        &&
                   iMonthOfYear == iBase.monthOfYear() &&
-                  iDayOfMonth  == iBase.dayOfMonth()    ) ? 4 : 0);
+                  iDayOfMonth  == iBase.dayOfMonth()    ) ? 4 : 0) |
+
+                ((iYears   == iBase.years()   &&
+                  iMonths  == iBase.months()  &&
+                  iWeeks   == iBase.weeks()   &&
+                  iDays    == iBase.days()    &&
+                  iHours   == iBase.hours()   &&
+                  iMinutes == iBase.minutes() &&
+                  iSeconds == iBase.seconds() &&
+                  iMillis  == iBase.millis()    ) ? 8 : 0);
         }
 
         iBaseFlags = flags;
@@ -127,6 +127,11 @@ abstract class BasicChronology extends AssembledChronology {
 
     private final int iMinDaysInFirstWeek;
 
+    /** True if the year, month, day and time fields are the standard ones. */
+    private transient final boolean iStandardFields;
+    /** True if the standard fields also provide the period duration fields. */
+    private transient final boolean iStandardDurationFields;
+
     BasicChronology(Chronology base, Object param, int minDaysInFirstWeek) {
         super(base, param);
 
@@ -136,6 +141,23 @@ abstract class BasicChronology extends AssembledChronology {
         }
 
         iMinDaysInFirstWeek = minDaysInFirstWeek;
+        iStandardFields = base == null
+            && year() instanceof BasicYearDateTimeField
+            && monthOfYear() instanceof BasicMonthOfYearDateTimeField
+            && dayOfMonth() instanceof BasicDayOfMonthDateTimeField
+            && hourOfDay() == cHourOfDayField
+            && minuteOfHour() == cMinuteOfHourField
+            && secondOfMinute() == cSecondOfMinuteField
+            && millisOfSecond() == cMillisOfSecondField;
+        iStandardDurationFields = iStandardFields
+            && years() == year().getDurationField()
+            && months() == monthOfYear().getDurationField()
+            && weeks() == cWeeksField
+            && days() == cDaysField
+            && hours() == cHoursField
+            && minutes() == cMinutesField
+            && seconds() == cSecondsField
+            && millis() == cMillisField;
     }
 
     public DateTimeZone getZone() {
@@ -181,6 +203,51 @@ abstract class BasicChronology extends AssembledChronology {
             + millisOfSecond;
     }
 
+    public void getDateTimeFields(long instant, int[] values) {
+        Chronology base;
+        if ((base = getBase()) != null) {
+            base.getDateTimeFields(instant, values);
+            return;
+        }
+        if (!iStandardFields) {
+            super.getDateTimeFields(instant, values);
+            return;
+        }
+
+        // Compute the year and month once, and derive everything else from them.
+        int year = getYear(instant);
+        int month = getMonthOfYear(instant, year);
+        values[0] = year;
+        values[1] = month;
+        values[2] = getDayOfMonth(instant, year, month);
+
+        int millisOfDay = getMillisOfDay(instant);
+        values[3] = millisOfDay / DateTimeConstants.MILLIS_PER_HOUR;
+        values[4] = (millisOfDay / DateTimeConstants.MILLIS_PER_MINUTE) % 60;
+        values[5] = (millisOfDay / DateTimeConstants.MILLIS_PER_SECOND) % 60;
+        values[6] = millisOfDay % DateTimeConstants.MILLIS_PER_SECOND;
+    }
+
+    /**
+     * Checks whether the year, month, day and time fields are the standard ones
+     * calculated directly by this chronology.
+     *
+     * @return true if the fields can be calculated without calling the field objects
+     */
+    boolean isStandardFields() {
+        return iStandardFields;
+    }
+
+    /**
+     * Checks if the years to millis duration fields are the standard ones,
+     * those of the year and month fields and the precise time units.
+     *
+     * @return true if periods can be calculated without calling the field objects
+     */
+    boolean isStandardDurationFields() {
+        return iStandardDurationFields;
+    }
+
     public int getMinimumDaysInFirstWeek() {
         return iMinDaysInFirstWeek;
     }
@@ -274,16 +341,16 @@ abstract class BasicChronology extends AssembledChronology {
         fields.yearOfEra = new GJYearOfEraDateTimeField(fields.year, this);
 
         // Define one-based centuryOfEra and yearOfCentury.
+        // The decorator stacks define the field behaviour, but the values
+        // are read directly from this chronology.
         DateTimeField field = new OffsetDateTimeField(
             fields.yearOfEra, 99);
-        fields.centuryOfEra = new DividedDateTimeField(
-            field, DateTimeFieldType.centuryOfEra(), 100);
+        fields.centuryOfEra = new CenturyOfEraField(this, field);
         fields.centuries = fields.centuryOfEra.getDurationField();
         
         field = new RemainderDateTimeField(
             (DividedDateTimeField) fields.centuryOfEra);
-        fields.yearOfCentury = new OffsetDateTimeField(
-            field, DateTimeFieldType.yearOfCentury(), 1);
+        fields.yearOfCentury = new YearOfCenturyField(this, field);
 
         fields.era = new GJEraDateTimeField(this);
         fields.dayOfWeek = new GJDayOfWeekDateTimeField(this, fields.days);
@@ -295,8 +362,7 @@ abstract class BasicChronology extends AssembledChronology {
         
         field = new RemainderDateTimeField(
             fields.weekyear, fields.centuries, DateTimeFieldType.weekyearOfCentury(), 100);
-        fields.weekyearOfCentury = new OffsetDateTimeField(
-            field, DateTimeFieldType.weekyearOfCentury(), 1);
+        fields.weekyearOfCentury = new WeekyearOfCenturyField(this, field);
         
         // The remaining (imprecise) durations are available from the newly
         // created datetime fields.
@@ -782,6 +848,79 @@ abstract class BasicChronology extends AssembledChronology {
         }
     }
 
+    /**
+     * One-based centuryOfEra, equivalent to dividing the yearOfEra plus 99
+     * by 100.
+     */
+    private static class CenturyOfEraField extends DividedDateTimeField {
+        @SuppressWarnings("unused")
+        private static final long serialVersionUID = -3574306211496352390L;
+
+        private final BasicChronology iChronology;
+
+        CenturyOfEraField(BasicChronology chronology, DateTimeField field) {
+            super(field, DateTimeFieldType.centuryOfEra(), 100);
+            iChronology = chronology;
+        }
+
+        public int get(long instant) {
+            return (getYearOfEra(iChronology, instant) + 99) / 100;
+        }
+    }
+
+    /**
+     * One-based yearOfCentury, equivalent to the remainder of the yearOfEra
+     * plus 99 divided by 100, plus one.
+     */
+    private static class YearOfCenturyField extends OffsetDateTimeField {
+        @SuppressWarnings("unused")
+        private static final long serialVersionUID = 4922305357961575413L;
+
+        private final BasicChronology iChronology;
+
+        YearOfCenturyField(BasicChronology chronology, DateTimeField field) {
+            super(field, DateTimeFieldType.yearOfCentury(), 1);
+            iChronology = chronology;
+        }
+
+        public int get(long instant) {
+            return (getYearOfEra(iChronology, instant) + 99) % 100 + 1;
+        }
+    }
+
+    /**
+     * One-based weekyearOfCentury, equivalent to the remainder of the
+     * weekyear divided by 100, plus one.
+     */
+    private static class WeekyearOfCenturyField extends OffsetDateTimeField {
+        @SuppressWarnings("unused")
+        private static final long serialVersionUID = 2416327718532434718L;
+
+        private final BasicChronology iChronology;
+
+        WeekyearOfCenturyField(BasicChronology chronology, DateTimeField field) {
+            super(field, DateTimeFieldType.weekyearOfCentury(), 1);
+            iChronology = chronology;
+        }
+
+        public int get(long instant) {
+            int weekyear = iChronology.getWeekyear(instant);
+            if (weekyear >= 0) {
+                return weekyear % 100 + 1;
+            } else {
+                return 100 + ((weekyear + 1) % 100);
+            }
+        }
+    }
+
+    /**
+     * Gets the one-based year of era, as calculated by GJYearOfEraDateTimeField.
+     */
+    static int getYearOfEra(BasicChronology chronology, long instant) {
+        int year = chronology.getYear(instant);
+        return year <= 0 ? 1 - year : year;
+    }
+
     private static class YearInfo {
         public final int iYear;
         public final long iFirstDayMillis;
@@ -17,6 +17,10 @@ package org.joda.time.chrono;
 
 import org.joda.time.Chronology;
 import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeZone;
+import org.joda.time.DurationFieldType;
+import org.joda.time.ReadablePeriod;
+import org.joda.time.field.FieldUtils;
 
 /**
  * Abstract Chronology for implementing chronologies based on Gregorian/Julian formulae.
@@ -47,7 +51,19 @@ abstract class BasicGJChronology extends BasicChronology {
     };
     private static final long[] MIN_TOTAL_MILLIS_BY_MONTH_ARRAY;
     private static final long[] MAX_TOTAL_MILLIS_BY_MONTH_ARRAY;
-    private static final long FEB_29 = (31L + 29 - 1) * DateTimeConstants.MILLIS_PER_DAY;
+
+    // The period field types calculated in a single pass, in the order they
+    // must appear.
+    private static final DurationFieldType[] PERIOD_TYPES = {
+        DurationFieldType.years(), DurationFieldType.months(),
+        DurationFieldType.weeks(), DurationFieldType.days(),
+        DurationFieldType.hours(), DurationFieldType.minutes(),
+        DurationFieldType.seconds(), DurationFieldType.millis()
+    };
+    /** The index of the first period field type that is not calculated on the local date. */
+    private static final int PERIOD_FIRST_TIME_INDEX = 4;
+    /** The limit of the instants calculated in a single pass, avoiding overflow. */
+    private static final long PERIOD_INSTANT_LIMIT = Long.MAX_VALUE / 2;
 
     static {
         MIN_TOTAL_MILLIS_BY_MONTH_ARRAY = new long[12];
@@ -151,30 +167,213 @@ abstract class BasicGJChronology extends BasicChronology {
     //-----------------------------------------------------------------------
     long getYearDifference(long minuendInstant, long subtrahendInstant) {
         int minuendYear = getYear(minuendInstant);
+        int minuendMonth = getMonthOfYear(minuendInstant, minuendYear);
         int subtrahendYear = getYear(subtrahendInstant);
-    
-        // Inlined remainder method to avoid duplicate calls to get.
-        long minuendRem = minuendInstant - getYearMillis(minuendYear);
-        long subtrahendRem = subtrahendInstant - getYearMillis(subtrahendYear);
-    
-        // Balance leap year differences on remainders.
-        if (subtrahendRem >= FEB_29) {
-            if (isLeapYear(subtrahendYear)) {
-                if (!isLeapYear(minuendYear)) {
-                    subtrahendRem -= DateTimeConstants.MILLIS_PER_DAY;
-                }
-            } else if (minuendRem >= FEB_29 && isLeapYear(minuendYear)) {
-                minuendRem -= DateTimeConstants.MILLIS_PER_DAY;
-            }
+        int subtrahendMonth = getMonthOfYear(subtrahendInstant, subtrahendYear);
+        return getYearDifference(
+            minuendYear, minuendMonth,
+            getDayOfMonth(minuendInstant, minuendYear, minuendMonth), getMillisOfDay(minuendInstant),
+            subtrahendYear, subtrahendMonth,
+            getDayOfMonth(subtrahendInstant, subtrahendYear, subtrahendMonth), getMillisOfDay(subtrahendInstant));
+    }
+
+    /**
+     * Gets the year difference of two date-times, where the minuend is not
+     * before the subtrahend.
+     */
+    private int getYearDifference(
+            int minuendYear, int minuendMonth, int minuendDom, int minuendMillisOfDay,
+            int subtrahendYear, int subtrahendMonth, int subtrahendDom, int subtrahendMillisOfDay) {
+        // Balance leap year differences, adding years to Feb 29 gives Feb 28
+        // in a non-leap year.
+        if (subtrahendMonth == 2 && subtrahendDom == 29 && !isLeapYear(minuendYear)) {
+            subtrahendDom = 28;
         }
-    
+
+        // Compare the remainders as month, day-of-month then millis-of-day.
         int difference = minuendYear - subtrahendYear;
-        if (minuendRem < subtrahendRem) {
+        if (minuendMonth != subtrahendMonth) {
+            if (minuendMonth < subtrahendMonth) {
+                difference--;
+            }
+        } else if (minuendDom != subtrahendDom) {
+            if (minuendDom < subtrahendDom) {
+                difference--;
+            }
+        } else if (minuendMillisOfDay < subtrahendMillisOfDay) {
             difference--;
         }
         return difference;
     }
 
+    /**
+     * Gets the month difference of two date-times, where the minuend is not
+     * before the subtrahend, matching the month field.
+     */
+    private long getMonthDifference(
+            int minuendYear, int minuendMonth, int minuendDom, int minuendMillisOfDay,
+            int subtrahendYear, int subtrahendMonth, int subtrahendDom, int subtrahendMillisOfDay) {
+        long difference = (minuendYear - subtrahendYear) * 12L + minuendMonth - subtrahendMonth;
+        // Adding months forces the day-of-month to the end of a shorter month.
+        if (subtrahendDom > minuendDom && minuendDom == getDaysInYearMonth(minuendYear, minuendMonth)) {
+            subtrahendDom = minuendDom;
+        }
+        if (minuendDom < subtrahendDom ||
+                (minuendDom == subtrahendDom && minuendMillisOfDay < subtrahendMillisOfDay)) {
+            difference--;
+        }
+        return difference;
+    }
+
+    //-----------------------------------------------------------------------
+    public int[] get(ReadablePeriod period, long startInstant, long endInstant) {
+        if (getBase() == null) {
+            int[] values = getPeriodValues(period, startInstant, endInstant, null);
+            if (values != null) {
+                return values;
+            }
+        }
+        return super.get(period, startInstant, endInstant);
+    }
+
+    /**
+     * Gets the values of a period between two instants in a single pass.
+     * <p>
+     * Each instant is split into year, month, day and millis-of-day once,
+     * and the years and months are found from those values using the rules
+     * of the year and month fields. The remaining fields are precise. The
+     * result is the same as finding the difference of each field and adding
+     * it to the start in turn.
+     * <p>
+     * When a zone is specified the years, months, weeks and days are found
+     * on the local date-times, as the zoned fields do. If a local date-time
+     * reached part way does not map back to itself in the zone, such as one
+     * in a daylight savings gap, null is returned.
+     *
+     * @param period  the period to get the field types from
+     * @param startInstant  the start instant
+     * @param endInstant  the end instant
+     * @param zone  the zone of the fields, null for UTC
+     * @return the values, null if the standard algorithm must be used
+     */
+    int[] getPeriodValues(ReadablePeriod period, long startInstant, long endInstant, DateTimeZone zone) {
+        if (!isStandardDurationFields()
+                || startInstant <= -PERIOD_INSTANT_LIMIT || startInstant >= PERIOD_INSTANT_LIMIT
+                || endInstant <= -PERIOD_INSTANT_LIMIT || endInstant >= PERIOD_INSTANT_LIMIT) {
+            return null;
+        }
+        int size = period.size();
+        int[] values = new int[size];
+
+        long local = startInstant;
+        long endLocal = endInstant;
+        if (zone != null) {
+            local += zone.getOffset(startInstant);
+            endLocal += zone.getOffset(endInstant);
+        }
+        int year = getYear(local);
+        int month = getMonthOfYear(local, year);
+        int day = getDayOfMonth(local, year, month);
+        int millisOfDay = getMillisOfDay(local);
+        int endYear = getYear(endLocal);
+        int endMonth = getMonthOfYear(endLocal, endYear);
+        int endDay = getDayOfMonth(endLocal, endYear, endMonth);
+        int endMillisOfDay = getMillisOfDay(endLocal);
+
+        long instant = startInstant;
+        int index = 0;
+        for (int i = 0; i < size; i++) {
+            DurationFieldType type = period.getFieldType(i);
+            while (index < PERIOD_TYPES.length && PERIOD_TYPES[index] != type) {
+                index++;
+            }
+            if (index == PERIOD_TYPES.length) {
+                return null;
+            }
+            if (startInstant == endInstant) {
+                continue;
+            }
+            int value;
+            if (index == 0) {
+                if (endLocal < local) {
+                    value = -getYearDifference(
+                        year, month, day, millisOfDay, endYear, endMonth, endDay, endMillisOfDay);
+                } else {
+                    value = getYearDifference(
+                        endYear, endMonth, endDay, endMillisOfDay, year, month, day, millisOfDay);
+                }
+                if (value != 0) {
+                    year += value;
+                    if (month == 2 && day == 29 && !isLeapYear(year)) {
+                        day = 28;
+                    }
+                    local = getYearMonthDayMillis(year, month, day) + millisOfDay;
+                }
+            } else if (index == 1) {
+                if (endLocal < local) {
+                    value = -FieldUtils.safeToInt(getMonthDifference(
+                        year, month, day, millisOfDay, endYear, endMonth, endDay, endMillisOfDay));
+                } else {
+                    value = FieldUtils.safeToInt(getMonthDifference(
+                        endYear, endMonth, endDay, endMillisOfDay, year, month, day, millisOfDay));
+                }
+                if (value != 0) {
+                    int monthZero = month - 1 + value;
+                    int years = (monthZero >= 0 ? monthZero / 12 : (monthZero - 11) / 12);
+                    year += years;
+                    month = monthZero - years * 12 + 1;
+                    day = Math.min(day, getDaysInYearMonth(year, month));
+                    local = getYearMonthDayMillis(year, month, day) + millisOfDay;
+                }
+            } else if (index < PERIOD_FIRST_TIME_INDEX) {
+                long difference = endLocal - local;
+                if (index == 2) {
+                    value = FieldUtils.safeToInt(difference / DateTimeConstants.MILLIS_PER_WEEK);
+                    local += value * (long) DateTimeConstants.MILLIS_PER_WEEK;
+                } else {
+                    value = FieldUtils.safeToInt(difference / DateTimeConstants.MILLIS_PER_DAY);
+                    local += value * (long) DateTimeConstants.MILLIS_PER_DAY;
+                }
+            } else {
+                // divide by constants, which is faster than a variable divisor
+                long difference = endInstant - instant;
+                long unitMillis;
+                switch (index) {
+                    case 4:
+                        unitMillis = DateTimeConstants.MILLIS_PER_HOUR;
+                        value = FieldUtils.safeToInt(difference / DateTimeConstants.MILLIS_PER_HOUR);
+                        break;
+                    case 5:
+                        unitMillis = DateTimeConstants.MILLIS_PER_MINUTE;
+                        value = FieldUtils.safeToInt(difference / DateTimeConstants.MILLIS_PER_MINUTE);
+                        break;
+                    case 6:
+                        unitMillis = DateTimeConstants.MILLIS_PER_SECOND;
+                        value = FieldUtils.safeToInt(difference / DateTimeConstants.MILLIS_PER_SECOND);
+                        break;
+                    default:
+                        unitMillis = 1;
+                        value = FieldUtils.safeToInt(difference);
+                        break;
+                }
+                instant += value * unitMillis;
+            }
+            if (index < PERIOD_FIRST_TIME_INDEX && value != 0) {
+                instant = local;
+                if (zone != null) {
+                    int offset = zone.getOffsetFromLocal(local);
+                    instant = local - offset;
+                    if (zone.getOffset(instant) != offset) {
+                        return null;
+                    }
+                }
+            }
+            values[i] = value;
+            index++;
+        }
+        return values;
+    }
+
     //-----------------------------------------------------------------------
     long setYear(long instant, int year) {
         int thisYear = getYear(instant);
@@ -247,34 +247,24 @@ class BasicMonthOfYearDateTimeField extends ImpreciseDateTimeField {
 
         int minuendYear = iChronology.getYear(minuendInstant);
         int minuendMonth = iChronology.getMonthOfYear(minuendInstant, minuendYear);
+        int minuendDom = iChronology.getDayOfMonth(minuendInstant, minuendYear, minuendMonth);
         int subtrahendYear = iChronology.getYear(subtrahendInstant);
         int subtrahendMonth = iChronology.getMonthOfYear(subtrahendInstant, subtrahendYear);
+        int subtrahendDom = iChronology.getDayOfMonth(subtrahendInstant, subtrahendYear, subtrahendMonth);
 
         long difference = (minuendYear - subtrahendYear) * ((long) iMax) + minuendMonth - subtrahendMonth;
 
-        // Before adjusting for remainder, account for special case of add
+        // Before comparing the remainders, account for special case of add
         // where the day-of-month is forced to the nearest sane value.
-        int minuendDom = iChronology.getDayOfMonth
-            (minuendInstant, minuendYear, minuendMonth);
-        if (minuendDom == iChronology.getDaysInYearMonth(minuendYear, minuendMonth)) {
-            // Last day of the minuend month...
-            int subtrahendDom = iChronology.getDayOfMonth
-                (subtrahendInstant, subtrahendYear, subtrahendMonth);
-            if (subtrahendDom > minuendDom) {
-                // ...and day of subtrahend month is larger.
-                // Note: This works fine, but it ideally shouldn't invoke other
-                // fields from within a field.
-                subtrahendInstant = iChronology.dayOfMonth().set(subtrahendInstant, minuendDom);
-            }
+        if (subtrahendDom > minuendDom &&
+                minuendDom == iChronology.getDaysInYearMonth(minuendYear, minuendMonth)) {
+            subtrahendDom = minuendDom;
         }
 
-        // Inlined remainder method to avoid duplicate calls.
-        long minuendRem = minuendInstant
-            - iChronology.getYearMonthMillis(minuendYear, minuendMonth);
-        long subtrahendRem = subtrahendInstant
-            - iChronology.getYearMonthMillis(subtrahendYear, subtrahendMonth);
-
-        if (minuendRem < subtrahendRem) {
+        // The remainder within the month is compared as day-of-month then
+        // millis-of-day, avoiding the calculation of the month start millis.
+        if (minuendDom < subtrahendDom || (minuendDom == subtrahendDom &&
+                iChronology.getMillisOfDay(minuendInstant) < iChronology.getMillisOfDay(subtrahendInstant))) {
             difference--;
         }
 
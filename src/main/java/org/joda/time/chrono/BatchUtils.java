@@ -0,0 +1,169 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.chrono;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
+
+/**
+ * Utilities that convert arrays of instants in bulk.
+ * <p>
+ * The conversions write into parallel <code>int[]</code> columns rather than
+ * creating an object per instant. They perform best when the input is sorted
+ * or clustered in time, as the time zone period and the month of the previous
+ * instant are reused whenever the next instant falls within them.
+ * <p>
+ * BatchUtils is thread-safe and immutable.
+ *
+ * @since 2.9
+ */
+public final class BatchUtils {
+
+    /**
+     * Restricted constructor.
+     */
+    private BatchUtils() {
+        super();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Converts each instant to the local year, month, day and millis of day
+     * in the ISO calendar system, storing the results at the same index as
+     * the input.
+     *
+     * @param instants  the millisecond instants from 1970-01-01T00:00:00Z, not null
+     * @param zone  the time zone to convert to, null means default zone
+     * @param years  the column to store the years in, not null
+     * @param monthsOfYear  the column to store the months in, not null
+     * @param daysOfMonth  the column to store the days in, not null
+     * @param millisOfDay  the column to store the millis of day in, not null
+     * @throws IndexOutOfBoundsException if any column is shorter than the instants
+     * @throws ArithmeticException if applying the time zone offset overflows
+     */
+    public static void toLocalFields(
+            long[] instants, DateTimeZone zone,
+            int[] years, int[] monthsOfYear, int[] daysOfMonth, int[] millisOfDay) {
+        toLocalFields(instants, 0, instants.length, ISOChronology.getInstance(zone),
+                      years, monthsOfYear, daysOfMonth, millisOfDay);
+    }
+
+    /**
+     * Converts a range of instants to the local year, month, day and millis
+     * of day in the specified chronology, storing the results at the same
+     * index as the input.
+     * <p>
+     * Each stored value is the same as that returned by the matching field of
+     * the chronology.
+     *
+     * @param instants  the millisecond instants from 1970-01-01T00:00:00Z, not null
+     * @param start  the index of the first instant to convert
+     * @param length  the number of instants to convert
+     * @param chrono  the chronology to use, null means ISO in the default zone
+     * @param years  the column to store the years in, not null
+     * @param monthsOfYear  the column to store the months in, not null
+     * @param daysOfMonth  the column to store the days in, not null
+     * @param millisOfDay  the column to store the millis of day in, not null
+     * @throws IndexOutOfBoundsException if the range is invalid for any of the arrays
+     * @throws ArithmeticException if applying the time zone offset overflows
+     */
+    public static void toLocalFields(
+            long[] instants, int start, int length, Chronology chrono,
+            int[] years, int[] monthsOfYear, int[] daysOfMonth, int[] millisOfDay) {
+        int end = start + length;
+        if (start < 0 || length < 0 || end < 0 || end > instants.length || end > years.length
+                || end > monthsOfYear.length || end > daysOfMonth.length || end > millisOfDay.length) {
+            throw new IndexOutOfBoundsException("Invalid range: " + start + ", length " + length);
+        }
+
+        chrono = DateTimeUtils.getChronology(chrono);
+        DateTimeZone zone = chrono.getZone();
+        if (zone == null) {
+            zone = DateTimeZone.UTC;
+        }
+        Chronology utc = chrono.withUTC();
+        BasicChronology basic = null;
+        if (utc instanceof AssembledChronology) {
+            Chronology dateChrono = ((AssembledChronology) utc).getDateFieldsChronology();
+            if (dateChrono instanceof BasicChronology
+                    && ((BasicChronology) dateChrono).isStandardFields()
+                    && dateChrono.millisOfDay() == utc.millisOfDay()) {
+                basic = (BasicChronology) dateChrono;
+            }
+        }
+
+        // Inclusive bounds of the time zone period with a known offset.
+        long periodFirst;
+        long periodLast;
+        int offset;
+        if (zone.isFixed()) {
+            periodFirst = Long.MIN_VALUE;
+            periodLast = Long.MAX_VALUE;
+            offset = zone.getOffset(0L);
+        } else {
+            periodFirst = 1;
+            periodLast = 0;
+            offset = 0;
+        }
+
+        // Bounds of the last month seen, the end being exclusive.
+        long monthStart = 1;
+        long monthEnd = 0;
+        int year = 0;
+        int month = 0;
+
+        for (int i = start; i < end; i++) {
+            long instant = instants[i];
+            if (instant < periodFirst || instant > periodLast) {
+                offset = zone.getOffset(instant);
+                long next = zone.nextTransition(instant);
+                periodLast = (next == instant ? Long.MAX_VALUE : next - 1);
+                long prev = zone.previousTransition(instant);
+                periodFirst = (prev == instant ? Long.MIN_VALUE : prev + 1);
+            }
+            long local = instant + offset;
+            // If there is a sign change, but the two values have the same sign...
+            if ((instant ^ local) < 0 && (instant ^ offset) >= 0) {
+                throw new ArithmeticException("Adding time zone offset caused overflow");
+            }
+
+            if (basic == null) {
+                years[i] = utc.year().get(local);
+                monthsOfYear[i] = utc.monthOfYear().get(local);
+                daysOfMonth[i] = utc.dayOfMonth().get(local);
+                millisOfDay[i] = utc.millisOfDay().get(local);
+                continue;
+            }
+
+            if (local < monthStart || local >= monthEnd) {
+                year = basic.getYear(local);
+                month = basic.getMonthOfYear(local, year);
+                monthStart = basic.getYearMonthMillis(year, month);
+                monthEnd = monthStart
+                    + basic.getDaysInYearMonth(year, month) * (long) DateTimeConstants.MILLIS_PER_DAY;
+            }
+            long millisOfMonth = local - monthStart;
+            int day = (int) (millisOfMonth / DateTimeConstants.MILLIS_PER_DAY);
+            years[i] = year;
+            monthsOfYear[i] = month;
+            daysOfMonth[i] = day + 1;
+            millisOfDay[i] = (int) (millisOfMonth - day * (long) DateTimeConstants.MILLIS_PER_DAY);
+        }
+    }
+
+}
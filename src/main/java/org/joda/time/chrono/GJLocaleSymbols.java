@@ -1,5 +1,5 @@
 /*
- *  Copyright 2001-2014 Stephen Colebourne
+ *  Copyright 2001-2015 Stephen Colebourne
  *
  *  Licensed under the Apache License, Version 2.0 (the "License");
  *  you may not use this file except in compliance with the License.
@@ -17,7 +17,6 @@ package org.joda.time.chrono;
 
 import java.text.DateFormatSymbols;
 import java.util.Locale;
-import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -72,18 +71,18 @@ class GJLocaleSymbols {
         return a;
     }
 
-    private static void addSymbols(TreeMap<String, Integer> map, String[] symbols, Integer[] integers) {
+    private static void addSymbols(TextMap map, String[] symbols) {
         for (int i=symbols.length; --i>=0; ) {
             String symbol = symbols[i];
             if (symbol != null) {
-                map.put(symbol, integers[i]);
+                map.put(symbol, i);
             }
         }
     }
 
-    private static void addNumerals(TreeMap<String, Integer> map, int start, int end, Integer[] integers) {
+    private static void addNumerals(TextMap map, int start, int end) {
         for (int i=start; i<=end; i++) {
-            map.put(String.valueOf(i).intern(), integers[i]);
+            map.put(String.valueOf(i), i);
         }
     }
 
@@ -108,9 +107,9 @@ class GJLocaleSymbols {
     private final String[] iShortMonths;
     private final String[] iHalfday;
 
-    private final TreeMap<String, Integer> iParseEras;
-    private final TreeMap<String, Integer> iParseDaysOfWeek;
-    private final TreeMap<String, Integer> iParseMonths;
+    private final TextMap iParseEras;
+    private final TextMap iParseDaysOfWeek;
+    private final TextMap iParseMonths;
 
     private final int iMaxEraLength;
     private final int iMaxDayOfWeekLength;
@@ -132,30 +131,25 @@ class GJLocaleSymbols {
         iShortMonths = realignMonths(dfs.getShortMonths());
         iHalfday = dfs.getAmPmStrings();
 
-        Integer[] integers = new Integer[13];
-        for (int i=0; i<13; i++) {
-            integers[i] = Integer.valueOf(i);
-        }
-
-        iParseEras = new TreeMap<String, Integer>(String.CASE_INSENSITIVE_ORDER);
-        addSymbols(iParseEras, iEras, integers);
+        iParseEras = new TextMap();
+        addSymbols(iParseEras, iEras);
         if ("en".equals(locale.getLanguage())) {
             // Include support for parsing "BCE" and "CE" if the language is
             // English. At some point Joda-Time will need an independent set of
             // localized symbols and not depend on java.text.DateFormatSymbols.
-            iParseEras.put("BCE", integers[0]);
-            iParseEras.put("CE", integers[1]);
+            iParseEras.put("BCE", 0);
+            iParseEras.put("CE", 1);
         }
 
-        iParseDaysOfWeek = new TreeMap<String, Integer>(String.CASE_INSENSITIVE_ORDER);
-        addSymbols(iParseDaysOfWeek, iDaysOfWeek, integers);
-        addSymbols(iParseDaysOfWeek, iShortDaysOfWeek, integers);
-        addNumerals(iParseDaysOfWeek, 1, 7, integers);
+        iParseDaysOfWeek = new TextMap();
+        addSymbols(iParseDaysOfWeek, iDaysOfWeek);
+        addSymbols(iParseDaysOfWeek, iShortDaysOfWeek);
+        addNumerals(iParseDaysOfWeek, 1, 7);
 
-        iParseMonths = new TreeMap<String, Integer>(String.CASE_INSENSITIVE_ORDER);
-        addSymbols(iParseMonths, iMonths, integers);
-        addSymbols(iParseMonths, iShortMonths, integers);
-        addNumerals(iParseMonths, 1, 12, integers);
+        iParseMonths = new TextMap();
+        addSymbols(iParseMonths, iMonths);
+        addSymbols(iParseMonths, iShortMonths);
+        addNumerals(iParseMonths, 1, 12);
 
         iMaxEraLength = maxLength(iEras);
         iMaxDayOfWeekLength = maxLength(iDaysOfWeek);
@@ -170,9 +164,9 @@ class GJLocaleSymbols {
     }
 
     public int eraTextToValue(String text) {
-        Integer era = iParseEras.get(text);
-        if (era != null) {
-            return era.intValue();
+        int era = iParseEras.get(text);
+        if (era >= 0) {
+            return era;
         }
         throw new IllegalFieldValueException(DateTimeFieldType.era(), text);
     }
@@ -190,9 +184,9 @@ class GJLocaleSymbols {
     }
 
     public int monthOfYearTextToValue(String text) {
-        Integer month = iParseMonths.get(text);
-        if (month != null) {
-            return month.intValue();
+        int month = iParseMonths.get(text);
+        if (month >= 0) {
+            return month;
         }
         throw new IllegalFieldValueException(DateTimeFieldType.monthOfYear(), text);
     }
@@ -214,9 +208,9 @@ class GJLocaleSymbols {
     }
 
     public int dayOfWeekTextToValue(String text) {
-        Integer day = iParseDaysOfWeek.get(text);
-        if (day != null) {
-            return day.intValue();
+        int day = iParseDaysOfWeek.get(text);
+        if (day >= 0) {
+            return day;
         }
         throw new IllegalFieldValueException(DateTimeFieldType.dayOfWeek(), text);
     }
@@ -246,4 +240,77 @@ class GJLocaleSymbols {
     public int getHalfdayMaxTextLength() {
         return iMaxHalfdayLength;
     }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Case insensitive map from text to a non-negative value, held as a trie
+     * of case folded characters.
+     * <p>
+     * Characters are folded as by {@link String#CASE_INSENSITIVE_ORDER}, so
+     * a lookup matches the same keys as a TreeMap with that comparator. The
+     * map is filled in the constructor of the symbols, and is then read only.
+     */
+    static class TextMap {
+        private static final char[] NO_KEYS = new char[0];
+        private static final TextMap[] NO_CHILDREN = new TextMap[0];
+
+        private char[] iKeys = NO_KEYS;
+        private TextMap[] iChildren = NO_CHILDREN;
+        private int iValue = -1;
+
+        private static char fold(char c) {
+            return Character.toLowerCase(Character.toUpperCase(c));
+        }
+
+        void put(String text, int value) {
+            TextMap node = this;
+            for (int i = 0; i < text.length(); i++) {
+                char c = fold(text.charAt(i));
+                TextMap child = node.child(c);
+                if (child == null) {
+                    int size = node.iKeys.length;
+                    char[] keys = new char[size + 1];
+                    TextMap[] children = new TextMap[size + 1];
+                    System.arraycopy(node.iKeys, 0, keys, 0, size);
+                    System.arraycopy(node.iChildren, 0, children, 0, size);
+                    keys[size] = c;
+                    children[size] = child = new TextMap();
+                    node.iKeys = keys;
+                    node.iChildren = children;
+                }
+                node = child;
+            }
+            node.iValue = value;
+        }
+
+        /**
+         * Gets the value of the text.
+         *
+         * @param text  the text, null returns -1
+         * @return the value, -1 if not found
+         */
+        int get(String text) {
+            if (text == null) {
+                return -1;
+            }
+            TextMap node = this;
+            for (int i = 0; i < text.length(); i++) {
+                node = node.child(fold(text.charAt(i)));
+                if (node == null) {
+                    return -1;
+                }
+            }
+            return node.iValue;
+        }
+
+        private TextMap child(char c) {
+            char[] keys = iKeys;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return iChildren[i];
+                }
+            }
+            return null;
+        }
+    }
 }
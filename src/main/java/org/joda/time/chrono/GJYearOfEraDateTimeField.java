@@ -49,11 +49,8 @@ final class GJYearOfEraDateTimeField extends DecoratedDateTimeField {
     }
 
     public int get(long instant) {
-        int year = getWrappedField().get(instant);
-        if (year <= 0) {
-            year = 1 - year;
-        }
-        return year;
+        // the wrapped field is always the year of the chronology
+        return BasicChronology.getYearOfEra(iChronology, instant);
     }
 
     public long add(long instant, int years) {
@@ -30,6 +30,13 @@ import org.joda.time.DateTimeZone;
  * chronology assumes it did, thus it is proleptic. This implementation also
  * fixes the start of the year at January 1, and defines the year zero.
  * <p>
+ * The year, month and day of an instant are read from a table of days for the
+ * years 1900 to 2100, and calculated directly outside that window. The window
+ * can be changed with the system properties
+ * <code>org.joda.time.chrono.GregorianChronology.dayTableStartYear</code> and
+ * <code>org.joda.time.chrono.GregorianChronology.dayTableEndYear</code>, both
+ * inclusive. An end year before the start year disables the table.
+ * <p>
  * GregorianChronology is thread-safe and immutable.
  *
  * @see <a href="http://en.wikipedia.org/wiki/Gregorian_calendar">Wikipedia</a>
@@ -54,6 +61,12 @@ public final class GregorianChronology extends BasicGJChronology {
 
     private static final int DAYS_0000_TO_1970 = 719527;
 
+    /** The days from 0000-03-01 to 1970-01-01, used by the day calculation. */
+    private static final int DAYS_0000_03_01_TO_1970 = 719468;
+
+    /** The number of days in a 400 year cycle. */
+    private static final int DAYS_PER_CYCLE = 146097;
+
     /** The lowest year that can be fully supported. */
     private static final int MIN_YEAR = -292275054;
 
@@ -202,6 +215,74 @@ public final class GregorianChronology extends BasicGJChronology {
         return ((year & 3) == 0) && ((year % 100) != 0 || (year % 400) == 0);
     }
 
+    int getYear(long instant) {
+        return (int) (getYearMonthDay(instant) >> 9);
+    }
+
+    int getMonthOfYear(long millis) {
+        return (int) (getYearMonthDay(millis) >> 5) & 15;
+    }
+
+    int getMonthOfYear(long millis, int year) {
+        return (int) (getYearMonthDay(millis) >> 5) & 15;
+    }
+
+    int getDayOfMonth(long millis) {
+        return (int) getYearMonthDay(millis) & 31;
+    }
+
+    int getDayOfMonth(long millis, int year) {
+        return (int) getYearMonthDay(millis) & 31;
+    }
+
+    int getDayOfMonth(long millis, int year, int month) {
+        return (int) getYearMonthDay(millis) & 31;
+    }
+
+    /**
+     * Gets the year, month and day of an instant, packed as
+     * <code>(year << 9) | (month << 5) | day</code>.
+     *
+     * @param instant  millis from 1970-01-01T00:00:00Z
+     * @return the packed date
+     */
+    private static long getYearMonthDay(long instant) {
+        long epochDay;
+        if (instant >= 0) {
+            epochDay = instant / DateTimeConstants.MILLIS_PER_DAY;
+        } else {
+            epochDay = (instant + 1) / DateTimeConstants.MILLIS_PER_DAY - 1;
+        }
+        long index = epochDay - DayTable.START_DAY;
+        if (index >= 0 && index < DayTable.DATES.length) {
+            return DayTable.DATES[(int) index];
+        }
+        return calculateYearMonthDay(epochDay);
+    }
+
+    /**
+     * Calculates the year, month and day of an epoch day, packed as
+     * <code>(year << 9) | (month << 5) | day</code>.
+     * <p>
+     * The calculation uses years starting on March 1st, so that the leap day
+     * is the last day of the year and the months have a regular pattern.
+     *
+     * @param epochDay  days from 1970-01-01
+     * @return the packed date
+     */
+    static long calculateYearMonthDay(long epochDay) {
+        long days = epochDay + DAYS_0000_03_01_TO_1970;
+        long cycle = (days >= 0 ? days : days - DAYS_PER_CYCLE + 1) / DAYS_PER_CYCLE;
+        int dayOfCycle = (int) (days - cycle * DAYS_PER_CYCLE);
+        int yearOfCycle = (dayOfCycle - dayOfCycle / 1460 + dayOfCycle / 36524 - dayOfCycle / 146096) / 365;
+        int dayOfYear = dayOfCycle - (365 * yearOfCycle + yearOfCycle / 4 - yearOfCycle / 100);
+        int marchMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * marchMonth + 2) / 5 + 1;
+        int month = (marchMonth < 10 ? marchMonth + 3 : marchMonth - 9);
+        long year = cycle * 400 + yearOfCycle + (month <= 2 ? 1 : 0);
+        return (year << 9) | (month << 5) | day;
+    }
+
     long calculateFirstDayOfYearMillis(int year) {
         // Initial value is just temporary.
         int leapYears = year / 100;
@@ -246,4 +327,64 @@ public final class GregorianChronology extends BasicGJChronology {
         return (1970L * MILLIS_PER_YEAR) / 2;
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * The packed dates of the days in the table window, built on first use.
+     */
+    private static final class DayTable {
+        /** The default first year of the window. */
+        private static final int DEFAULT_START_YEAR = 1900;
+        /** The default last year of the window. */
+        private static final int DEFAULT_END_YEAR = 2100;
+        /** The limit on the absolute value of a window year. */
+        private static final int YEAR_LIMIT = 100000;
+
+        /** The epoch day of the first entry. */
+        static final long START_DAY;
+        /** The packed dates by day. */
+        static final int[] DATES;
+
+        static {
+            int startYear = getYearProperty("org.joda.time.chrono.GregorianChronology.dayTableStartYear", DEFAULT_START_YEAR);
+            int endYear = getYearProperty("org.joda.time.chrono.GregorianChronology.dayTableEndYear", DEFAULT_END_YEAR);
+            long startDay = getFirstEpochDayOfYear(startYear);
+            int length = 0;
+            if (endYear >= startYear) {
+                length = (int) (getFirstEpochDayOfYear(endYear + 1) - startDay);
+            }
+            int[] dates = new int[length];
+            for (int i = 0; i < length; i++) {
+                dates[i] = (int) calculateYearMonthDay(startDay + i);
+            }
+            START_DAY = startDay;
+            DATES = dates;
+        }
+
+        private static long getFirstEpochDayOfYear(int year) {
+            // the previous March based year holds January 1st, as day 306
+            int marchYear = year - 1;
+            int cycle = (marchYear >= 0 ? marchYear : marchYear - 399) / 400;
+            int yearOfCycle = marchYear - cycle * 400;
+            int dayOfCycle = 365 * yearOfCycle + yearOfCycle / 4 - yearOfCycle / 100 + 306;
+            return (long) cycle * DAYS_PER_CYCLE + dayOfCycle - DAYS_0000_03_01_TO_1970;
+        }
+
+        private static int getYearProperty(String name, int defaultYear) {
+            try {
+                String property = System.getProperty(name);
+                if (property != null) {
+                    int year = Integer.parseInt(property.trim());
+                    if (year >= -YEAR_LIMIT && year <= YEAR_LIMIT) {
+                        return year;
+                    }
+                }
+            } catch (SecurityException ex) {
+                // ignored
+            } catch (NumberFormatException ex) {
+                // ignored
+            }
+            return defaultYear;
+        }
+    }
+
 }
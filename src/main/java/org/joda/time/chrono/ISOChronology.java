@@ -20,10 +20,13 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.joda.time.Chronology;
+import org.joda.time.DateTimeConstants;
 import org.joda.time.DateTimeFieldType;
 import org.joda.time.DateTimeZone;
+import org.joda.time.DurationField;
 import org.joda.time.field.DividedDateTimeField;
 import org.joda.time.field.RemainderDateTimeField;
 
@@ -55,6 +58,18 @@ public final class ISOChronology extends AssembledChronology {
 
     /** Cache of zone to chronology */
     private static final ConcurrentHashMap<DateTimeZone, ISOChronology> cCache = new ConcurrentHashMap<DateTimeZone, ISOChronology>();
+    /** Maximum offset, as accepted by DateTimeZone.forOffsetMillis. */
+    private static final int MAX_OFFSET_MILLIS = DateTimeConstants.MILLIS_PER_DAY - 1;
+    /** Millis in a quarter hour. */
+    private static final int QUARTER_HOUR_MILLIS = 15 * DateTimeConstants.MILLIS_PER_MINUTE;
+    /** The number of quarter hours in the maximum fixed offset, matching DateTimeZone. */
+    private static final int QUARTER_HOURS = MAX_OFFSET_MILLIS / QUARTER_HOUR_MILLIS;
+    /**
+     * Cache of the chronologies of the interned fixed offset zones returned
+     * by {@link DateTimeZone#forOffsetMillis(int)}, indexed by quarter hour.
+     */
+    private static final AtomicReferenceArray<ISOChronology> cFixedCache =
+        new AtomicReferenceArray<ISOChronology>(QUARTER_HOURS * 2 + 1);
     static {
         INSTANCE_UTC = new ISOChronology(GregorianChronology.getInstanceUTC());
         cCache.put(DateTimeZone.UTC, INSTANCE_UTC);
@@ -89,6 +104,17 @@ public final class ISOChronology extends AssembledChronology {
         if (zone == null) {
             zone = DateTimeZone.getDefault();
         }
+        int fixedIndex = -1;
+        if (zone.isFixed()) {
+            int offset = zone.getOffset(0L);
+            if (offset % QUARTER_HOUR_MILLIS == 0 && Math.abs(offset / QUARTER_HOUR_MILLIS) <= QUARTER_HOURS) {
+                fixedIndex = offset / QUARTER_HOUR_MILLIS + QUARTER_HOURS;
+                ISOChronology chrono = cFixedCache.get(fixedIndex);
+                if (chrono != null && chrono.getZone() == zone) {
+                    return chrono;
+                }
+            }
+        }
         ISOChronology chrono = cCache.get(zone);
         if (chrono == null) {
             chrono = new ISOChronology(ZonedChronology.getInstance(INSTANCE_UTC, zone));
@@ -97,6 +123,10 @@ public final class ISOChronology extends AssembledChronology {
                 chrono = oldChrono;
             }
         }
+        if (fixedIndex >= 0 && zone == DateTimeZone.forOffsetMillis(zone.getOffset(0L))) {
+            // only the interned zone is held, so the identity check above is enough
+            cFixedCache.set(fixedIndex, chrono);
+        }
         return chrono;
     }
 
@@ -156,14 +186,15 @@ public final class ISOChronology extends AssembledChronology {
     protected void assemble(Fields fields) {
         if (getBase().getZone() == DateTimeZone.UTC) {
             // Use zero based century and year of century.
-            fields.centuryOfEra = new DividedDateTimeField(
-                ISOYearOfEraDateTimeField.INSTANCE, DateTimeFieldType.centuryOfEra(), 100);
+            // The values are read directly from the year of the base chronology.
+            DividedDateTimeField centuryOfEra = new CenturyOfEraField();
+            fields.centuryOfEra = centuryOfEra;
             fields.centuries = fields.centuryOfEra.getDurationField();
             
-            fields.yearOfCentury = new RemainderDateTimeField(
-                (DividedDateTimeField) fields.centuryOfEra, DateTimeFieldType.yearOfCentury());
-            fields.weekyearOfCentury = new RemainderDateTimeField(
-                (DividedDateTimeField) fields.centuryOfEra, fields.weekyears, DateTimeFieldType.weekyearOfCentury());
+            fields.yearOfCentury = new YearOfCenturyField(centuryOfEra,
+                centuryOfEra.getWrappedField().getDurationField(), DateTimeFieldType.yearOfCentury());
+            fields.weekyearOfCentury = new YearOfCenturyField(centuryOfEra,
+                fields.weekyears, DateTimeFieldType.weekyearOfCentury());
         }
     }
 
@@ -205,6 +236,45 @@ public final class ISOChronology extends AssembledChronology {
         return new Stub(getZone());
     }
 
+    /**
+     * Zero-based centuryOfEra, equivalent to dividing the yearOfEra by 100.
+     */
+    private static class CenturyOfEraField extends DividedDateTimeField {
+        @SuppressWarnings("unused")
+        private static final long serialVersionUID = 1547131563185541305L;
+
+        private final BasicChronology iChronology;
+
+        CenturyOfEraField() {
+            super(ISOYearOfEraDateTimeField.INSTANCE, DateTimeFieldType.centuryOfEra(), 100);
+            iChronology = GregorianChronology.getInstanceUTC();
+        }
+
+        public int get(long instant) {
+            return ISOYearOfEraDateTimeField.getYearOfEra(iChronology, instant) / 100;
+        }
+    }
+
+    /**
+     * Zero-based yearOfCentury, equivalent to the remainder of the yearOfEra
+     * divided by 100. This is also used for weekyearOfCentury.
+     */
+    private static class YearOfCenturyField extends RemainderDateTimeField {
+        @SuppressWarnings("unused")
+        private static final long serialVersionUID = -4633427036618420683L;
+
+        private final BasicChronology iChronology;
+
+        YearOfCenturyField(DividedDateTimeField centuryOfEra, DurationField durationField, DateTimeFieldType type) {
+            super(centuryOfEra, durationField, type);
+            iChronology = GregorianChronology.getInstanceUTC();
+        }
+
+        public int get(long instant) {
+            return ISOYearOfEraDateTimeField.getYearOfEra(iChronology, instant) % 100;
+        }
+    }
+
     private static final class Stub implements Serializable {
         private static final long serialVersionUID = -6212696554273812441L;
 
@@ -41,11 +41,14 @@ class ISOYearOfEraDateTimeField extends DecoratedDateTimeField {
      */
     static final DateTimeField INSTANCE = new ISOYearOfEraDateTimeField();
 
+    private final BasicChronology iChronology;
+
     /**
      * Restricted constructor.
      */
     private ISOYearOfEraDateTimeField() {
         super(GregorianChronology.getInstanceUTC().year(), DateTimeFieldType.yearOfEra());
+        iChronology = GregorianChronology.getInstanceUTC();
     }
 
     @Override
@@ -54,8 +57,8 @@ class ISOYearOfEraDateTimeField extends DecoratedDateTimeField {
     }
 
     public int get(long instant) {
-        int year = getWrappedField().get(instant);
-        return year < 0 ? -year : year;
+        // the wrapped field is always the year of the chronology
+        return getYearOfEra(iChronology, instant);
     }
 
     public long add(long instant, int years) {
@@ -116,4 +119,12 @@ class ISOYearOfEraDateTimeField extends DecoratedDateTimeField {
     private Object readResolve() {
         return INSTANCE;
     }
+
+    /**
+     * Gets the zero-based year of era for the year of the given chronology.
+     */
+    static int getYearOfEra(BasicChronology chronology, long instant) {
+        int year = chronology.getYear(instant);
+        return year < 0 ? -year : year;
+    }
 }
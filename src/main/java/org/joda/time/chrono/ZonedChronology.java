@@ -26,6 +26,7 @@ import org.joda.time.DurationField;
 import org.joda.time.IllegalFieldValueException;
 import org.joda.time.IllegalInstantException;
 import org.joda.time.ReadablePartial;
+import org.joda.time.ReadablePeriod;
 import org.joda.time.field.BaseDateTimeField;
 import org.joda.time.field.BaseDurationField;
 
@@ -130,6 +131,26 @@ public final class ZonedChronology extends AssembledChronology {
                            hourOfDay, minuteOfHour, secondOfMinute, millisOfSecond));
     }
 
+    public void getDateTimeFields(long instant, int[] values) {
+        // Convert to local time once, rather than once per field.
+        getBase().getDateTimeFields(getZone().convertUTCToLocal(instant), values);
+    }
+
+    public int[] get(ReadablePeriod period, long startInstant, long endInstant) {
+        Chronology base = getBase();
+        if (base instanceof AssembledChronology) {
+            base = ((AssembledChronology) base).getDurationFieldsChronology();
+        }
+        if (base instanceof BasicGJChronology) {
+            // Calculate the period on the local date-times in one pass where possible.
+            int[] values = ((BasicGJChronology) base).getPeriodValues(period, startInstant, endInstant, getZone());
+            if (values != null) {
+                return values;
+            }
+        }
+        return super.get(period, startInstant, endInstant);
+    }
+
     /**
      * @param localInstant  the instant from 1970-01-01T00:00:00 local time
      * @return the instant from 1970-01-01T00:00:00Z
@@ -0,0 +1,177 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.format;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Appendable that writes into a caller-owned <code>char[]</code> or
+ * <code>ByteBuffer</code> without creating intermediate objects.
+ * <p>
+ * Characters written to a <code>ByteBuffer</code> are encoded as UTF-8,
+ * which is the same as ASCII for the characters used by most formats.
+ * Unpaired surrogates are written as '?'.
+ * <p>
+ * Instances are mutable and not thread-safe. They are reused by
+ * {@link DateTimeFormatter} on a per-thread basis.
+ *
+ * @since 2.9
+ */
+final class BufferAppendable implements Appendable {
+
+    /** The target array, null if writing bytes. */
+    private char[] iChars;
+    /** The next index to write in the array. */
+    private int iPos;
+    /** The target buffer, null if writing chars. */
+    private ByteBuffer iBytes;
+    /** A high surrogate awaiting its low surrogate, zero if none. */
+    private char iHighSurrogate;
+    /** Whether the instance is currently being used. */
+    boolean iInUse;
+
+    BufferAppendable() {
+        super();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Starts writing characters into an array.
+     *
+     * @param chars  the array to write into, not null
+     * @param offset  the index to start writing at
+     */
+    void reset(char[] chars, int offset) {
+        if (offset < 0 || offset > chars.length) {
+            throw new IndexOutOfBoundsException("Invalid offset: " + offset);
+        }
+        iChars = chars;
+        iPos = offset;
+        iBytes = null;
+        iHighSurrogate = 0;
+    }
+
+    /**
+     * Starts writing UTF-8 bytes into a buffer at its current position.
+     *
+     * @param bytes  the buffer to write into, not null
+     */
+    void reset(ByteBuffer bytes) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("The buffer must not be null");
+        }
+        iChars = null;
+        iBytes = bytes;
+        iHighSurrogate = 0;
+    }
+
+    /**
+     * Completes writing, flushing any unpaired surrogate.
+     *
+     * @return the next index to write in the array, undefined if writing bytes
+     */
+    int finish() {
+        if (iHighSurrogate != 0) {
+            iHighSurrogate = 0;
+            iBytes.put((byte) '?');
+        }
+        return iPos;
+    }
+
+    /**
+     * Releases the target so that it is not retained, and marks this instance
+     * as available for reuse.
+     */
+    void release() {
+        iChars = null;
+        iBytes = null;
+        iPos = 0;
+        iHighSurrogate = 0;
+        iInUse = false;
+    }
+
+    //-----------------------------------------------------------------------
+    public Appendable append(char c) {
+        if (iBytes == null) {
+            iChars[iPos++] = c;
+        } else {
+            encode(c);
+        }
+        return this;
+    }
+
+    public Appendable append(CharSequence csq) {
+        if (csq == null) {
+            csq = "null";
+        }
+        return append(csq, 0, csq.length());
+    }
+
+    public Appendable append(CharSequence csq, int start, int end) {
+        if (csq == null) {
+            csq = "null";
+        }
+        if (iBytes == null && csq instanceof String) {
+            if (start < 0 || start > end || end > csq.length()) {
+                throw new IndexOutOfBoundsException("Invalid range: " + start + "-" + end);
+            }
+            if (end - start > iChars.length - iPos) {
+                throw new ArrayIndexOutOfBoundsException(iChars.length);
+            }
+            ((String) csq).getChars(start, end, iChars, iPos);
+            iPos += end - start;
+        } else {
+            for (int i = start; i < end; i++) {
+                append(csq.charAt(i));
+            }
+        }
+        return this;
+    }
+
+    private void encode(char c) {
+        ByteBuffer bytes = iBytes;
+        if (c < 0x80 && iHighSurrogate == 0) {
+            bytes.put((byte) c);
+        } else if (iHighSurrogate != 0 && Character.isLowSurrogate(c)) {
+            int codePoint = Character.toCodePoint(iHighSurrogate, c);
+            iHighSurrogate = 0;
+            bytes.put((byte) (0xF0 | (codePoint >> 18)));
+            bytes.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            bytes.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            bytes.put((byte) (0x80 | (codePoint & 0x3F)));
+        } else {
+            if (iHighSurrogate != 0) {
+                iHighSurrogate = 0;
+                bytes.put((byte) '?');
+            }
+            if (c < 0x80) {
+                bytes.put((byte) c);
+            } else if (c < 0x800) {
+                bytes.put((byte) (0xC0 | (c >> 6)));
+                bytes.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c)) {
+                iHighSurrogate = c;
+            } else if (Character.isLowSurrogate(c)) {
+                bytes.put((byte) '?');
+            } else {
+                bytes.put((byte) (0xE0 | (c >> 12)));
+                bytes.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                bytes.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+}
@@ -19,7 +19,6 @@ import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Locale;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.joda.time.Chronology;
@@ -148,10 +147,17 @@ public class DateTimeFormat {
     /** Type constant for DATETIME. */
     static final int DATETIME = 2;
 
-    /** Maximum size of the pattern cache. */
+    /** Default maximum size of the pattern cache. */
     private static final int PATTERN_CACHE_SIZE = 500;
-    /** Maps patterns to formatters, patterns don't vary by locale. Size capped at PATTERN_CACHE_SIZE*/
-    private static final ConcurrentHashMap<String, DateTimeFormatter> cPatternCache = new ConcurrentHashMap<String, DateTimeFormatter>();
+    /** Default maximum size of the cache of style formatters by locale. */
+    private static final int STYLE_CACHE_SIZE = 500;
+    /**
+     * Maps patterns to formatters, patterns don't vary by locale.
+     * The size can be set by the system property
+     * <code>org.joda.time.format.DateTimeFormat.patternCacheSize</code>.
+     */
+    private static final FormatterCache<String, DateTimeFormatter> cPatternCache =
+        FormatterCache.create("org.joda.time.format.DateTimeFormat.patternCacheSize", PATTERN_CACHE_SIZE);
     /** Maps patterns to formatters, patterns don't vary by locale. */
     private static final AtomicReferenceArray<DateTimeFormatter> cStyleCache = new AtomicReferenceArray<DateTimeFormatter>(25);
 
@@ -669,6 +675,38 @@ public class DateTimeFormat {
         return false;
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the statistics of the cache used by {@link #forPattern(String)}.
+     * <p>
+     * The cache holds 500 patterns by default, evicting the least recently used
+     * once full. The size can be changed by setting the system property
+     * <code>org.joda.time.format.DateTimeFormat.patternCacheSize</code>,
+     * where zero disables caching.
+     *
+     * @return a snapshot of the statistics, not null
+     * @since 2.9
+     */
+    public static FormatterCacheStatistics getPatternCacheStatistics() {
+        return cPatternCache.getStatistics();
+    }
+
+    /**
+     * Gets the statistics of the cache of locale specific formatters used by
+     * the style based formatters, such as {@link #forStyle(String)}.
+     * <p>
+     * The cache holds 500 formatters by default, evicting the least recently used
+     * once full. The size can be changed by setting the system property
+     * <code>org.joda.time.format.DateTimeFormat.styleCacheSize</code>,
+     * where zero disables caching.
+     *
+     * @return a snapshot of the statistics, not null
+     * @since 2.9
+     */
+    public static FormatterCacheStatistics getStyleCacheStatistics() {
+        return StyleFormatter.cCache.getStatistics();
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Select a format from a custom pattern.
@@ -686,13 +724,9 @@ public class DateTimeFormat {
             DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
             parsePatternTo(builder, pattern);
             formatter = builder.toFormatter();
-            if (cPatternCache.size() < PATTERN_CACHE_SIZE) {
-                // the size check is not locked against concurrent access,
-                // but is accepted to be slightly off in contention scenarios.
-                DateTimeFormatter oldFormatter = cPatternCache.putIfAbsent(pattern, formatter);
-                if (oldFormatter != null) {
-                    formatter = oldFormatter;
-                }
+            DateTimeFormatter oldFormatter = cPatternCache.putIfAbsent(pattern, formatter);
+            if (oldFormatter != null) {
+                formatter = oldFormatter;
             }
         }
         return formatter;
@@ -787,7 +821,13 @@ public class DateTimeFormat {
     static class StyleFormatter
             implements InternalPrinter, InternalParser {
 
-        private static final ConcurrentHashMap<StyleFormatterCacheKey, DateTimeFormatter> cCache = new ConcurrentHashMap<StyleFormatterCacheKey, DateTimeFormatter>();
+        /**
+         * Maps styles and locales to formatters.
+         * The size can be set by the system property
+         * <code>org.joda.time.format.DateTimeFormat.styleCacheSize</code>.
+         */
+        private static final FormatterCache<StyleFormatterCacheKey, DateTimeFormatter> cCache =
+            FormatterCache.create("org.joda.time.format.DateTimeFormat.styleCacheSize", STYLE_CACHE_SIZE);
         
         private final int iDateStyle;
         private final int iTimeStyle;
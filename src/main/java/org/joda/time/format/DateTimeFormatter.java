@@ -17,6 +17,9 @@ package org.joda.time.format;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.text.ParsePosition;
 import java.util.Locale;
 
 import org.joda.time.Chronology;
@@ -89,6 +92,13 @@ import org.joda.time.ReadablePartial;
  */
 public class DateTimeFormatter {
 
+    /** Per-thread sink used when printing to arrays and byte buffers. */
+    private static final ThreadLocal<BufferAppendable> cBuffers = new ThreadLocal<BufferAppendable>() {
+        protected BufferAppendable initialValue() {
+            return new BufferAppendable();
+        }
+    };
+
     /** The internal printer used to output the datetime. */
     private final InternalPrinter iPrinter;
     /** The internal parser used to output the datetime. */
@@ -483,6 +493,34 @@ public class DateTimeFormatter {
       return iDefaultYear;
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Returns a formatter that prints and parses in the same way as this one,
+     * but with its elements fused into a single specialized printer and parser.
+     * <p>
+     * Compiling is worthwhile for a formatter that is used very frequently,
+     * such as one created from a pattern. Literals and numeric fields are
+     * handled inline rather than element by element, and the fields are resolved
+     * in advance against the chronology of this formatter, or ISO if none.
+     * Where the pattern consists only of literals and numeric fields, parsing in
+     * the ISO chronology computes the result directly without a parser bucket.
+     * <p>
+     * The settings of this formatter, such as the locale and zone, are retained.
+     *
+     * @return the compiled formatter, this formatter if there is nothing to compile
+     * @since 2.9
+     */
+    public DateTimeFormatter compile() {
+        DateTimeFormatterBuilder.Compiled compiled =
+            DateTimeFormatterBuilder.Compiled.compile(iPrinter, iParser, iChrono);
+        if (compiled == null) {
+            return this;
+        }
+        return new DateTimeFormatter(
+            iPrinter == null ? null : compiled, iParser == null ? null : compiled,
+            iLocale, iOffsetParsed, iChrono, iZone, iPivotYear, iDefaultYear);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Prints a ReadableInstant, using the chronology supplied by the instant.
@@ -713,6 +751,173 @@ public class DateTimeFormatter {
         return buf.toString();
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Prints a ReadableInstant into a character array, returning the number
+     * of characters written.
+     * <p>
+     * This method creates no objects when printing standard fields, making it
+     * suitable for high volume output where the caller reuses one array.
+     * If the array is too small an exception is thrown and the contents of
+     * the array beyond the offset are undefined.
+     *
+     * @param buf  the array to print into, not null
+     * @param offset  the index to start writing at
+     * @param instant  instant to format, null means now
+     * @return the number of characters written
+     * @throws IndexOutOfBoundsException if the offset is invalid or the array is too small
+     * @since 2.9
+     */
+    public int printTo(char[] buf, int offset, ReadableInstant instant) {
+        long millis = DateTimeUtils.getInstantMillis(instant);
+        Chronology chrono = DateTimeUtils.getInstantChronology(instant);
+        return printTo(buf, offset, millis, chrono);
+    }
+
+    /**
+     * Prints a millisecond instant into a character array, returning the number
+     * of characters written.
+     * <p>
+     * This method creates no objects when printing standard fields, making it
+     * suitable for high volume output where the caller reuses one array.
+     * If the array is too small an exception is thrown and the contents of
+     * the array beyond the offset are undefined.
+     *
+     * @param buf  the array to print into, not null
+     * @param offset  the index to start writing at
+     * @param instant  millis since 1970-01-01T00:00:00Z
+     * @return the number of characters written
+     * @throws IndexOutOfBoundsException if the offset is invalid or the array is too small
+     * @since 2.9
+     */
+    public int printTo(char[] buf, int offset, long instant) {
+        return printTo(buf, offset, instant, null);
+    }
+
+    /**
+     * Prints a ReadableInstant into a character buffer at its current position,
+     * returning the number of characters written.
+     * <p>
+     * This method creates no objects when printing standard fields.
+     *
+     * @param buf  the buffer to print into, not null
+     * @param instant  instant to format, null means now
+     * @return the number of characters written
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     * @since 2.9
+     */
+    public int printTo(CharBuffer buf, ReadableInstant instant) {
+        long millis = DateTimeUtils.getInstantMillis(instant);
+        Chronology chrono = DateTimeUtils.getInstantChronology(instant);
+        return printTo(buf, millis, chrono);
+    }
+
+    /**
+     * Prints a millisecond instant into a character buffer at its current position,
+     * returning the number of characters written.
+     * <p>
+     * This method creates no objects when printing standard fields.
+     *
+     * @param buf  the buffer to print into, not null
+     * @param instant  millis since 1970-01-01T00:00:00Z
+     * @return the number of characters written
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     * @since 2.9
+     */
+    public int printTo(CharBuffer buf, long instant) {
+        return printTo(buf, instant, null);
+    }
+
+    /**
+     * Prints a ReadableInstant into a byte buffer at its current position
+     * encoded as UTF-8, returning the number of bytes written.
+     * <p>
+     * This method creates no objects when printing standard fields.
+     * The output of numeric formats is plain ASCII.
+     *
+     * @param buf  the buffer to print into, not null
+     * @param instant  instant to format, null means now
+     * @return the number of bytes written
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     * @since 2.9
+     */
+    public int printTo(ByteBuffer buf, ReadableInstant instant) {
+        long millis = DateTimeUtils.getInstantMillis(instant);
+        Chronology chrono = DateTimeUtils.getInstantChronology(instant);
+        return printTo(buf, millis, chrono);
+    }
+
+    /**
+     * Prints a millisecond instant into a byte buffer at its current position
+     * encoded as UTF-8, returning the number of bytes written.
+     * <p>
+     * This method creates no objects when printing standard fields.
+     * The output of numeric formats is plain ASCII.
+     *
+     * @param buf  the buffer to print into, not null
+     * @param instant  millis since 1970-01-01T00:00:00Z
+     * @return the number of bytes written
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     * @since 2.9
+     */
+    public int printTo(ByteBuffer buf, long instant) {
+        return printTo(buf, instant, null);
+    }
+
+    private int printTo(char[] buf, int offset, long instant, Chronology chrono) {
+        BufferAppendable appendable = acquireBuffer();
+        try {
+            appendable.reset(buf, offset);
+            printTo(appendable, instant, chrono);
+            return appendable.finish() - offset;
+        } catch (IOException ex) {
+            // BufferAppendable does not throw IOException
+            throw new IllegalStateException(ex.toString());
+        } finally {
+            releaseBuffer(appendable);
+        }
+    }
+
+    private int printTo(CharBuffer buf, long instant, Chronology chrono) {
+        int start = buf.position();
+        try {
+            printTo((Appendable) buf, instant, chrono);
+        } catch (IOException ex) {
+            // CharBuffer does not throw IOException
+        }
+        return buf.position() - start;
+    }
+
+    private int printTo(ByteBuffer buf, long instant, Chronology chrono) {
+        int start = buf.position();
+        BufferAppendable appendable = acquireBuffer();
+        try {
+            appendable.reset(buf);
+            printTo(appendable, instant, chrono);
+            appendable.finish();
+            return buf.position() - start;
+        } catch (IOException ex) {
+            // BufferAppendable does not throw IOException
+            throw new IllegalStateException(ex.toString());
+        } finally {
+            releaseBuffer(appendable);
+        }
+    }
+
+    private static BufferAppendable acquireBuffer() {
+        BufferAppendable appendable = cBuffers.get();
+        if (appendable.iInUse) {
+            // A custom printer is printing re-entrantly on this thread
+            appendable = new BufferAppendable();
+        }
+        appendable.iInUse = true;
+        return appendable;
+    }
+
+    private static void releaseBuffer(BufferAppendable appendable) {
+        appendable.release();
+    }
+
     private void printTo(Appendable appendable, long instant, Chronology chrono) throws IOException {
         InternalPrinter printer = requirePrinter();
         chrono = selectChronology(chrono);
@@ -822,10 +1027,143 @@ public class DateTimeFormatter {
     public long parseMillis(String text) {
         InternalParser parser = requireParser();
         Chronology chrono = selectChronology(iChrono);
+        if (parser instanceof InternalDirectParser) {
+            long millis = parseDirect((InternalDirectParser) parser, text, chrono, chrono.getZone(), iDefaultYear);
+            if (millis != InternalDirectParser.FALLBACK) {
+                return millis;
+            }
+        }
         DateTimeParserBucket bucket = new DateTimeParserBucket(0, chrono, iLocale, iPivotYear, iDefaultYear);
         return bucket.doParseMillis(parser, text);
     }
 
+    /**
+     * Parses a datetime from the given text, returning the number of
+     * milliseconds since the epoch, without throwing an exception if the
+     * text is invalid.
+     * <p>
+     * The text is parsed from the index of the position to the end of the text,
+     * using the ISO chronology and the default time zone as per
+     * {@link #parseMillis(String)}. Fields are validated in the same way.
+     * <p>
+     * On success, the index of the position is set to the length of the text
+     * and the error index to -1. On failure, the index is unchanged and the
+     * error index is set to the position where the parse failed. If the text
+     * matches but a field is out of range, or the local datetime is in a
+     * time-zone gap, the error index is the index the parse started from.
+     * The position can be reused for many parses.
+     *
+     * @param text  the text to parse, not null
+     * @param position  the position to parse from, updated with the result, not null
+     * @return parsed value expressed in milliseconds since the epoch, zero if the
+     *  parse failed, as shown by the error index
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the position is null
+     * @since 2.9
+     */
+    public long tryParseMillis(String text, ParsePosition position) {
+        InternalParser parser = requireParser();
+        if (position == null) {
+            throw new IllegalArgumentException("ParsePosition must not be null");
+        }
+        Chronology chrono = selectChronology(iChrono);
+        if (position.getIndex() == 0 && parser instanceof InternalDirectParser) {
+            long millis = parseDirect((InternalDirectParser) parser, text, chrono, chrono.getZone(), iDefaultYear);
+            if (millis != InternalDirectParser.FALLBACK) {
+                position.setIndex(text.length());
+                position.setErrorIndex(-1);
+                return millis;
+            }
+        }
+        DateTimeParserBucket bucket = new DateTimeParserBucket(0, chrono, iLocale, iPivotYear, iDefaultYear);
+        return bucket.doTryParseMillis(parser, text, position);
+    }
+
+    /**
+     * Creates a bucket that can be reused to parse many texts with this formatter.
+     * <p>
+     * The bucket captures the chronology, time-zone, locale, pivot year and
+     * default year of this formatter, using the default time-zone if no zone
+     * has been set. It must only be passed back to the parse methods of this
+     * formatter, and must not be shared between threads. Parsing with a reused
+     * bucket allocates no memory for the common patterns.
+     *
+     * @return a new bucket, not null
+     * @since 2.9
+     */
+    public DateTimeParserBucket createParserBucket() {
+        return new DateTimeParserBucket(0, selectChronology(iChrono), iLocale, iPivotYear, iDefaultYear);
+    }
+
+    /**
+     * Parses a datetime from the given text, returning the number of
+     * milliseconds since the epoch, using a reusable bucket.
+     * <p>
+     * This behaves as {@link #parseMillis(String)}, except that the bucket is
+     * reset and used for the parse instead of creating a new one.
+     *
+     * @param text  the text to parse, not null
+     * @param bucket  the bucket from {@link #createParserBucket()}, not null
+     * @return parsed value expressed in milliseconds since the epoch
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the text to parse is invalid
+     * @since 2.9
+     */
+    public long parseMillis(String text, DateTimeParserBucket bucket) {
+        InternalParser parser = requireParser();
+        if (bucket == null) {
+            throw new IllegalArgumentException("DateTimeParserBucket must not be null");
+        }
+        bucket.reset();
+        if (parser instanceof InternalDirectParser) {
+            long millis = parseDirect((InternalDirectParser) parser, text,
+                    bucket.getChronology(), bucket.getZone(), bucket.getDefaultYear());
+            if (millis != InternalDirectParser.FALLBACK) {
+                return millis;
+            }
+        }
+        return bucket.doParseMillis(parser, text);
+    }
+
+    /**
+     * Parses a datetime from the given text, returning the number of
+     * milliseconds since the epoch, using a reusable bucket and without
+     * throwing an exception if the text is invalid.
+     * <p>
+     * This behaves as {@link #tryParseMillis(String, ParsePosition)}, except
+     * that the bucket is reset and used for the parse instead of creating a
+     * new one.
+     *
+     * @param text  the text to parse, not null
+     * @param position  the position to parse from, updated with the result, not null
+     * @param bucket  the bucket from {@link #createParserBucket()}, not null
+     * @return parsed value expressed in milliseconds since the epoch, zero if the
+     *  parse failed, as shown by the error index
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the position or bucket is null
+     * @since 2.9
+     */
+    public long tryParseMillis(String text, ParsePosition position, DateTimeParserBucket bucket) {
+        InternalParser parser = requireParser();
+        if (position == null) {
+            throw new IllegalArgumentException("ParsePosition must not be null");
+        }
+        if (bucket == null) {
+            throw new IllegalArgumentException("DateTimeParserBucket must not be null");
+        }
+        bucket.reset();
+        if (position.getIndex() == 0 && parser instanceof InternalDirectParser) {
+            long millis = parseDirect((InternalDirectParser) parser, text,
+                    bucket.getChronology(), bucket.getZone(), bucket.getDefaultYear());
+            if (millis != InternalDirectParser.FALLBACK) {
+                position.setIndex(text.length());
+                position.setErrorIndex(-1);
+                return millis;
+            }
+        }
+        return bucket.doTryParseMillis(parser, text, position);
+    }
+
     /**
      * Parses only the local date from the given text, returning a new LocalDate.
      * <p>
@@ -880,6 +1218,12 @@ public class DateTimeFormatter {
         InternalParser parser = requireParser();
         
         Chronology chrono = selectChronology(null).withUTC();  // always use UTC, avoiding DST gaps
+        if (parser instanceof InternalDirectParser) {
+            long localMillis = ((InternalDirectParser) parser).parseLocalMillis(text, chrono, iDefaultYear);
+            if (localMillis != InternalDirectParser.FALLBACK) {
+                return new LocalDateTime(localMillis, chrono);
+            }
+        }
         DateTimeParserBucket bucket = new DateTimeParserBucket(0, chrono, iLocale, iPivotYear, iDefaultYear);
         int newPos = parser.parseInto(bucket, text, 0);
         if (newPos >= 0) {
@@ -921,6 +1265,21 @@ public class DateTimeFormatter {
         InternalParser parser = requireParser();
         
         Chronology chrono = selectChronology(null);
+        if (parser instanceof InternalDirectParser) {
+            InternalDirectParser direct = (InternalDirectParser) parser;
+            long millis = parseDirect(direct, text, chrono, chrono.getZone(), iDefaultYear);
+            if (millis != InternalDirectParser.FALLBACK) {
+                int parsedOffset = (iOffsetParsed ? direct.parseOffset(text) : InternalDirectParser.NO_OFFSET);
+                if (parsedOffset != InternalDirectParser.NO_OFFSET) {
+                    chrono = chrono.withZone(DateTimeZone.forOffsetMillis(parsedOffset));
+                }
+                DateTime dt = new DateTime(millis, chrono);
+                if (iZone != null) {
+                    dt = dt.withZone(iZone);
+                }
+                return dt;
+            }
+        }
         DateTimeParserBucket bucket = new DateTimeParserBucket(0, chrono, iLocale, iPivotYear, iDefaultYear);
         int newPos = parser.parseInto(bucket, text, 0);
         if (newPos >= 0) {
@@ -966,6 +1325,21 @@ public class DateTimeFormatter {
         InternalParser parser = requireParser();
         
         Chronology chrono = selectChronology(null);
+        if (parser instanceof InternalDirectParser) {
+            InternalDirectParser direct = (InternalDirectParser) parser;
+            long millis = parseDirect(direct, text, chrono, chrono.getZone(), iDefaultYear);
+            if (millis != InternalDirectParser.FALLBACK) {
+                int parsedOffset = (iOffsetParsed ? direct.parseOffset(text) : InternalDirectParser.NO_OFFSET);
+                if (parsedOffset != InternalDirectParser.NO_OFFSET) {
+                    chrono = chrono.withZone(DateTimeZone.forOffsetMillis(parsedOffset));
+                }
+                MutableDateTime dt = new MutableDateTime(millis, chrono);
+                if (iZone != null) {
+                    dt.setZone(iZone);
+                }
+                return dt;
+            }
+        }
         DateTimeParserBucket bucket = new DateTimeParserBucket(0, chrono, iLocale, iPivotYear, iDefaultYear);
         int newPos = parser.parseInto(bucket, text, 0);
         if (newPos >= 0) {
@@ -990,6 +1364,36 @@ public class DateTimeFormatter {
         throw new IllegalArgumentException(FormatUtils.createErrorMessage(text, newPos));
     }
 
+    /**
+     * Parses the whole text without a bucket, applying the offset or zone in
+     * the same way as {@link DateTimeParserBucket#computeMillis}.
+     *
+     * @param parser  the parser to use, not null
+     * @param text  the text to parse, not null
+     * @param chrono  the chronology to use, not null
+     * @param zone  the zone to use if the text has no offset, not null
+     * @param defaultYear  the year to use when parsing month-day
+     * @return the millis, or {@link InternalDirectParser#FALLBACK} if the bucket must be used
+     */
+    private static long parseDirect(InternalDirectParser parser, CharSequence text,
+            Chronology chrono, DateTimeZone zone, int defaultYear) {
+        long localMillis = parser.parseLocalMillis(text, chrono, defaultYear);
+        if (localMillis == InternalDirectParser.FALLBACK) {
+            return InternalDirectParser.FALLBACK;
+        }
+        int offset = parser.parseOffset(text);
+        if (offset != InternalDirectParser.NO_OFFSET) {
+            return localMillis - offset;
+        }
+        offset = zone.getOffsetFromLocal(localMillis);
+        long millis = localMillis - offset;
+        if (offset != zone.getOffset(millis)) {
+            // the bucket reports the gap
+            return InternalDirectParser.FALLBACK;
+        }
+        return millis;
+    }
+
     /**
      * Checks whether parsing is supported.
      * 
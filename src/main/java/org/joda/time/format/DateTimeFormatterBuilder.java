@@ -17,10 +17,10 @@ package org.joda.time.format;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.joda.time.Chronology;
@@ -32,8 +32,10 @@ import org.joda.time.DateTimeZone;
 import org.joda.time.MutableDateTime;
 import org.joda.time.MutableDateTime.Property;
 import org.joda.time.ReadablePartial;
+import org.joda.time.chrono.ISOChronology;
 import org.joda.time.field.MillisDurationField;
 import org.joda.time.field.PreciseDateTimeField;
+import org.joda.time.tz.Provider;
 
 /**
  * Factory that creates complex instances of DateTimeFormatter via method calls.
@@ -1652,8 +1654,8 @@ public class DateTimeFormatterBuilder {
     static class TextField
             implements InternalPrinter, InternalParser {
 
-        private static Map<Locale, Map<DateTimeFieldType, Object[]>> cParseCache =
-                    new ConcurrentHashMap<Locale, Map<DateTimeFieldType, Object[]>>();
+        private static Map<Locale, Map<DateTimeFieldType, TextTrie<Object>>> cParseCache =
+                    new ConcurrentHashMap<Locale, Map<DateTimeFieldType, TextTrie<Object>>>();
         private final DateTimeFieldType iFieldType;
         private final boolean iShort;
 
@@ -1711,21 +1713,17 @@ public class DateTimeFormatterBuilder {
             return estimatePrintedLength();
         }
 
-        @SuppressWarnings("unchecked")
         public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
             Locale locale = bucket.getLocale();
             // handle languages which might have non ASCII A-Z or punctuation
             // bug 1788282
-            Map<String, Boolean> validValues = null;
-            int maxLength = 0;
-            Map<DateTimeFieldType, Object[]> innerMap = cParseCache.get(locale);
+            Map<DateTimeFieldType, TextTrie<Object>> innerMap = cParseCache.get(locale);
             if (innerMap == null) {
-                innerMap = new ConcurrentHashMap<DateTimeFieldType, Object[]>();
+                innerMap = new ConcurrentHashMap<DateTimeFieldType, TextTrie<Object>>();
                 cParseCache.put(locale, innerMap);
             }
-            Object[] array = innerMap.get(iFieldType);
-            if (array == null) {
-                validValues = new ConcurrentHashMap<String, Boolean>(32);  // use map as no concurrent Set
+            TextTrie<Object> validValues = innerMap.get(iFieldType);
+            if (validValues == null) {
                 MutableDateTime dt = new MutableDateTime(0L, DateTimeZone.UTC);
                 Property property = dt.property(iFieldType);
                 int min = property.getMinimumValueOverall();
@@ -1733,43 +1731,161 @@ public class DateTimeFormatterBuilder {
                 if (max - min > 32) {  // protect against invalid fields
                     return ~position;
                 }
-                maxLength = property.getMaximumTextLength(locale);
+                int maxLength = property.getMaximumTextLength(locale);
+                if ("en".equals(locale.getLanguage()) && iFieldType == DateTimeFieldType.era()) {
+                    maxLength = 3;
+                }
+                validValues = new TextTrie<Object>(maxLength);
                 for (int i = min; i <= max; i++) {
                     property.set(i);
-                    validValues.put(property.getAsShortText(locale), Boolean.TRUE);
-                    validValues.put(property.getAsShortText(locale).toLowerCase(locale), Boolean.TRUE);
-                    validValues.put(property.getAsShortText(locale).toUpperCase(locale), Boolean.TRUE);
-                    validValues.put(property.getAsText(locale), Boolean.TRUE);
-                    validValues.put(property.getAsText(locale).toLowerCase(locale), Boolean.TRUE);
-                    validValues.put(property.getAsText(locale).toUpperCase(locale), Boolean.TRUE);
+                    validValues.add(property.getAsShortText(locale));
+                    validValues.add(property.getAsShortText(locale).toLowerCase(locale));
+                    validValues.add(property.getAsShortText(locale).toUpperCase(locale));
+                    validValues.add(property.getAsText(locale));
+                    validValues.add(property.getAsText(locale).toLowerCase(locale));
+                    validValues.add(property.getAsText(locale).toUpperCase(locale));
                 }
                 if ("en".equals(locale.getLanguage()) && iFieldType == DateTimeFieldType.era()) {
                     // hack to support for parsing "BCE" and "CE" if the language is English
-                    validValues.put("BCE", Boolean.TRUE);
-                    validValues.put("bce", Boolean.TRUE);
-                    validValues.put("CE", Boolean.TRUE);
-                    validValues.put("ce", Boolean.TRUE);
-                    maxLength = 3;
-                }
-                array = new Object[] {validValues, Integer.valueOf(maxLength)};
-                innerMap.put(iFieldType, array);
-            } else {
-                validValues = (Map<String, Boolean>) array[0];
-                maxLength = ((Integer) array[1]).intValue();
-            }
-            // match the longest string first using our knowledge of the max length
-            int limit = Math.min(text.length(), position + maxLength);
-            for (int i = limit; i > position; i--) {
-                String match = text.subSequence(position, i).toString();
-                if (validValues.containsKey(match)) {
-                    bucket.saveField(iFieldType, match, locale);
-                    return i;
+                    validValues.add("BCE");
+                    validValues.add("bce");
+                    validValues.add("CE");
+                    validValues.add("ce");
                 }
+                innerMap.put(iFieldType, validValues);
+            }
+            // match the longest string using our knowledge of the max length
+            String match = validValues.match(text, position);
+            if (match != null) {
+                bucket.saveField(iFieldType, match, locale);
+                return position + match.length();
             }
             return ~position;
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Trie of text values, used to find the longest value at a position in a
+     * single scan without creating substrings.
+     * <p>
+     * Each value may have an associated object. A trie is filled before being
+     * published, and is then read only.
+     */
+    static class TextTrie<T> {
+
+        private static final char[] NO_KEYS = new char[0];
+
+        private final int iMaxLength;
+        private char[] iKeys = NO_KEYS;
+        private TextTrie<T>[] iChildren;
+        /** The value ending at this node, null if none. */
+        private String iText;
+        /** The object associated with the value. */
+        private T iObject;
+
+        TextTrie(int maxLength) {
+            super();
+            iMaxLength = maxLength;
+        }
+
+        /**
+         * Adds a value with no associated object.
+         *
+         * @param text  the text value, not null
+         */
+        void add(String text) {
+            add(text, null);
+        }
+
+        /**
+         * Adds a value, unless it has already been added.
+         *
+         * @param text  the text value, not null
+         * @param object  the associated object
+         */
+        @SuppressWarnings("unchecked")
+        void add(String text, T object) {
+            TextTrie<T> node = this;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                TextTrie<T> child = node.child(c);
+                if (child == null) {
+                    int size = node.iKeys.length;
+                    char[] keys = new char[size + 1];
+                    TextTrie<T>[] children = (TextTrie<T>[]) new TextTrie<?>[size + 1];
+                    if (size > 0) {
+                        System.arraycopy(node.iKeys, 0, keys, 0, size);
+                        System.arraycopy(node.iChildren, 0, children, 0, size);
+                    }
+                    keys[size] = c;
+                    children[size] = child = new TextTrie<T>(0);
+                    node.iKeys = keys;
+                    node.iChildren = children;
+                }
+                node = child;
+            }
+            if (node.iText == null) {
+                node.iText = text;
+                node.iObject = object;
+            }
+        }
+
+        /**
+         * Finds the longest value at the position, no longer than the maximum
+         * length of the trie.
+         *
+         * @param text  the text to match, not null
+         * @param position  the position to match from
+         * @return the matched value, null if none
+         */
+        String match(CharSequence text, int position) {
+            TextTrie<T> node = matchNode(text, position);
+            return (node != null ? node.iText : null);
+        }
+
+        /**
+         * Finds the node of the longest value at the position.
+         *
+         * @param text  the text to match, not null
+         * @param position  the position to match from
+         * @return the node of the matched value, null if none
+         */
+        TextTrie<T> matchNode(CharSequence text, int position) {
+            int limit = Math.min(text.length(), position + iMaxLength);
+            TextTrie<T> match = null;
+            TextTrie<T> node = this;
+            for (int i = position; i < limit; i++) {
+                node = node.child(text.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                if (node.iText != null) {
+                    match = node;
+                }
+            }
+            return match;
+        }
+
+        String getText() {
+            return iText;
+        }
+
+        T getObject() {
+            return iObject;
+        }
+
+        private TextTrie<T> child(char c) {
+            char[] keys = iKeys;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return iChildren[i];
+                }
+            }
+            return null;
+        }
+    }
+
     //-----------------------------------------------------------------------
     static class Fraction
             implements InternalPrinter, InternalParser {
@@ -1827,18 +1943,16 @@ public class DateTimeFormatterBuilder {
                 return;
             }
 
-            String str;
-            long[] fractionData = getFractionData(fraction, field);
-            long scaled = fractionData[0];
-            int maxDigits = (int) fractionData[1];
-            
-            if ((scaled & 0x7fffffff) == scaled) {
-                str = Integer.toString((int) scaled);
-            } else {
-                str = Long.toString(scaled);
-            }
+            long rangeMillis = field.getDurationField().getUnitMillis();
+            int maxDigits = getFractionDigits(rangeMillis);
+            long scaled = fraction * getFractionScalar(maxDigits) / rangeMillis;
 
-            int length = str.length();
+            // Work with the digits arithmetically rather than via a string,
+            // so that printing creates no objects.
+            int length = 1;
+            for (long remaining = scaled; remaining >= 10; remaining /= 10) {
+                length++;
+            }
             int digits = maxDigits;
             while (length < digits) {
                 appendable.append('0');
@@ -1846,60 +1960,56 @@ public class DateTimeFormatterBuilder {
                 digits--;
             }
 
-            if (minDigits < digits) {
-                // Chop off as many trailing zero digits as necessary.
-                while (minDigits < digits) {
-                    if (length <= 1 || str.charAt(length - 1) != '0') {
-                        break;
-                    }
-                    digits--;
-                    length--;
-                }
-                if (length < str.length()) {
-                    for (int i=0; i<length; i++) {
-                        appendable.append(str.charAt(i));
-                    }
-                    return;
-                }
+            // Chop off as many trailing zero digits as necessary.
+            while (minDigits < digits && length > 1 && scaled % 10 == 0) {
+                scaled /= 10;
+                digits--;
+                length--;
             }
 
-            appendable.append(str);
+            FormatUtils.appendUnpaddedInteger(appendable, scaled);
         }
         
-        private long[] getFractionData(long fraction, DateTimeField field) {
-            long rangeMillis = field.getDurationField().getUnitMillis();
-            long scalar;
+        /**
+         * Gets the number of digits that can be printed without overflow.
+         *
+         * @param rangeMillis  the unit millis of the field
+         * @return the maximum number of digits
+         */
+        private int getFractionDigits(long rangeMillis) {
             int maxDigits = iMaxDigits;
             while (true) {
-                switch (maxDigits) {
-                default: scalar = 1L; break;
-                case 1:  scalar = 10L; break;
-                case 2:  scalar = 100L; break;
-                case 3:  scalar = 1000L; break;
-                case 4:  scalar = 10000L; break;
-                case 5:  scalar = 100000L; break;
-                case 6:  scalar = 1000000L; break;
-                case 7:  scalar = 10000000L; break;
-                case 8:  scalar = 100000000L; break;
-                case 9:  scalar = 1000000000L; break;
-                case 10: scalar = 10000000000L; break;
-                case 11: scalar = 100000000000L; break;
-                case 12: scalar = 1000000000000L; break;
-                case 13: scalar = 10000000000000L; break;
-                case 14: scalar = 100000000000000L; break;
-                case 15: scalar = 1000000000000000L; break;
-                case 16: scalar = 10000000000000000L; break;
-                case 17: scalar = 100000000000000000L; break;
-                case 18: scalar = 1000000000000000000L; break;
-                }
+                long scalar = getFractionScalar(maxDigits);
                 if (((rangeMillis * scalar) / scalar) == rangeMillis) {
-                    break;
+                    return maxDigits;
                 }
                 // Overflowed: scale down.
                 maxDigits--;
             }
-            
-            return new long[] {fraction * scalar / rangeMillis, maxDigits};
+        }
+
+        private static long getFractionScalar(int maxDigits) {
+            switch (maxDigits) {
+            default: return 1L;
+            case 1:  return 10L;
+            case 2:  return 100L;
+            case 3:  return 1000L;
+            case 4:  return 10000L;
+            case 5:  return 100000L;
+            case 6:  return 1000000L;
+            case 7:  return 10000000L;
+            case 8:  return 100000000L;
+            case 9:  return 1000000000L;
+            case 10: return 10000000000L;
+            case 11: return 100000000000L;
+            case 12: return 1000000000000L;
+            case 13: return 10000000000000L;
+            case 14: return 100000000000000L;
+            case 15: return 1000000000000000L;
+            case 16: return 10000000000000000L;
+            case 17: return 100000000000000000L;
+            case 18: return 1000000000000000000L;
+            }
         }
 
         public int estimateParsedLength() {
@@ -2066,11 +2176,11 @@ public class DateTimeFormatterBuilder {
                             break zeroOffset;
                         }
                     }
-                    bucket.setOffset(Integer.valueOf(0));
+                    bucket.setOffsetMillis(0);
                     return position;
                 }
                 if (csStartsWithIgnoreCase(text, position, iZeroOffsetParseText)) {
-                    bucket.setOffset(Integer.valueOf(0));
+                    bucket.setOffsetMillis(0);
                     return position + iZeroOffsetParseText.length();
                 }
             }
@@ -2220,7 +2330,7 @@ public class DateTimeFormatterBuilder {
                 }
             }
 
-            bucket.setOffset(Integer.valueOf(negative ? -offset : offset));
+            bucket.setOffsetMillis(negative ? -offset : offset);
             return position;
         }
 
@@ -2313,18 +2423,21 @@ public class DateTimeFormatterBuilder {
             implements InternalPrinter, InternalParser {
 
         INSTANCE;
-        private static final List<String> ALL_IDS;
-        static {
-            ALL_IDS = new ArrayList<String>(DateTimeZone.getAvailableIDs());
-            Collections.sort(ALL_IDS);
-        }
         static final int MAX_LENGTH;
+        /** The trie of all ids, each with a handle to its zone. */
+        private static final TextTrie<ZoneHandle> ID_TRIE;
         static {
             int max = 0;
-            for (String id : ALL_IDS) {
+            Set<String> ids = DateTimeZone.getAvailableIDs();
+            for (String id : ids) {
                 max = Math.max(max, id.length());
             }
             MAX_LENGTH = max;
+            TextTrie<ZoneHandle> trie = new TextTrie<ZoneHandle>(max);
+            for (String id : ids) {
+                trie.add(id, new ZoneHandle(id));
+            }
+            ID_TRIE = trie;
         }
 
         public int estimatePrintedLength() {
@@ -2346,42 +2459,35 @@ public class DateTimeFormatterBuilder {
         }
 
         public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
-            String best = null;
-            int pos = prefixedStartPosition(text, position);
-            for (int i = pos; i < ALL_IDS.size(); i++) {
-                String id = ALL_IDS.get(i);
-                if (csStartsWith(text, position, id)) {
-                    if (best == null || id.length() > best.length()) {
-                        best = id;
-                    }
-                } else {
-                    break;
-                }
-            }
-            if (best != null) {
-                bucket.setZone(DateTimeZone.forID(best));
-                return position + best.length();
+            TextTrie<ZoneHandle> node = ID_TRIE.matchNode(text, position);
+            if (node != null) {
+                bucket.setZone(node.getObject().getZone());
+                return position + node.getText().length();
             }
             return ~position;
         }
 
-        private static int prefixedStartPosition(CharSequence text, int position) {
-            int lo = 0;
-            int hi = ALL_IDS.size() - 1;
+        /**
+         * Lazily resolved zone of an id, resolved again if the provider changes.
+         */
+        private static final class ZoneHandle {
+            private final String iId;
+            /** The provider and the zone it resolved, null until first resolved. */
+            private volatile Object[] iResolved;
 
-            while (lo <= hi) {
-                int mid = (lo + hi) >>> 1;
-                String value = ALL_IDS.get(mid);
-                int compare = csCompare(text, position, value);
-                if (compare > 0) {
-                    hi = mid - 1;
-                } else if (compare < 0) {
-                    lo = mid + 1;
-                } else {
-                    return mid;
+            ZoneHandle(String id) {
+                iId = id;
+            }
+
+            DateTimeZone getZone() {
+                Provider provider = DateTimeZone.getProvider();
+                Object[] resolved = iResolved;
+                if (resolved == null || resolved[0] != provider) {
+                    resolved = new Object[] {provider, DateTimeZone.forID(iId)};
+                    iResolved = resolved;
                 }
+                return (DateTimeZone) resolved[1];
             }
-            return lo;
         }
     }
 
@@ -2616,15 +2722,396 @@ public class DateTimeFormatterBuilder {
         }
     }
 
-    static int csCompare(CharSequence text, int position, String search) {
-        int compareLen = Math.min(text.length() - position, search.length());
-        for (int i = 0; i < compareLen; i++) {
-            int result = search.charAt(i) - text.charAt(position + i);
-            if (result != 0) {
-                return result;
+    //-----------------------------------------------------------------------
+    /**
+     * A fused printer and parser created by {@link DateTimeFormatter#compile()}.
+     * <p>
+     * The elements of a composite are flattened into parallel arrays that are
+     * walked by a single loop, so literals and numbers are handled inline
+     * rather than through an interface call per element. Number fields are
+     * resolved against the chronology of the formatter in advance. In the ISO
+     * chronology, the standard fields are computed arithmetically in one step.
+     * Other elements, such as text and time zones, are called as before.
+     * <p>
+     * Where every element is a literal, number or fraction of second, parsing
+     * is also fused, computing the millis without a bucket.
+     */
+    static class Compiled
+            implements InternalPrinter, InternalParser, InternalDirectParser {
+
+        private static final int CHAR = 0;
+        private static final int STRING = 1;
+        private static final int PADDED = 2;
+        private static final int UNPADDED = 3;
+        private static final int FIXED = 4;
+        private static final int FRACTION = 5;
+        private static final int OTHER = 6;
+
+        /** The standard fields that are computed directly, indexed by slot. */
+        private static final DateTimeFieldType[] SLOT_TYPES = {
+            DateTimeFieldType.year(),
+            DateTimeFieldType.monthOfYear(),
+            DateTimeFieldType.dayOfMonth(),
+            DateTimeFieldType.hourOfDay(),
+            DateTimeFieldType.minuteOfHour(),
+            DateTimeFieldType.secondOfMinute(),
+            DateTimeFieldType.millisOfSecond(),
+        };
+
+        private final InternalPrinter iPrinter;
+        private final InternalParser iParser;
+        /** The UTC chronology that the fields are resolved against. */
+        private final Chronology iChrono;
+
+        private final InternalPrinter[] iPrinters;
+        private final int[] iPrintKinds;
+        private final char[] iPrintChars;
+        private final String[] iPrintStrings;
+        private final DateTimeFieldType[] iPrintTypes;
+        private final DateTimeField[] iPrintFields;
+        private final int[] iPrintSlots;
+        private final int[] iPrintDigits;
+        /** Whether any element prints the year, month or day from a slot. */
+        private final boolean iPrintsDate;
+
+        /** The parse kinds, null if parsing is not fused. */
+        private final int[] iParseKinds;
+        private final char[] iParseChars;
+        private final String[] iParseStrings;
+        private final int[] iParseSlots;
+        private final int[] iParseDigits;
+        private final boolean[] iParseSigned;
+
+        /**
+         * Compiles the printer and parser of a formatter.
+         *
+         * @param printer  the printer, may be null
+         * @param parser  the parser, may be null
+         * @param chrono  the chronology to resolve fields against, null means ISO
+         * @return the compiled form, null if there is nothing to fuse
+         */
+        static Compiled compile(InternalPrinter printer, InternalParser parser, Chronology chrono) {
+            if (!(printer instanceof Composite) && !(parser instanceof Composite)) {
+                return null;
+            }
+            chrono = DateTimeUtils.getChronology(chrono).withUTC();
+            return new Compiled(printer, parser, chrono);
+        }
+
+        private Compiled(InternalPrinter printer, InternalParser parser, Chronology chrono) {
+            super();
+            iPrinter = printer;
+            iParser = parser;
+            iChrono = chrono;
+
+            InternalPrinter[] printers = (printer == null ? new InternalPrinter[0] :
+                printer instanceof Composite ? ((Composite) printer).iPrinters : new InternalPrinter[] {printer});
+            int size = printers.length;
+            iPrinters = printers;
+            iPrintKinds = new int[size];
+            iPrintChars = new char[size];
+            iPrintStrings = new String[size];
+            iPrintTypes = new DateTimeFieldType[size];
+            iPrintFields = new DateTimeField[size];
+            iPrintSlots = new int[size];
+            iPrintDigits = new int[size];
+            boolean printsDate = false;
+            for (int i = 0; i < size; i++) {
+                InternalPrinter element = printers[i];
+                iPrintKinds[i] = OTHER;
+                iPrintSlots[i] = -1;
+                if (element instanceof CharacterLiteral) {
+                    iPrintKinds[i] = CHAR;
+                    iPrintChars[i] = ((CharacterLiteral) element).iValue;
+                } else if (element instanceof StringLiteral) {
+                    iPrintKinds[i] = STRING;
+                    iPrintStrings[i] = ((StringLiteral) element).iValue;
+                } else if (element.getClass() == PaddedNumber.class || element.getClass() == FixedNumber.class
+                        || element.getClass() == UnpaddedNumber.class) {
+                    NumberFormatter number = (NumberFormatter) element;
+                    if (number instanceof PaddedNumber) {
+                        iPrintKinds[i] = PADDED;
+                        iPrintDigits[i] = ((PaddedNumber) number).iMinPrintedDigits;
+                    } else {
+                        iPrintKinds[i] = UNPADDED;
+                    }
+                    iPrintTypes[i] = number.iFieldType;
+                    iPrintFields[i] = number.iFieldType.getField(chrono);
+                    iPrintSlots[i] = slot(number.iFieldType);
+                    printsDate |= (iPrintSlots[i] >= 0 && iPrintSlots[i] <= 2);
+                }
+            }
+            iPrintsDate = printsDate;
+
+            InternalParser[] parsers = (parser == null ? new InternalParser[0] :
+                parser instanceof Composite ? ((Composite) parser).iParsers : new InternalParser[] {parser});
+            size = parsers.length;
+            int[] kinds = new int[size];
+            iParseChars = new char[size];
+            iParseStrings = new String[size];
+            iParseSlots = new int[size];
+            iParseDigits = new int[size];
+            iParseSigned = new boolean[size];
+            int usedSlots = 0;
+            for (int i = 0; i < size && kinds != null; i++) {
+                InternalParser element = parsers[i];
+                int slot = -1;
+                if (element instanceof CharacterLiteral) {
+                    kinds[i] = CHAR;
+                    iParseChars[i] = ((CharacterLiteral) element).iValue;
+                } else if (element instanceof StringLiteral) {
+                    kinds[i] = STRING;
+                    iParseStrings[i] = ((StringLiteral) element).iValue;
+                } else if (element.getClass() == PaddedNumber.class || element.getClass() == FixedNumber.class
+                        || element.getClass() == UnpaddedNumber.class) {
+                    NumberFormatter number = (NumberFormatter) element;
+                    kinds[i] = (number instanceof FixedNumber ? FIXED : PADDED);
+                    slot = slot(number.iFieldType);
+                    iParseDigits[i] = number.iMaxParsedDigits;
+                    iParseSigned[i] = number.iSigned;
+                } else if (element instanceof Fraction
+                        && ((Fraction) element).iFieldType == DateTimeFieldType.secondOfDay()) {
+                    kinds[i] = FRACTION;
+                    slot = 6;
+                    iParseDigits[i] = ((Fraction) element).iMaxDigits;
+                } else {
+                    kinds = null;
+                    break;
+                }
+                if (kinds[i] >= PADDED) {
+                    if (slot < 0 || (usedSlots & (1 << slot)) != 0) {
+                        // each standard field may be parsed only once
+                        kinds = null;
+                        break;
+                    }
+                    usedSlots |= 1 << slot;
+                    iParseSlots[i] = slot;
+                }
+            }
+            iParseKinds = (size == 0 ? null : kinds);
+        }
+
+        private static int slot(DateTimeFieldType type) {
+            for (int i = 0; i < SLOT_TYPES.length; i++) {
+                if (SLOT_TYPES[i] == type) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        //-----------------------------------------------------------------------
+        public int estimatePrintedLength() {
+            return iPrinter.estimatePrintedLength();
+        }
+
+        public void printTo(
+                Appendable appendable, long instant, Chronology chrono,
+                int displayOffset, DateTimeZone displayZone, Locale locale) throws IOException {
+            if (locale == null) {
+                // Guard against default locale changing concurrently.
+                locale = Locale.getDefault();
+            }
+
+            boolean direct = (chrono == ISOChronology.getInstanceUTC()
+                && instant >= FastISOFormat.MIN_PRINT_MILLIS && instant < FastISOFormat.MAX_PRINT_MILLIS);
+            int date = (direct && iPrintsDate ? FastISOFormat.getPackedDate(instant) : 0);
+            int millisOfDay = (direct ? FastISOFormat.getMillisOfDay(instant) : 0);
+            boolean resolved = (chrono == iChrono);
+
+            int[] kinds = iPrintKinds;
+            int len = kinds.length;
+            for (int i = 0; i < len; i++) {
+                int kind = kinds[i];
+                if (kind == CHAR) {
+                    appendable.append(iPrintChars[i]);
+                } else if (kind == STRING) {
+                    appendable.append(iPrintStrings[i]);
+                } else if (kind == OTHER) {
+                    iPrinters[i].printTo(appendable, instant, chrono, displayOffset, displayZone, locale);
+                } else {
+                    int value;
+                    int slot = iPrintSlots[i];
+                    if (direct && slot >= 0) {
+                        switch (slot) {
+                            case 0: value = date >>> 9; break;
+                            case 1: value = (date >>> 5) & 0xF; break;
+                            case 2: value = date & 0x1F; break;
+                            case 3: value = millisOfDay / DateTimeConstants.MILLIS_PER_HOUR; break;
+                            case 4: value = (millisOfDay / DateTimeConstants.MILLIS_PER_MINUTE) % 60; break;
+                            case 5: value = (millisOfDay / DateTimeConstants.MILLIS_PER_SECOND) % 60; break;
+                            default: value = millisOfDay % DateTimeConstants.MILLIS_PER_SECOND; break;
+                        }
+                    } else {
+                        try {
+                            DateTimeField field = (resolved ? iPrintFields[i] : iPrintTypes[i].getField(chrono));
+                            value = field.get(instant);
+                        } catch (RuntimeException e) {
+                            if (kind == PADDED) {
+                                appendUnknownString(appendable, iPrintDigits[i]);
+                            } else {
+                                appendable.append('\ufffd');
+                            }
+                            continue;
+                        }
+                    }
+                    if (kind == PADDED) {
+                        FormatUtils.appendPaddedInteger(appendable, value, iPrintDigits[i]);
+                    } else {
+                        FormatUtils.appendUnpaddedInteger(appendable, value);
+                    }
+                }
+            }
+        }
+
+        public void printTo(Appendable appendable, ReadablePartial partial, Locale locale) throws IOException {
+            iPrinter.printTo(appendable, partial, locale);
+        }
+
+        //-----------------------------------------------------------------------
+        public int estimateParsedLength() {
+            return iParser.estimateParsedLength();
+        }
+
+        public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
+            return iParser.parseInto(bucket, text, position);
+        }
+
+        public long parseLocalMillis(CharSequence text, Chronology chrono, int defaultYear) {
+            int[] kinds = iParseKinds;
+            if (kinds == null || chrono.withUTC() != ISOChronology.getInstanceUTC()) {
+                return FALLBACK;
+            }
+            int year = 1970, month = 1, day = 1, hour = 0, minute = 0, second = 0, millis = 0;
+            int parsed = 0;
+            int textLength = text.length();
+            int position = 0;
+            for (int i = 0; i < kinds.length; i++) {
+                int kind = kinds[i];
+                if (kind == CHAR) {
+                    if (position >= textLength || !charMatches(text.charAt(position), iParseChars[i])) {
+                        return FALLBACK;
+                    }
+                    position++;
+                    continue;
+                }
+                if (kind == STRING) {
+                    if (!csStartsWithIgnoreCase(text, position, iParseStrings[i])) {
+                        return FALLBACK;
+                    }
+                    position += iParseStrings[i].length();
+                    continue;
+                }
+
+                int limit = Math.min(iParseDigits[i], textLength - position);
+                int value = 0;
+                if (kind == FRACTION) {
+                    // as Fraction, with the millis in a second
+                    long n = DateTimeConstants.MILLIS_PER_SECOND * 10L;
+                    long fraction = 0;
+                    int length = 0;
+                    while (length < limit) {
+                        char c = text.charAt(position + length);
+                        if (c < '0' || c > '9') {
+                            break;
+                        }
+                        length++;
+                        n /= 10;
+                        fraction += (c - '0') * n;
+                    }
+                    if (length == 0) {
+                        return FALLBACK;
+                    }
+                    value = (int) (fraction / 10);
+                    position += length;
+                } else {
+                    // as NumberFormatter and FixedNumber
+                    int start = position;
+                    boolean negative = false;
+                    int length = 0;
+                    while (length < limit) {
+                        char c = text.charAt(position + length);
+                        if (length == 0 && (c == '-' || c == '+') && iParseSigned[i]) {
+                            negative = c == '-';
+                            if (length + 1 >= limit
+                                    || (c = text.charAt(position + length + 1)) < '0' || c > '9') {
+                                break;
+                            }
+                            if (negative) {
+                                length++;
+                            } else {
+                                position++;
+                            }
+                            limit = Math.min(limit + 1, textLength - position);
+                            continue;
+                        }
+                        if (c < '0' || c > '9') {
+                            break;
+                        }
+                        length++;
+                    }
+                    if (length == 0 || length >= 9) {
+                        return FALLBACK;
+                    }
+                    for (int j = (negative ? position + 1 : position); j < position + length; j++) {
+                        value = value * 10 + text.charAt(j) - '0';
+                    }
+                    position += length;
+                    if (negative) {
+                        value = -value;
+                    }
+                    if (kind == FIXED) {
+                        int expected = start + iParseDigits[i];
+                        char c = text.charAt(start);
+                        if (iParseSigned[i] && (c == '-' || c == '+')) {
+                            expected++;
+                        }
+                        if (position != expected) {
+                            return FALLBACK;
+                        }
+                    }
+                }
+                int slot = iParseSlots[i];
+                switch (slot) {
+                    case 0: year = value; break;
+                    case 1: month = value; break;
+                    case 2: day = value; break;
+                    case 3: hour = value; break;
+                    case 4: minute = value; break;
+                    case 5: second = value; break;
+                    default: millis = value; break;
+                }
+                parsed |= 1 << slot;
+            }
+            if (position != textLength) {
+                return FALLBACK;
+            }
+
+            // as DateTimeParserBucket, the year defaults when month or day is the largest field
+            if ((parsed & 1) == 0 && (parsed & 6) != 0) {
+                year = defaultYear;
+            }
+            try {
+                return ISOChronology.getInstanceUTC().getDateTimeMillis(
+                    year, month, day, hour, minute, second, millis);
+            } catch (IllegalArgumentException ex) {
+                // the bucket reports the error
+                return FALLBACK;
+            }
+        }
+
+        public int parseOffset(CharSequence text) {
+            return NO_OFFSET;
+        }
+
+        private static boolean charMatches(char a, char b) {
+            if (a == b) {
+                return true;
             }
+            a = Character.toUpperCase(a);
+            b = Character.toUpperCase(b);
+            return a == b || Character.toLowerCase(a) == Character.toLowerCase(b);
         }
-        return 0;
     }
 
     static boolean csStartsWith(CharSequence text, int position, String search) {
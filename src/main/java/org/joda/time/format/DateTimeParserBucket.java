@@ -15,7 +15,7 @@
  */
 package org.joda.time.format;
 
-import java.util.Arrays;
+import java.text.ParsePosition;
 import java.util.Locale;
 
 import org.joda.time.Chronology;
@@ -47,6 +47,11 @@ import org.joda.time.IllegalInstantException;
  * dayOfMonth, dayOfYear. When computeMillis is called, the fields are set in
  * this order: monthOfYear, dayOfYear, dayOfMonth, dayOfWeek.
  * <p>
+ * A bucket can be reset and reused for many parses, see
+ * {@link DateTimeFormatter#createParserBucket()}. The saved fields are held
+ * in arrays that are reused, so a reused bucket allocates nothing once it has
+ * grown to fit the text being parsed.
+ * <p>
  * DateTimeParserBucket is mutable and not thread-safe.
  *
  * @author Brian S O'Neill
@@ -55,6 +60,9 @@ import org.joda.time.IllegalInstantException;
  */
 public class DateTimeParserBucket {
 
+    /** The initial size of the arrays. */
+    private static final int INITIAL_SIZE = 8;
+
     /** The chronology to use for parsing. */
     private final Chronology iChrono;
     /** The initial millis. */
@@ -70,15 +78,35 @@ public class DateTimeParserBucket {
 
     /** The parsed zone, initialised to formatter zone. */
     private DateTimeZone iZone;
-    /** The parsed offset. */
-    private Integer iOffset;
+    /** The parsed offset, valid if iOffsetParsed is true. */
+    private int iOffset;
+    /** Whether an offset has been parsed. */
+    private boolean iOffsetParsed;
     /** Used for parsing two-digit years. */
     private Integer iPivotYear;
 
-    private SavedField[] iSavedFields;
+    // The saved fields form a stack of entries, each linked to the entry
+    // saved before it. Entries are only added, never changed, until reset,
+    // so restoring a saved state only has to restore the top of the stack.
+    private DateTimeField[] iEntryFields = new DateTimeField[INITIAL_SIZE];
+    private int[] iEntryValues = new int[INITIAL_SIZE];
+    private String[] iEntryTexts = new String[INITIAL_SIZE];
+    private Locale[] iEntryLocales = new Locale[INITIAL_SIZE];
+    private int[] iEntryParents = new int[INITIAL_SIZE];
+    /** The number of entries in use. */
+    private int iEntryCount;
+    /** The entry of the last saved field, -1 if none. */
+    private int iTop = -1;
+    /** The number of saved fields, the depth of the stack. */
     private int iSavedFieldsCount;
-    private boolean iSavedFieldsShared;
-    
+    /** The entries of the saved fields in the order they are set. */
+    private int[] iSetOrder = new int[INITIAL_SIZE];
+
+    /** The saved states, reused once the bucket is reset. */
+    private SavedState[] iStates = new SavedState[INITIAL_SIZE];
+    /** The number of saved states in use. */
+    private int iStatesCount;
+    /** The saved state matching the current state, null if changed. */
     private Object iSavedState;
 
     /**
@@ -134,7 +162,6 @@ public class DateTimeParserBucket {
         // reset
         iZone = iDefaultZone;
         iPivotYear = iDefaultPivotYear;
-        iSavedFields = new SavedField[8];
     }
 
     //-----------------------------------------------------------------------
@@ -143,15 +170,18 @@ public class DateTimeParserBucket {
      * <p>
      * This resets the state of the bucket, allowing a single bucket to be re-used
      * for many parses. The bucket must not be shared between threads.
+     * States saved before the reset must not be restored after it.
      * 
      * @since 2.4
      */
     public void reset() {
         iZone = iDefaultZone;
-        iOffset = null;
+        iOffsetParsed = false;
         iPivotYear = iDefaultPivotYear;
+        iEntryCount = 0;
+        iTop = -1;
         iSavedFieldsCount = 0;
-        iSavedFieldsShared = false;
+        iStatesCount = 0;
         iSavedState = null;
     }
 
@@ -228,14 +258,14 @@ public class DateTimeParserBucket {
      */
     @Deprecated
     public int getOffset() {
-        return (iOffset != null ? iOffset : 0);
+        return (iOffsetParsed ? iOffset : 0);
     }
 
     /**
      * Returns the time zone offset in milliseconds used by computeMillis.
      */
     public Integer getOffsetInteger() {
-        return iOffset;
+        return (iOffsetParsed ? Integer.valueOf(iOffset) : null);
     }
 
     /**
@@ -244,8 +274,7 @@ public class DateTimeParserBucket {
      */
     @Deprecated
     public void setOffset(int offset) {
-        iSavedState = null;
-        iOffset = offset;
+        setOffsetMillis(offset);
     }
 
     /**
@@ -253,9 +282,30 @@ public class DateTimeParserBucket {
      */
     public void setOffset(Integer offset) {
         iSavedState = null;
+        iOffsetParsed = (offset != null);
+        iOffset = (offset != null ? offset.intValue() : 0);
+    }
+
+    /**
+     * Sets the parsed time zone offset without boxing.
+     *
+     * @param offset  the offset in milliseconds
+     */
+    void setOffsetMillis(int offset) {
+        iSavedState = null;
+        iOffsetParsed = true;
         iOffset = offset;
     }
 
+    /**
+     * Gets the default year used when the largest parsed field is months or days.
+     *
+     * @return the default year
+     */
+    int getDefaultYear() {
+        return iDefaultYear;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Returns the default year used when information is incomplete.
@@ -296,7 +346,7 @@ public class DateTimeParserBucket {
      * @param value  the value
      */
     public void saveField(DateTimeField field, int value) {
-        obtainSaveField().init(field, value);
+        saveEntry(field, value, null, null);
     }
     
     /**
@@ -306,7 +356,7 @@ public class DateTimeParserBucket {
      * @param value  the value
      */
     public void saveField(DateTimeFieldType fieldType, int value) {
-        obtainSaveField().init(fieldType.getField(iChrono), value);
+        saveEntry(fieldType.getField(iChrono), value, null, null);
     }
     
     /**
@@ -317,41 +367,63 @@ public class DateTimeParserBucket {
      * @param locale  the locale to use
      */
     public void saveField(DateTimeFieldType fieldType, String text, Locale locale) {
-        obtainSaveField().init(fieldType.getField(iChrono), text, locale);
+        saveEntry(fieldType.getField(iChrono), 0, text, locale);
     }
     
-    private SavedField obtainSaveField() {
-        SavedField[] savedFields = iSavedFields;
-        int savedFieldsCount = iSavedFieldsCount;
-        
-        if (savedFieldsCount == savedFields.length || iSavedFieldsShared) {
-            // Expand capacity or merely copy if saved fields are shared.
-            SavedField[] newArray = new SavedField
-                [savedFieldsCount == savedFields.length ? savedFieldsCount * 2 : savedFields.length];
-            System.arraycopy(savedFields, 0, newArray, 0, savedFieldsCount);
-            iSavedFields = savedFields = newArray;
-            iSavedFieldsShared = false;
+    private void saveEntry(DateTimeField field, int value, String text, Locale locale) {
+        int entry = iEntryCount;
+        if (entry == iEntryFields.length) {
+            int size = entry * 2;
+            iEntryFields = (DateTimeField[]) grow(iEntryFields, new DateTimeField[size]);
+            iEntryValues = grow(iEntryValues, size);
+            iEntryTexts = (String[]) grow(iEntryTexts, new String[size]);
+            iEntryLocales = (Locale[]) grow(iEntryLocales, new Locale[size]);
+            iEntryParents = grow(iEntryParents, size);
         }
-        
+        iEntryFields[entry] = field;
+        iEntryValues[entry] = value;
+        iEntryTexts[entry] = text;
+        iEntryLocales[entry] = locale;
+        iEntryParents[entry] = iTop;
+        iEntryCount = entry + 1;
+        iTop = entry;
+        iSavedFieldsCount++;
         iSavedState = null;
-        SavedField saved = savedFields[savedFieldsCount];
-        if (saved == null) {
-            saved = savedFields[savedFieldsCount] = new SavedField();
-        }
-        iSavedFieldsCount = savedFieldsCount + 1;
-        return saved;
     }
-    
+
+    private static Object[] grow(Object[] array, Object[] grown) {
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    private static int[] grow(int[] array, int size) {
+        int[] grown = new int[size];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
     /**
      * Saves the state of this bucket, returning it in an opaque object. Call
      * restoreState to undo any changes that were made since the state was
      * saved. Calls to saveState may be nested.
+     * <p>
+     * The state is only valid until the bucket is reset, as the objects
+     * holding the states are then reused.
      *
      * @return opaque saved state, which may be passed to restoreState
      */
     public Object saveState() {
         if (iSavedState == null) {
-            iSavedState = new SavedState();
+            if (iStatesCount == iStates.length) {
+                iStates = (SavedState[]) grow(iStates, new SavedState[iStatesCount * 2]);
+            }
+            SavedState state = iStates[iStatesCount];
+            if (state == null) {
+                state = iStates[iStatesCount] = new SavedState();
+            }
+            iStatesCount++;
+            state.save();
+            iSavedState = state;
         }
         return iSavedState;
     }
@@ -422,33 +494,16 @@ public class DateTimeParserBucket {
      * @since 2.4
      */
     public long computeMillis(boolean resetFields, CharSequence text) {
-        SavedField[] savedFields = iSavedFields;
+        int[] order = sortSavedFields();
         int count = iSavedFieldsCount;
-        if (iSavedFieldsShared) {
-            // clone so that sort does not affect saved state
-            iSavedFields = savedFields = (SavedField[])iSavedFields.clone();
-            iSavedFieldsShared = false;
-        }
-        sort(savedFields, count);
-        if (count > 0) {
-            // alter base year for parsing if first field is month or day
-            DurationField months = DurationFieldType.months().getField(iChrono);
-            DurationField days = DurationFieldType.days().getField(iChrono);
-            DurationField first = savedFields[0].iField.getDurationField();
-            if (compareReverse(first, months) >= 0 && compareReverse(first, days) <= 0) {
-                saveField(DateTimeFieldType.year(), iDefaultYear);
-                return computeMillis(resetFields, text);
-            }
-        }
-
         long millis = iMillis;
         try {
             for (int i = 0; i < count; i++) {
-                millis = savedFields[i].set(millis, resetFields);
+                millis = setEntry(order[i], millis, resetFields);
             }
             if (resetFields) {
                 for (int i = 0; i < count; i++) {
-                    millis = savedFields[i].set(millis, i == (count - 1));
+                    millis = setEntry(order[i], millis, i == (count - 1));
                 }
             }
         } catch (IllegalFieldValueException e) {
@@ -458,7 +513,7 @@ public class DateTimeParserBucket {
             throw e;
         }
         
-        if (iOffset != null) {
+        if (iOffsetParsed) {
             millis -= iOffset;
         } else if (iZone != null) {
             int offset = iZone.getOffsetFromLocal(millis);
@@ -476,47 +531,152 @@ public class DateTimeParserBucket {
     }
     
     /**
-     * Sorts elements [0,high). Calling java.util.Arrays isn't always the right
-     * choice since it always creates an internal copy of the array, even if it
-     * doesn't need to. If the array slice is small enough, an insertion sort
-     * is chosen instead, but it doesn't need a copy!
+     * Sorts the saved fields into the order they are set, first saving the
+     * default year if the largest field is a month or day.
      * <p>
-     * This method has a modified version of that insertion sort, except it
-     * doesn't create an unnecessary array copy. If high is over 10, then
-     * java.util.Arrays is called, which will perform a merge sort, which is
-     * faster than insertion sort on large lists.
-     * <p>
-     * The end result is much greater performance when computeMillis is called.
-     * Since the amount of saved fields is small, the insertion sort is a
-     * better choice. Additional performance is gained since there is no extra
-     * array allocation and copying. Also, the insertion sort here does not
-     * perform any casting operations. The version in java.util.Arrays performs
-     * casts within the insertion sort loop.
+     * Field values are applied with the larger fields first, keeping the
+     * order they were saved in where fields are the same size. Since the
+     * amount of saved fields is small, an insertion sort is used.
+     *
+     * @return the entries of the saved fields in the order they are set, not null
      */
-    private static void sort(SavedField[] array, int high) {
-        if (high > 10) {
-            Arrays.sort(array, 0, high);
-        } else {
-            for (int i=0; i<high; i++) {
-                for (int j=i; j>0 && (array[j-1]).compareTo(array[j])>0; j--) {
-                    SavedField t = array[j];
-                    array[j] = array[j-1];
-                    array[j-1] = t;
+    private int[] sortSavedFields() {
+        while (true) {
+            int count = iSavedFieldsCount;
+            int[] order = iSetOrder;
+            if (order.length < count) {
+                order = iSetOrder = new int[Math.max(count, order.length * 2)];
+            }
+            for (int i = count - 1, entry = iTop; i >= 0; i--, entry = iEntryParents[entry]) {
+                order[i] = entry;
+            }
+            DateTimeField[] fields = iEntryFields;
+            for (int i = 1; i < count; i++) {
+                for (int j = i; j > 0 && compareFields(fields[order[j - 1]], fields[order[j]]) > 0; j--) {
+                    int t = order[j];
+                    order[j] = order[j - 1];
+                    order[j - 1] = t;
+                }
+            }
+            if (count > 0) {
+                // alter base year for parsing if first field is month or day
+                DurationField months = DurationFieldType.months().getField(iChrono);
+                DurationField days = DurationFieldType.days().getField(iChrono);
+                DurationField first = fields[order[0]].getDurationField();
+                if (compareReverse(first, months) >= 0 && compareReverse(first, days) <= 0) {
+                    saveField(DateTimeFieldType.year(), iDefaultYear);
+                    continue;
                 }
             }
+            return order;
         }
     }
 
+    /**
+     * Sets the value of a saved field.
+     *
+     * @param entry  the entry of the saved field
+     * @param millis  the millis to set the value into
+     * @param reset  whether to round the millis down to the field
+     * @return the updated millis
+     */
+    private long setEntry(int entry, long millis, boolean reset) {
+        DateTimeField field = iEntryFields[entry];
+        String text = iEntryTexts[entry];
+        if (text == null) {
+            millis = field.set(millis, iEntryValues[entry]);
+        } else {
+            millis = field.set(millis, text, iEntryLocales[entry]);
+        }
+        if (reset) {
+            millis = field.roundFloor(millis);
+        }
+        return millis;
+    }
+
+    /**
+     * The field with the longer range duration is ordered first, where
+     * null is considered infinite. If the ranges match, then the field
+     * with the longer duration is ordered first.
+     */
+    static int compareFields(DateTimeField field, DateTimeField other) {
+        int result = compareReverse
+            (field.getRangeDurationField(), other.getRangeDurationField());
+        if (result != 0) {
+            return result;
+        }
+        return compareReverse
+            (field.getDurationField(), other.getDurationField());
+    }
+
+    /**
+     * Parses the text from the index of the position to the end, without
+     * throwing an exception if the text is invalid.
+     * <p>
+     * On success the index of the position is set to the length of the text
+     * and the error index to -1. On failure the index is unchanged and the
+     * error index is set to the position of the error. If the text matches
+     * but a field is out of range or the local datetime is in a time-zone gap,
+     * the error index is the index the parse started from.
+     *
+     * @param parser  the parser to use, not null
+     * @param text  the text to parse, not null
+     * @param position  the position to parse from, updated with the result, not null
+     * @return the parsed millis, zero on failure
+     */
+    long doTryParseMillis(InternalParser parser, CharSequence text, ParsePosition position) {
+        int start = position.getIndex();
+        int newPos = parser.parseInto(this, text, start);
+        if (newPos < 0) {
+            position.setErrorIndex(~newPos);
+            return 0L;
+        }
+        if (newPos < text.length()) {
+            position.setErrorIndex(newPos);
+            return 0L;
+        }
+        int[] order = sortSavedFields();
+        int count = iSavedFieldsCount;
+        long millis = iMillis;
+        try {
+            for (int i = 0; i < count; i++) {
+                millis = setEntry(order[i], millis, true);
+            }
+            for (int i = 0; i < count; i++) {
+                millis = setEntry(order[i], millis, i == (count - 1));
+            }
+        } catch (IllegalFieldValueException e) {
+            // the fields validate themselves, so only an invalid value pays for this
+            position.setErrorIndex(start);
+            return 0L;
+        }
+        if (iOffsetParsed) {
+            millis -= iOffset;
+        } else if (iZone != null) {
+            int offset = iZone.getOffsetFromLocal(millis);
+            millis -= offset;
+            if (offset != iZone.getOffset(millis)) {
+                position.setErrorIndex(start);
+                return 0L;
+            }
+        }
+        position.setIndex(text.length());
+        position.setErrorIndex(-1);
+        return millis;
+    }
+
     class SavedState {
-        final DateTimeZone iZone;
-        final Integer iOffset;
-        final SavedField[] iSavedFields;
-        final int iSavedFieldsCount;
+        DateTimeZone iZone;
+        int iOffset;
+        boolean iOffsetParsed;
+        int iTop;
+        int iSavedFieldsCount;
         
-        SavedState() {
+        void save() {
             this.iZone = DateTimeParserBucket.this.iZone;
             this.iOffset = DateTimeParserBucket.this.iOffset;
-            this.iSavedFields = DateTimeParserBucket.this.iSavedFields;
+            this.iOffsetParsed = DateTimeParserBucket.this.iOffsetParsed;
+            this.iTop = DateTimeParserBucket.this.iTop;
             this.iSavedFieldsCount = DateTimeParserBucket.this.iSavedFieldsCount;
         }
         
@@ -527,70 +687,12 @@ public class DateTimeParserBucket {
             }
             enclosing.iZone = this.iZone;
             enclosing.iOffset = this.iOffset;
-            enclosing.iSavedFields = this.iSavedFields;
-            if (this.iSavedFieldsCount < enclosing.iSavedFieldsCount) {
-                // Since count is being restored to a lower count, the
-                // potential exists for new saved fields to destroy data being
-                // shared by another state. Set this flag such that the array
-                // of saved fields is cloned prior to modification.
-                enclosing.iSavedFieldsShared = true;
-            }
+            enclosing.iOffsetParsed = this.iOffsetParsed;
+            enclosing.iTop = this.iTop;
             enclosing.iSavedFieldsCount = this.iSavedFieldsCount;
             return true;
         }
     }
-    
-    static class SavedField implements Comparable<SavedField> {
-        DateTimeField iField;
-        int iValue;
-        String iText;
-        Locale iLocale;
-        
-        SavedField() {
-        }
-        
-        void init(DateTimeField field, int value) {
-            iField = field;
-            iValue = value;
-            iText = null;
-            iLocale = null;
-        }
-        
-        void init(DateTimeField field, String text, Locale locale) {
-            iField = field;
-            iValue = 0;
-            iText = text;
-            iLocale = locale;
-        }
-        
-        long set(long millis, boolean reset) {
-            if (iText == null) {
-                millis = iField.set(millis, iValue);
-            } else {
-                millis = iField.set(millis, iText, iLocale);
-            }
-            if (reset) {
-                millis = iField.roundFloor(millis);
-            }
-            return millis;
-        }
-        
-        /**
-         * The field with the longer range duration is ordered first, where
-         * null is considered infinite. If the ranges match, then the field
-         * with the longer duration is ordered first.
-         */
-        public int compareTo(SavedField obj) {
-            DateTimeField other = obj.iField;
-            int result = compareReverse
-                (iField.getRangeDurationField(), other.getRangeDurationField());
-            if (result != 0) {
-                return result;
-            }
-            return compareReverse
-                (iField.getDurationField(), other.getDurationField());
-        }
-    }
 
     static int compareReverse(DurationField a, DurationField b) {
         if (a == null || !a.isSupported()) {
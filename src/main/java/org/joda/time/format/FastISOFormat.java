@@ -0,0 +1,357 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.format;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeZone;
+import org.joda.time.ReadablePartial;
+import org.joda.time.chrono.ISOChronology;
+
+/**
+ * Straight-line printer and parser for the fixed width ISO-8601 layouts.
+ * <p>
+ * The common layouts, such as <code>yyyy-MM-dd'T'HH:mm:ss.SSSZZ</code>, are
+ * handled by scanning the digits in place and computing the millis
+ * arithmetically, without a parser bucket or any field objects. Only the
+ * canonical form of the layout in the ISO chronology is handled this way,
+ * with a four digit year, three digit fraction and whole minute offset.
+ * Anything else is delegated to the generic printer and parser that the
+ * layout was built from, which also produces the error for invalid text.
+ * <p>
+ * When used as an element of a larger formatter, this class simply delegates
+ * parsing to the generic parser.
+ * <p>
+ * FastISOFormat is thread-safe and immutable.
+ *
+ * @since 2.9
+ */
+final class FastISOFormat implements InternalPrinter, InternalParser, InternalDirectParser {
+
+    /** The element is not present. */
+    static final int NONE = 0;
+    /** The element must be present. */
+    static final int REQUIRED = 1;
+    /** The element may be present. */
+    static final int OPTIONAL = 2;
+
+    /** The number of days from 0000-03-01 to 1970-01-01. */
+    private static final int DAYS_0000_TO_1970 = 719468;
+    /** The number of days in a 400 year cycle. */
+    private static final int DAYS_PER_CYCLE = 146097;
+    /** The first instant printed, 0000-01-01T00:00:00. */
+    static final long MIN_PRINT_MILLIS = -62167219200000L;
+    /** The instant after the last one printed, 10000-01-01T00:00:00. */
+    static final long MAX_PRINT_MILLIS = 253402300800000L;
+
+    /** The generic printer, null if not a printer. */
+    private final InternalPrinter iPrinter;
+    /** The generic parser, null if not a parser. */
+    private final InternalParser iParser;
+    /** True for the basic layout without separators. */
+    private final boolean iBasic;
+    /** Whether the time is present. */
+    private final int iTime;
+    /** Whether the fraction of second is present. */
+    private final int iFraction;
+    /** Whether the offset is present. */
+    private final int iOffset;
+
+    /**
+     * Wraps the formatter so that its canonical layout takes the fast path.
+     *
+     * @param formatter  the generic formatter, not null
+     * @param basic  true for the basic layout without separators
+     * @param time  whether the time is present
+     * @param fraction  whether the three digit fraction is present after the time
+     * @param offset  whether the offset is present after the time
+     * @return the wrapped formatter
+     */
+    static DateTimeFormatter wrap(
+            DateTimeFormatter formatter, boolean basic, int time, int fraction, int offset) {
+        FastISOFormat fast = new FastISOFormat(
+            formatter.getPrinter0(), formatter.getParser0(), basic, time, fraction, offset);
+        return new DateTimeFormatter(
+            fast.iPrinter == null ? null : fast, fast.iParser == null ? null : fast);
+    }
+
+    private FastISOFormat(InternalPrinter printer, InternalParser parser,
+            boolean basic, int time, int fraction, int offset) {
+        super();
+        iPrinter = printer;
+        iParser = parser;
+        iBasic = basic;
+        iTime = time;
+        iFraction = fraction;
+        iOffset = offset;
+    }
+
+    //-----------------------------------------------------------------------
+    public int estimatePrintedLength() {
+        return iPrinter.estimatePrintedLength();
+    }
+
+    public void printTo(
+            Appendable appendable, long instant, Chronology chrono,
+            int displayOffset, DateTimeZone displayZone, Locale locale) throws IOException {
+        if (chrono != ISOChronology.getInstanceUTC()
+                || instant < MIN_PRINT_MILLIS || instant >= MAX_PRINT_MILLIS
+                || (iOffset != NONE && displayOffset % DateTimeConstants.MILLIS_PER_MINUTE != 0)) {
+            iPrinter.printTo(appendable, instant, chrono, displayOffset, displayZone, locale);
+            return;
+        }
+
+        int date = getPackedDate(instant);
+        int year = date >>> 9;
+        int month = (date >>> 5) & 0xF;
+        int day = date & 0x1F;
+        int millisOfDay = getMillisOfDay(instant);
+
+        appendFixed(appendable, year, 4);
+        if (!iBasic) {
+            appendable.append('-');
+        }
+        appendFixed(appendable, month, 2);
+        if (!iBasic) {
+            appendable.append('-');
+        }
+        appendFixed(appendable, day, 2);
+        if (iTime == NONE) {
+            return;
+        }
+        appendable.append('T');
+        appendFixed(appendable, millisOfDay / DateTimeConstants.MILLIS_PER_HOUR, 2);
+        if (!iBasic) {
+            appendable.append(':');
+        }
+        appendFixed(appendable, (millisOfDay / DateTimeConstants.MILLIS_PER_MINUTE) % 60, 2);
+        if (!iBasic) {
+            appendable.append(':');
+        }
+        appendFixed(appendable, (millisOfDay / DateTimeConstants.MILLIS_PER_SECOND) % 60, 2);
+        if (iFraction != NONE) {
+            appendable.append('.');
+            appendFixed(appendable, millisOfDay % 1000, 3);
+        }
+        if (iOffset == NONE || displayZone == null) {
+            return;
+        }
+        if (displayOffset == 0) {
+            appendable.append('Z');
+            return;
+        }
+        if (displayOffset < 0) {
+            appendable.append('-');
+            displayOffset = -displayOffset;
+        } else {
+            appendable.append('+');
+        }
+        int minutes = displayOffset / DateTimeConstants.MILLIS_PER_MINUTE;
+        appendFixed(appendable, minutes / 60, 2);
+        if (!iBasic) {
+            appendable.append(':');
+        }
+        appendFixed(appendable, minutes % 60, 2);
+    }
+
+    public void printTo(Appendable appendable, ReadablePartial partial, Locale locale) throws IOException {
+        iPrinter.printTo(appendable, partial, locale);
+    }
+
+    /**
+     * Gets the ISO date of a UTC instant from year 0000 to 9999 as
+     * <code>(year &lt;&lt; 9) | (month &lt;&lt; 5) | day</code>.
+     *
+     * @param instant  the instant, from MIN_PRINT_MILLIS inclusive to MAX_PRINT_MILLIS exclusive
+     * @return the packed date
+     */
+    static int getPackedDate(long instant) {
+        long days = instant / DateTimeConstants.MILLIS_PER_DAY;
+        if (instant - days * DateTimeConstants.MILLIS_PER_DAY < 0) {
+            days--;
+        }
+        // civil from days, with years starting on March 1st
+        int z = (int) days + DAYS_0000_TO_1970;
+        int era = (z >= 0 ? z : z - DAYS_PER_CYCLE + 1) / DAYS_PER_CYCLE;
+        int doe = z - era * DAYS_PER_CYCLE;
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / (DAYS_PER_CYCLE - 1)) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int day = doy - (153 * mp + 2) / 5 + 1;
+        int month = (mp < 10 ? mp + 3 : mp - 9);
+        int year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return (year << 9) | (month << 5) | day;
+    }
+
+    /**
+     * Gets the millis of day of a UTC instant.
+     *
+     * @param instant  the instant
+     * @return the millis of day
+     */
+    static int getMillisOfDay(long instant) {
+        int millisOfDay = (int) (instant % DateTimeConstants.MILLIS_PER_DAY);
+        return (millisOfDay < 0 ? millisOfDay + DateTimeConstants.MILLIS_PER_DAY : millisOfDay);
+    }
+
+    private static void appendFixed(Appendable appendable, int value, int digits) throws IOException {
+        int divisor = (digits == 4 ? 1000 : (digits == 3 ? 100 : 10));
+        for (; divisor > 1; divisor /= 10) {
+            appendable.append((char) ('0' + value / divisor));
+            value %= divisor;
+        }
+        appendable.append((char) ('0' + value));
+    }
+
+    //-----------------------------------------------------------------------
+    public int estimateParsedLength() {
+        return iParser.estimateParsedLength();
+    }
+
+    public int parseInto(DateTimeParserBucket bucket, CharSequence text, int position) {
+        return iParser.parseInto(bucket, text, position);
+    }
+
+    public long parseLocalMillis(CharSequence text, Chronology chrono, int defaultYear) {
+        if (chrono.withUTC() != ISOChronology.getInstanceUTC()) {
+            return FALLBACK;
+        }
+        int len = text.length();
+        int sep = (iBasic ? 0 : 1);
+        int pos = 8 + 2 * sep;
+        if (len < pos) {
+            return FALLBACK;
+        }
+        int year = parseDigits(text, 0, 4);
+        int month = parseDigits(text, 4 + sep, 2);
+        int day = parseDigits(text, 6 + 2 * sep, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || (sep == 1 && (text.charAt(4) != '-' || text.charAt(7) != '-'))) {
+            return FALLBACK;
+        }
+
+        int millisOfDay = 0;
+        if (pos < len) {
+            if (iTime == NONE || len < pos + 7 + 2 * sep || text.charAt(pos) != 'T') {
+                return FALLBACK;
+            }
+            int hour = parseDigits(text, pos + 1, 2);
+            int minute = parseDigits(text, pos + 3 + sep, 2);
+            int second = parseDigits(text, pos + 5 + 2 * sep, 2);
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59
+                    || (sep == 1 && (text.charAt(pos + 3) != ':' || text.charAt(pos + 6) != ':'))) {
+                return FALLBACK;
+            }
+            millisOfDay = hour * DateTimeConstants.MILLIS_PER_HOUR
+                + minute * DateTimeConstants.MILLIS_PER_MINUTE
+                + second * DateTimeConstants.MILLIS_PER_SECOND;
+            pos += 7 + 2 * sep;
+            if (pos < len && text.charAt(pos) == '.') {
+                int fraction = (iFraction == NONE || len < pos + 4 ? -1 : parseDigits(text, pos + 1, 3));
+                if (fraction < 0) {
+                    return FALLBACK;
+                }
+                millisOfDay += fraction;
+                pos += 4;
+            } else if (iFraction == REQUIRED) {
+                return FALLBACK;
+            }
+            if (pos < len) {
+                if (iOffset == NONE || offsetLength(text, pos) != len - pos) {
+                    return FALLBACK;
+                }
+            } else if (iOffset == REQUIRED) {
+                return FALLBACK;
+            }
+        } else if (iTime == REQUIRED) {
+            return FALLBACK;
+        }
+
+        // days from civil, with years starting on March 1st
+        int y = (month <= 2 ? year - 1 : year);
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yoe = y - era * 400;
+        int doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        long days = era * (long) DAYS_PER_CYCLE + doe - DAYS_0000_TO_1970;
+        return days * DateTimeConstants.MILLIS_PER_DAY + millisOfDay;
+    }
+
+    public int parseOffset(CharSequence text) {
+        int len = text.length();
+        if (len > 0 && text.charAt(len - 1) == 'Z') {
+            return 0;
+        }
+        int pos = len - (iBasic ? 5 : 6);
+        if (iOffset == NONE || pos < 0 || offsetLength(text, pos) != len - pos) {
+            return NO_OFFSET;
+        }
+        int hours = parseDigits(text, pos + 1, 2);
+        int minutes = parseDigits(text, len - 2, 2);
+        int offset = hours * DateTimeConstants.MILLIS_PER_HOUR + minutes * DateTimeConstants.MILLIS_PER_MINUTE;
+        return (text.charAt(pos) == '-' ? -offset : offset);
+    }
+
+    /**
+     * Gets the length of a valid offset at the position.
+     *
+     * @return the length, or -1 if not a canonical offset
+     */
+    private int offsetLength(CharSequence text, int pos) {
+        int len = text.length();
+        char c = text.charAt(pos);
+        if (c == 'Z') {
+            return 1;
+        }
+        if (c != '+' && c != '-') {
+            return -1;
+        }
+        int sep = (iBasic ? 0 : 1);
+        if (len - pos < 5 + sep) {
+            return -1;
+        }
+        int hours = parseDigits(text, pos + 1, 2);
+        int minutes = parseDigits(text, pos + 3 + sep, 2);
+        if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59
+                || (sep == 1 && text.charAt(pos + 3) != ':')) {
+            return -1;
+        }
+        return 5 + sep;
+    }
+
+    private static int parseDigits(CharSequence text, int pos, int digits) {
+        int value = 0;
+        for (int i = pos, end = pos + digits; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2) {
+            return ((year & 3) == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+        }
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+
+}
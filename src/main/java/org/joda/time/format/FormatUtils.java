@@ -30,6 +30,11 @@ public class FormatUtils {
 
     private static final double LOG_10 = Math.log(10);
 
+    /** Powers of ten that fit in an int, used to count and append digits. */
+    private static final int[] INT_POWERS_OF_TEN = {
+        1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000, 1000000000
+    };
+
     /**
      * Restricted constructor.
      */
@@ -95,18 +100,11 @@ public class FormatUtils {
             // Append remainder by calculating (value - d * 10).
             appenadble.append((char) (value - (d << 3) - (d << 1) + '0'));
         } else {
-            int digits;
-            if (value < 1000) {
-                digits = 3;
-            } else if (value < 10000) {
-                digits = 4;
-            } else {
-                digits = (int)(Math.log(value) / LOG_10) + 1;
-            }
+            int digits = countDigits(value);
             for (; size > digits; size--) {
                 appenadble.append('0');
             }
-            appenadble.append(Integer.toString(value));
+            appendDigits(appenadble, value, digits);
         }
     }
 
@@ -308,7 +306,7 @@ public class FormatUtils {
             // Append remainder by calculating (value - d * 10).
             appendable.append((char) (value - (d << 3) - (d << 1) + '0'));
         } else {
-            appendable.append(Integer.toString(value));
+            appendDigits(appendable, value, countDigits(value));
         }
     }
 
@@ -445,4 +443,36 @@ public class FormatUtils {
             sampleText.substring(errorPos) + '"';
     }
 
+    /**
+     * Counts the decimal digits of a non-negative int.
+     *
+     * @param value  the value, not negative
+     * @return the number of digits, from 1 to 10
+     */
+    private static int countDigits(int value) {
+        int digits = 1;
+        while (digits < 10 && value >= INT_POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Appends the digits of a non-negative int one character at a time,
+     * avoiding the creation of a string.
+     *
+     * @param appendable  receives the digits
+     * @param value  the value, not negative
+     * @param digits  the number of digits in the value
+     */
+    private static void appendDigits(Appendable appendable, int value, int digits) throws IOException {
+        for (int i = digits - 1; i > 0; i--) {
+            int power = INT_POWERS_OF_TEN[i];
+            int d = value / power;
+            appendable.append((char) (d + '0'));
+            value -= d * power;
+        }
+        appendable.append((char) (value + '0'));
+    }
+
 }
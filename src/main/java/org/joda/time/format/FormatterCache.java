@@ -0,0 +1,210 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.format;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent cache of formatters with a maximum size and least recently used
+ * eviction.
+ * <p>
+ * Lookups are lock-free. Recency is tracked with a logical clock that only
+ * advances when an entry is added, so a lookup of a recently used entry does
+ * not update the entry. Hits are counted in counters striped by thread, so
+ * that threads looking up formatters concurrently rarely write to the same
+ * cache line, and the statistics are approximate while lookups are in progress.
+ * When the cache grows past its maximum size, one thread evicts the least
+ * recently used tenth of the entries.
+ * <p>
+ * FormatterCache is thread-safe.
+ *
+ * @since 2.9
+ */
+final class FormatterCache<K, V> {
+
+    /** The number of hit counter stripes, a power of two. */
+    private static final int HIT_STRIPES = 16;
+    /** The distance between hit counters, so that each is on its own cache line. */
+    private static final int HIT_STRIDE = 8;
+
+    /** The entries. */
+    private final ConcurrentHashMap<K, Entry<V>> iMap;
+    /** The maximum number of entries, zero to disable caching. */
+    private final int iMaximumSize;
+    /** The logical clock, advanced on each addition. */
+    private final AtomicLong iClock = new AtomicLong();
+    /** Held by the thread that is evicting. */
+    private final ReentrantLock iEvictionLock = new ReentrantLock();
+    /** The hit counters, one per stripe, each on its own cache line. */
+    private final AtomicLongArray iHits = new AtomicLongArray(HIT_STRIPES * HIT_STRIDE);
+    private final AtomicLong iMisses = new AtomicLong();
+    private final AtomicLong iEvictions = new AtomicLong();
+
+    /**
+     * Creates a cache with a size read from a system property.
+     *
+     * @param property  the name of the system property holding the size
+     * @param defaultSize  the size to use if the property is not set
+     * @return the cache, not null
+     */
+    static <K, V> FormatterCache<K, V> create(String property, int defaultSize) {
+        Integer size;
+        try {
+            size = Integer.getInteger(property);
+        } catch (SecurityException e) {
+            size = null;
+        }
+        return new FormatterCache<K, V>(size == null ? defaultSize : Math.max(0, size.intValue()));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maximumSize  the maximum number of entries, zero to disable caching
+     */
+    FormatterCache(int maximumSize) {
+        super();
+        iMaximumSize = maximumSize;
+        iMap = new ConcurrentHashMap<K, Entry<V>>(Math.min(maximumSize, 1024) + 1);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the cached value, marking it as recently used.
+     *
+     * @param key  the key, not null
+     * @return the value, null if not cached
+     */
+    V get(K key) {
+        Entry<V> entry = iMap.get(key);
+        if (entry == null) {
+            iMisses.incrementAndGet();
+            return null;
+        }
+        int stripe = (int) Thread.currentThread().getId() & (HIT_STRIPES - 1);
+        iHits.incrementAndGet(stripe * HIT_STRIDE);
+        long now = iClock.get();
+        if (entry.iLastUsed != now) {
+            entry.iLastUsed = now;
+        }
+        return entry.iValue;
+    }
+
+    /**
+     * Adds the value unless the key is already cached, evicting the least
+     * recently used entries if the cache is full.
+     *
+     * @param key  the key, not null
+     * @param value  the value, not null
+     * @return the value already cached, null if the value was added or caching is disabled
+     */
+    V putIfAbsent(K key, V value) {
+        if (iMaximumSize == 0) {
+            return null;
+        }
+        Entry<V> existing = iMap.putIfAbsent(key, new Entry<V>(value, iClock.incrementAndGet()));
+        if (existing != null) {
+            return existing.iValue;
+        }
+        if (iMap.size() > iMaximumSize) {
+            evict();
+        }
+        return null;
+    }
+
+    /**
+     * Evicts the least recently used tenth of the entries, unless another
+     * thread is already doing so.
+     * <p>
+     * The size is checked again once the lock is released, as entries added
+     * while evicting do not trigger an eviction of their own.
+     */
+    private void evict() {
+        do {
+            if (iEvictionLock.tryLock() == false) {
+                return;
+            }
+            try {
+                evictLocked();
+            } finally {
+                iEvictionLock.unlock();
+            }
+        } while (iMap.size() > iMaximumSize);
+    }
+
+    /**
+     * Evicts the least recently used entries while holding the lock.
+     */
+    private void evictLocked() {
+        int size = iMap.size();
+        if (size <= iMaximumSize) {
+            return;
+        }
+        int target = iMaximumSize - Math.max(1, iMaximumSize / 10);
+        long[] lastUsed = new long[size];
+        int count = 0;
+        for (Iterator<Entry<V>> it = iMap.values().iterator(); it.hasNext() && count < size; ) {
+            lastUsed[count++] = it.next().iLastUsed;
+        }
+        Arrays.sort(lastUsed, 0, count);
+        int toRemove = Math.min(count, size - target);
+        long threshold = lastUsed[toRemove - 1];
+        for (Iterator<Map.Entry<K, Entry<V>>> it = iMap.entrySet().iterator(); it.hasNext() && toRemove > 0; ) {
+            Map.Entry<K, Entry<V>> mapEntry = it.next();
+            if (mapEntry.getValue().iLastUsed <= threshold) {
+                if (iMap.remove(mapEntry.getKey(), mapEntry.getValue())) {
+                    iEvictions.incrementAndGet();
+                    toRemove--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets a snapshot of the statistics of the cache.
+     *
+     * @return the statistics, not null
+     */
+    FormatterCacheStatistics getStatistics() {
+        long hits = 0;
+        for (int i = 0; i < HIT_STRIPES; i++) {
+            hits += iHits.get(i * HIT_STRIDE);
+        }
+        return new FormatterCacheStatistics(
+            iMap.size(), iMaximumSize, hits, iMisses.get(), iEvictions.get());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A cached value with the time of its last use.
+     */
+    private static final class Entry<V> {
+        final V iValue;
+        volatile long iLastUsed;
+
+        Entry(V value, long lastUsed) {
+            iValue = value;
+            iLastUsed = lastUsed;
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.format;
+
+/**
+ * Snapshot of the statistics of one of the formatter caches.
+ * <p>
+ * The caches behind {@link DateTimeFormat#forPattern(String)}, the style
+ * based formatters and {@link PeriodFormat#wordBased(java.util.Locale)} are
+ * bounded, evicting the least recently used entries once full. The counts are
+ * cumulative since the cache was created.
+ * <p>
+ * FormatterCacheStatistics is thread-safe and immutable.
+ *
+ * @since 2.9
+ */
+public final class FormatterCacheStatistics {
+
+    private final int iSize;
+    private final int iMaximumSize;
+    private final long iHitCount;
+    private final long iMissCount;
+    private final long iEvictionCount;
+
+    FormatterCacheStatistics(int size, int maximumSize, long hitCount, long missCount, long evictionCount) {
+        super();
+        iSize = size;
+        iMaximumSize = maximumSize;
+        iHitCount = hitCount;
+        iMissCount = missCount;
+        iEvictionCount = evictionCount;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of entries in the cache.
+     *
+     * @return the size
+     */
+    public int getSize() {
+        return iSize;
+    }
+
+    /**
+     * Gets the maximum number of entries, zero if caching is disabled.
+     *
+     * @return the maximum size
+     */
+    public int getMaximumSize() {
+        return iMaximumSize;
+    }
+
+    /**
+     * Gets the number of lookups that found a cached formatter.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return iHitCount;
+    }
+
+    /**
+     * Gets the number of lookups that had to create a formatter.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return iMissCount;
+    }
+
+    /**
+     * Gets the number of entries evicted to keep within the maximum size.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return iEvictionCount;
+    }
+
+    /**
+     * Gets the ratio of hits to lookups, one if there have been no lookups.
+     *
+     * @return the hit rate, from zero to one
+     */
+    public double getHitRate() {
+        long lookups = iHitCount + iMissCount;
+        return (lookups == 0 ? 1d : (double) iHitCount / lookups);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs the statistics for debugging.
+     *
+     * @return a debugging string
+     */
+    public String toString() {
+        return "FormatterCacheStatistics[size=" + iSize + ", maximumSize=" + iMaximumSize
+            + ", hits=" + iHitCount + ", misses=" + iMissCount + ", evictions=" + iEvictionCount + "]";
+    }
+
+}
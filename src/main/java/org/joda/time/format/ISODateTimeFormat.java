@@ -1452,9 +1452,10 @@ public class ISODateTimeFormat {
                     .append(timeElementParser())
                     .appendOptional(offsetElement().getParser())
                     .toParser();
-                return new DateTimeFormatterBuilder()
+                return FastISOFormat.wrap(new DateTimeFormatterBuilder()
                     .append(null, new DateTimeParser[] {time, dateOptionalTimeParser().getParser()})
-                    .toFormatter();
+                    .toFormatter(),
+                    false, FastISOFormat.OPTIONAL, FastISOFormat.OPTIONAL, FastISOFormat.OPTIONAL);
             }
             return dtp;
         }
@@ -1466,10 +1467,11 @@ public class ISODateTimeFormat {
                     .appendOptional(timeElementParser().getParser())
                     .appendOptional(offsetElement().getParser())
                     .toParser();
-                return new DateTimeFormatterBuilder()
+                return FastISOFormat.wrap(new DateTimeFormatterBuilder()
                     .append(dateElementParser())
                     .appendOptional(timeOrOffset)
-                    .toFormatter();
+                    .toFormatter(),
+                    false, FastISOFormat.OPTIONAL, FastISOFormat.OPTIONAL, FastISOFormat.OPTIONAL);
             }
             return dotp;
         }
@@ -1480,10 +1482,11 @@ public class ISODateTimeFormat {
                     .appendLiteral('T')
                     .append(timeElementParser())
                     .toParser();
-                return new DateTimeFormatterBuilder()
+                return FastISOFormat.wrap(new DateTimeFormatterBuilder()
                     .append(dateElementParser())
                     .appendOptional(time)
-                    .toFormatter().withZoneUTC();
+                    .toFormatter(),
+                    false, FastISOFormat.OPTIONAL, FastISOFormat.OPTIONAL, FastISOFormat.NONE).withZoneUTC();
             }
             return ldotp;
         }
@@ -1531,20 +1534,22 @@ public class ISODateTimeFormat {
 
         private static DateTimeFormatter dateTime() {
             if (dt == null) {
-                return new DateTimeFormatterBuilder()
+                return FastISOFormat.wrap(new DateTimeFormatterBuilder()
                     .append(date())
                     .append(tTime())
-                    .toFormatter();
+                    .toFormatter(),
+                    false, FastISOFormat.REQUIRED, FastISOFormat.REQUIRED, FastISOFormat.REQUIRED);
             }
             return dt;
         }
 
         private static DateTimeFormatter dateTimeNoMillis() {
             if (dtx == null) {
-                return new DateTimeFormatterBuilder()
+                return FastISOFormat.wrap(new DateTimeFormatterBuilder()
                     .append(date())
                     .append(tTimeNoMillis())
-                    .toFormatter();
+                    .toFormatter(),
+                    false, FastISOFormat.REQUIRED, FastISOFormat.NONE, FastISOFormat.REQUIRED);
             }
             return dtx;
         }
@@ -1602,11 +1607,12 @@ public class ISODateTimeFormat {
         //-----------------------------------------------------------------------
         private static DateTimeFormatter basicDate() {
             if (bd == null) {
-                return new DateTimeFormatterBuilder()
+                return FastISOFormat.wrap(new DateTimeFormatterBuilder()
                     .appendYear(4, 4)
                     .appendFixedDecimal(DateTimeFieldType.monthOfYear(), 2)
                     .appendFixedDecimal(DateTimeFieldType.dayOfMonth(), 2)
-                    .toFormatter();
+                    .toFormatter(),
+                    true, FastISOFormat.NONE, FastISOFormat.NONE, FastISOFormat.NONE);
             }
             return bd;
         }
@@ -1659,20 +1665,22 @@ public class ISODateTimeFormat {
 
         private static DateTimeFormatter basicDateTime() {
             if (bdt == null) {
-                return new DateTimeFormatterBuilder()
+                return FastISOFormat.wrap(new DateTimeFormatterBuilder()
                     .append(basicDate())
                     .append(basicTTime())
-                    .toFormatter();
+                    .toFormatter(),
+                    true, FastISOFormat.REQUIRED, FastISOFormat.REQUIRED, FastISOFormat.REQUIRED);
             }
             return bdt;
         }
 
         private static DateTimeFormatter basicDateTimeNoMillis() {
             if (bdtx == null) {
-                return new DateTimeFormatterBuilder()
+                return FastISOFormat.wrap(new DateTimeFormatterBuilder()
                     .append(basicDate())
                     .append(basicTTimeNoMillis())
-                    .toFormatter();
+                    .toFormatter(),
+                    true, FastISOFormat.REQUIRED, FastISOFormat.NONE, FastISOFormat.REQUIRED);
             }
             return bdtx;
         }
@@ -1752,11 +1760,12 @@ public class ISODateTimeFormat {
 
         private static DateTimeFormatter yearMonthDay() {
             if (ymd == null) {
-                return new DateTimeFormatterBuilder()
+                return FastISOFormat.wrap(new DateTimeFormatterBuilder()
                     .append(yearElement())
                     .append(monthElement())
                     .append(dayOfMonthElement())
-                    .toFormatter();
+                    .toFormatter(),
+                    false, FastISOFormat.NONE, FastISOFormat.NONE, FastISOFormat.NONE);
             }
             return ymd;
         }
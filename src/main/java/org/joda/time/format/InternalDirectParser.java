@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.format;
+
+import org.joda.time.Chronology;
+
+/**
+ * Internal interface for parsers that can compute the local millis of the
+ * whole text directly, without a {@link DateTimeParserBucket}.
+ * <p>
+ * Implementations accept a subset of the text accepted by their bucket based
+ * {@link InternalParser#parseInto parseInto}, producing the same result.
+ * For any other text, including invalid text, they return {@link #FALLBACK}
+ * so that the bucket based parse runs and reports the error.
+ *
+ * @since 2.9
+ */
+interface InternalDirectParser {
+
+    /** Returned by {@link #parseLocalMillis} when the bucket based parse must be used. */
+    long FALLBACK = Long.MIN_VALUE;
+    /** Returned by {@link #parseOffset} when the text has no offset. */
+    int NO_OFFSET = Integer.MIN_VALUE;
+
+    /**
+     * Parses the whole text to the local millis, ignoring any offset.
+     *
+     * @param text  the text to parse, not null
+     * @param chrono  the chronology to use, not null
+     * @param defaultYear  the year to use when parsing month-day
+     * @return the local millis, or {@link #FALLBACK} if the bucket based parse must be used
+     */
+    long parseLocalMillis(CharSequence text, Chronology chrono, int defaultYear);
+
+    /**
+     * Gets the offset in text that was accepted by {@link #parseLocalMillis}.
+     *
+     * @param text  the text that was parsed, not null
+     * @return the offset in millis, or {@link #NO_OFFSET} if none
+     */
+    int parseOffset(CharSequence text);
+
+}
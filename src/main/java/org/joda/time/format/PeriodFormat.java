@@ -20,8 +20,6 @@ import java.io.Writer;
 import java.util.Enumeration;
 import java.util.Locale;
 import java.util.ResourceBundle;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import org.joda.time.ReadWritablePeriod;
 import org.joda.time.ReadablePeriod;
@@ -49,8 +47,11 @@ public class PeriodFormat {
     private static final String BUNDLE_NAME = "org.joda.time.format.messages";
     /**
      * The created formatters.
+     * The size can be set by the system property
+     * <code>org.joda.time.format.PeriodFormat.cacheSize</code>.
      */
-    private static final ConcurrentMap<Locale, PeriodFormatter> FORMATTERS = new ConcurrentHashMap<Locale, PeriodFormatter>();
+    private static final FormatterCache<Locale, PeriodFormatter> FORMATTERS =
+        FormatterCache.create("org.joda.time.format.PeriodFormat.cacheSize", 100);
 
     /**
      * Constructor.
@@ -212,6 +213,21 @@ public class PeriodFormat {
         return pf;
     }
 
+    /**
+     * Gets the statistics of the cache used by {@link #wordBased(Locale)}.
+     * <p>
+     * The cache holds 100 locales by default, evicting the least recently used
+     * once full. The size can be changed by setting the system property
+     * <code>org.joda.time.format.PeriodFormat.cacheSize</code>,
+     * where zero disables caching.
+     *
+     * @return a snapshot of the statistics, not null
+     * @since 2.9
+     */
+    public static FormatterCacheStatistics getCacheStatistics() {
+        return FORMATTERS.getStatistics();
+    }
+
     //-----------------------------------------------------------------------
     private static PeriodFormatter buildWordBased(Locale locale) {
         ResourceBundle b = ResourceBundle.getBundle(BUNDLE_NAME, locale);
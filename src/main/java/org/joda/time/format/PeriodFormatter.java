@@ -17,6 +17,7 @@ package org.joda.time.format;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.text.ParsePosition;
 import java.util.Locale;
 
 import org.joda.time.MutablePeriod;
@@ -330,6 +331,52 @@ public class PeriodFormatter {
         throw new IllegalArgumentException(FormatUtils.createErrorMessage(text, newPos));
     }
 
+    /**
+     * Parses a period from the given text, returning a new Period, without
+     * throwing an exception if the text is invalid.
+     * <p>
+     * The text is parsed from the index of the position to the end of the text.
+     * On success, the index of the position is set to the length of the text
+     * and the error index to -1. On failure, the index is unchanged and the
+     * error index is set to the position where the parse failed. If the text
+     * contains a field that the parse type does not support, the error index
+     * is set to the start index.
+     * The position can be reused for many parses.
+     *
+     * @param text  text to parse, not null
+     * @param position  the position to parse from, updated with the result, not null
+     * @return parsed value in a Period object, null if the parse failed
+     * @throws UnsupportedOperationException if parsing is not supported
+     * @throws IllegalArgumentException if the position is null
+     * @since 2.9
+     */
+    public Period tryParsePeriod(String text, ParsePosition position) {
+        checkParser();
+        if (position == null) {
+            throw new IllegalArgumentException("ParsePosition must not be null");
+        }
+        MutablePeriod period = new MutablePeriod(0, iParseType);
+        int newPos;
+        try {
+            newPos = getParser().parseInto(period, text, position.getIndex(), iLocale);
+        } catch (IllegalArgumentException ex) {
+            // a parsed field is not supported by the parse type
+            position.setErrorIndex(position.getIndex());
+            return null;
+        }
+        if (newPos < 0) {
+            position.setErrorIndex(~newPos);
+            return null;
+        }
+        if (newPos < text.length()) {
+            position.setErrorIndex(newPos);
+            return null;
+        }
+        position.setIndex(newPos);
+        position.setErrorIndex(-1);
+        return period.toPeriod();
+    }
+
     /**
      * Checks whether parsing is supported.
      * 
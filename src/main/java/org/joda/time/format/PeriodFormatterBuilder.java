@@ -1186,8 +1186,17 @@ public class PeriodFormatterBuilder {
             }
         };
         
+        /** The values either side of zero whose suffix index is cached. */
+        private static final int CACHED_RANGE = 1024;
+
         private final String[] iSuffixes;
         private final Pattern[] iPatterns;
+        /**
+         * The suffix index plus one by value offset by the range, zero if not
+         * yet matched, created on first use. Races are benign as every thread
+         * stores the same index, and a lost table only costs a re-match.
+         */
+        private byte[] iIndexCache;
 
         // The parse method has to iterate over the suffixes from the longest one to the shortest one
         // Otherwise it might consume not enough characters.
@@ -1209,6 +1218,22 @@ public class PeriodFormatterBuilder {
         }
 
         private int selectSuffixIndex(int value) {
+            if (value >= -CACHED_RANGE && value < CACHED_RANGE && iPatterns.length < Byte.MAX_VALUE) {
+                byte[] cache = iIndexCache;
+                if (cache == null) {
+                    iIndexCache = cache = new byte[CACHED_RANGE * 2];
+                }
+                int index = cache[value + CACHED_RANGE] - 1;
+                if (index < 0) {
+                    index = matchSuffixIndex(value);
+                    cache[value + CACHED_RANGE] = (byte) (index + 1);
+                }
+                return index;
+            }
+            return matchSuffixIndex(value);
+        }
+
+        private int matchSuffixIndex(int value) {
             String valueString = String.valueOf(value);
             for (int i = 0; i < iPatterns.length; i++) {
                 if (iPatterns[i].matcher(valueString).matches()) {
@@ -15,6 +15,12 @@
  */
 package org.joda.time.tz;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.joda.time.DateTimeConstants;
 import org.joda.time.DateTimeZone;
 
 /**
@@ -22,6 +28,16 @@ import org.joda.time.DateTimeZone;
  * caching the results. Time zones that have simple rules or are fixed should
  * not be cached, as it is unlikely to improve performance.
  * <p>
+ * Each zone starts with a small cache, which grows when lookups keep
+ * colliding, up to the maximum set by the system property
+ * <code>org.joda.time.tz.CachedDateTimeZone.size</code>, default 512.
+ * Zones queried over a narrow range of dates therefore stay small, while
+ * zones queried over decades grow. The hit, miss and collision counts are
+ * available for monitoring. Hits are counted in counters striped by thread,
+ * each on its own cache line, so that threads answered from the cache rarely
+ * write to the same cache line. The counts are approximate while lookups are
+ * in progress.
+ * <p>
  * CachedDateTimeZone is thread-safe and immutable.
  * 
  * @author Brian S O'Neill
@@ -31,7 +47,14 @@ public class CachedDateTimeZone extends DateTimeZone {
 
     private static final long serialVersionUID = 5472298452022250685L;
 
-    private static final int cInfoCacheMask;
+    /** The initial size of the cache of each zone. */
+    private static final int INITIAL_SIZE = 16;
+    /** The number of hit counter stripes, a power of two. */
+    private static final int HIT_STRIPES = 16;
+    /** The distance between hit counters, so that each is on its own cache line. */
+    private static final int HIT_STRIDE = 8;
+
+    private static final int cMaximumSize;
 
     static {
         Integer i;
@@ -58,7 +81,7 @@ public class CachedDateTimeZone extends DateTimeZone {
             cacheSize = 1 << shift;
         }
 
-        cInfoCacheMask = cacheSize - 1;
+        cMaximumSize = cacheSize;
     }
 
     /**
@@ -77,11 +100,35 @@ public class CachedDateTimeZone extends DateTimeZone {
      * with only 2 time zone offset periods. Most of the 49.7 day periods will
      * have no transition, about one quarter have one transition, and very rare
      * cases have multiple transitions.
+     *
+     * Each cache slot holds an immutable Info, published by compare-and-set.
+     * Threads that miss the same period at the same time may each create an
+     * Info, but only one is stored and all of them return the stored one.
+     * Each table counts its own collisions atomically, and the single thread
+     * whose collision takes the count past the number of slots replaces it by
+     * a table twice the size. Entries stored into the old table while it is
+     * being copied may be lost, which only causes a later miss.
+     *
+     * A second cache, organised the same way, is indexed by local time and
+     * used to convert local instants to UTC. Each LocalInfo splits its period
+     * into segments that are either stable, with a single offset, or unsafe.
+     * A segment is stable when the nearest transitions are more than three
+     * days away, so that every candidate instant examined by the generic
+     * getOffsetFromLocal lies between the same two transitions and its result
+     * is the offset of that span. Local instants near a transition, which may
+     * be in a gap or overlap, use the generic algorithm.
      */
 
     private final DateTimeZone iZone;
 
-    private final transient Info[] iInfoCache = new Info[cInfoCacheMask + 1];
+    private transient volatile Table<Info> iInfoCache =
+        new Table<Info>(Math.min(INITIAL_SIZE, cMaximumSize));
+    private transient volatile Table<LocalInfo> iLocalInfoCache =
+        new Table<LocalInfo>(Math.min(INITIAL_SIZE, cMaximumSize));
+    /** The hit counters, one per stripe. */
+    private transient final AtomicLongArray iHits = new AtomicLongArray(HIT_STRIPES * HIT_STRIDE);
+    private transient final AtomicLong iMisses = new AtomicLong();
+    private transient final AtomicLong iCollisions = new AtomicLong();
 
     private CachedDateTimeZone(DateTimeZone zone) {
         super(zone.getID());
@@ -95,16 +142,85 @@ public class CachedDateTimeZone extends DateTimeZone {
         return iZone;
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the current number of slots in the cache, which grows from a small
+     * initial size as collisions occur.
+     * 
+     * @return the number of slots
+     * @since 2.9
+     */
+    public int getCacheSize() {
+        return iInfoCache.length();
+    }
+
+    /**
+     * Gets the number of lookups that were answered from the cache.
+     * 
+     * @return the approximate hit count
+     * @since 2.9
+     */
+    public long getHitCount() {
+        long count = 0;
+        for (int i = 0; i < HIT_STRIPES; i++) {
+            count += iHits.get(i * HIT_STRIDE);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of lookups that had to query the wrapped zone.
+     * 
+     * @return the approximate miss count
+     * @since 2.9
+     */
+    public long getMissCount() {
+        return iMisses.get();
+    }
+
+    /**
+     * Gets the number of misses that replaced the cached data of another period.
+     * 
+     * @return the approximate collision count
+     * @since 2.9
+     */
+    public long getCollisionCount() {
+        return iCollisions.get();
+    }
+
+    //-----------------------------------------------------------------------
     public String getNameKey(long instant) {
-        return getInfo(instant).getNameKey(instant);
+        Info info = getInfo(instant);
+        return info.iNameKeys[info.indexOf(instant)];
     }
 
     public int getOffset(long instant) {
-        return getInfo(instant).getOffset(instant);
+        Info info = getInfo(instant);
+        return info.iOffsets[info.indexOf(instant)];
     }
 
     public int getStandardOffset(long instant) {
-        return getInfo(instant).getStandardOffset(instant);
+        Info info = getInfo(instant);
+        return info.iStandardOffsets[info.indexOf(instant)];
+    }
+
+    public int getOffsetFromLocal(long instantLocal) {
+        LocalInfo info = getLocalInfo(instantLocal);
+        int offset = info.iOffsets[info.indexOf(instantLocal)];
+        if (offset == LocalInfo.UNSAFE) {
+            return super.getOffsetFromLocal(instantLocal);
+        }
+        return offset;
+    }
+
+    public long convertLocalToUTC(long instantLocal, boolean strict) {
+        LocalInfo info = getLocalInfo(instantLocal);
+        int offset = info.iOffsets[info.indexOf(instantLocal)];
+        if (offset == LocalInfo.UNSAFE) {
+            return super.convertLocalToUTC(instantLocal, strict);
+        }
+        // no overflow check needed as unsafe covers the ends of the timeline
+        return instantLocal - offset;
     }
 
     public boolean isFixed() {
@@ -133,83 +249,252 @@ public class CachedDateTimeZone extends DateTimeZone {
         return false;
     }
 
-    // Although accessed by multiple threads, this method doesn't need to be
-    // synchronized.
-
     private Info getInfo(long millis) {
         int period = (int)(millis >> 32);
-        Info[] cache = iInfoCache;
-        int index = period & cInfoCacheMask;
-        Info info = cache[index];
-        if (info == null || (int)((info.iPeriodStart >> 32)) != period) {
-            info = createInfo(millis);
-            cache[index] = info;
+        Table<Info> cache = iInfoCache;
+        int index = period & (cache.length() - 1);
+        Info info = cache.get(index);
+        if (info != null && info.iPeriod == period) {
+            countHit();
+            return info;
+        }
+        iMisses.incrementAndGet();
+        if (info != null) {
+            iCollisions.incrementAndGet();
+            if (cache.addCollision()) {
+                cache = iInfoCache = resize(cache);
+                index = period & (cache.length() - 1);
+                info = cache.get(index);
+            }
         }
-        return info;
+        return publish(cache, index, info, createInfo(millis));
+    }
+
+    private LocalInfo getLocalInfo(long millisLocal) {
+        int period = (int)(millisLocal >> 32);
+        Table<LocalInfo> cache = iLocalInfoCache;
+        int index = period & (cache.length() - 1);
+        LocalInfo info = cache.get(index);
+        if (info != null && info.iPeriod == period) {
+            countHit();
+            return info;
+        }
+        iMisses.incrementAndGet();
+        if (info != null) {
+            iCollisions.incrementAndGet();
+            if (cache.addCollision()) {
+                cache = iLocalInfoCache = resize(cache);
+                index = period & (cache.length() - 1);
+                info = cache.get(index);
+            }
+        }
+        return publish(cache, index, info, new LocalInfo(iZone, millisLocal & (0xffffffffL << 32)));
+    }
+
+    private void countHit() {
+        int stripe = (int) Thread.currentThread().getId() & (HIT_STRIPES - 1);
+        iHits.incrementAndGet(stripe * HIT_STRIDE);
+    }
+
+    /**
+     * Stores a created entry unless another thread has stored one for the
+     * same period, returning the stored entry.
+     */
+    private static <T extends PeriodInfo> T publish(Table<T> cache, int index, T expected, T created) {
+        while (cache.compareAndSet(index, expected, created) == false) {
+            expected = cache.get(index);
+            if (expected != null && expected.iPeriod == created.iPeriod) {
+                return expected;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Creates a table twice the size holding the entries of the given table.
+     */
+    private static <T extends PeriodInfo> Table<T> resize(Table<T> cache) {
+        Table<T> resized = new Table<T>(cache.length() * 2);
+        int mask = resized.length() - 1;
+        for (int i = 0; i < cache.length(); i++) {
+            T info = cache.get(i);
+            if (info != null) {
+                resized.set(info.iPeriod & mask, info);
+            }
+        }
+        return resized;
     }
 
     private Info createInfo(long millis) {
         long periodStart = millis & (0xffffffffL << 32);
-        Info info = new Info(iZone, periodStart);
-        
         long end = periodStart | 0xffffffffL;
-        Info chain = info;
+        long[] starts = new long[] {periodStart};
         while (true) {
             long next = iZone.nextTransition(periodStart);
             if (next == periodStart || next > end) {
                 break;
             }
             periodStart = next;
-            chain = (chain.iNextInfo = new Info(iZone, periodStart));
+            long[] grown = new long[starts.length + 1];
+            System.arraycopy(starts, 0, grown, 0, starts.length);
+            grown[starts.length] = next;
+            starts = grown;
         }
-
-        return info;
+        return new Info(iZone, starts);
     }
 
-    private final static class Info {
-        // For first Info in chain, iPeriodStart's lower 32 bits are clear.
-        public final long iPeriodStart;
-        public final DateTimeZone iZoneRef;
+    /**
+     * A cache table of the entries of periods of 2^32 milliseconds, indexed by
+     * the period, that counts the collisions since it was created.
+     */
+    private final static class Table<T> extends AtomicReferenceArray<T> {
+        private static final long serialVersionUID = -4204637542227850547L;
 
-        Info iNextInfo;
+        private final AtomicInteger iCollisions = new AtomicInteger();
 
-        private String iNameKey;
-        private int iOffset = Integer.MIN_VALUE;
-        private int iStandardOffset = Integer.MIN_VALUE;
+        Table(int length) {
+            super(length);
+        }
 
-        Info(DateTimeZone zone, long periodStart) {
-            iPeriodStart = periodStart;
-            iZoneRef = zone;
+        /**
+         * Counts a collision, returning true for exactly one caller once the
+         * collisions exceed the size, unless the table is at the maximum size.
+         */
+        boolean addCollision() {
+            int length = length();
+            return iCollisions.incrementAndGet() == length + 1 && length < cMaximumSize;
         }
+    }
 
-        public String getNameKey(long millis) {
-            if (iNextInfo == null || millis < iNextInfo.iPeriodStart) {
-                if (iNameKey == null) {
-                    iNameKey = iZoneRef.getNameKey(iPeriodStart);
-                }
-                return iNameKey;
+    /**
+     * The cached data of one period of 2^32 milliseconds.
+     */
+    private static abstract class PeriodInfo {
+        final int iPeriod;
+
+        PeriodInfo(int period) {
+            iPeriod = period;
+        }
+    }
+
+    /**
+     * The offsets and name keys within one period of 2^32 milliseconds, held
+     * in parallel arrays indexed by the start of each part of the period.
+     */
+    private final static class Info extends PeriodInfo {
+        // The first start has its lower 32 bits clear.
+        final long[] iStarts;
+        final int[] iOffsets;
+        final int[] iStandardOffsets;
+        final String[] iNameKeys;
+
+        Info(DateTimeZone zone, long[] starts) {
+            super((int)(starts[0] >> 32));
+            int size = starts.length;
+            iStarts = starts;
+            iOffsets = new int[size];
+            iStandardOffsets = new int[size];
+            iNameKeys = new String[size];
+            for (int i = 0; i < size; i++) {
+                iOffsets[i] = zone.getOffset(starts[i]);
+                iStandardOffsets[i] = zone.getStandardOffset(starts[i]);
+                iNameKeys[i] = zone.getNameKey(starts[i]);
             }
-            return iNextInfo.getNameKey(millis);
         }
 
-        public int getOffset(long millis) {
-            if (iNextInfo == null || millis < iNextInfo.iPeriodStart) {
-                if (iOffset == Integer.MIN_VALUE) {
-                    iOffset = iZoneRef.getOffset(iPeriodStart);
-                }
-                return iOffset;
+        int indexOf(long millis) {
+            long[] starts = iStarts;
+            int i = starts.length - 1;
+            while (i > 0 && millis < starts[i]) {
+                i--;
             }
-            return iNextInfo.getOffset(millis);
+            return i;
         }
+    }
 
-        public int getStandardOffset(long millis) {
-            if (iNextInfo == null || millis < iNextInfo.iPeriodStart) {
-                if (iStandardOffset == Integer.MIN_VALUE) {
-                    iStandardOffset = iZoneRef.getStandardOffset(iPeriodStart);
+    /**
+     * The offsets to convert local instants within one period of 2^32
+     * milliseconds of local time, held in parallel arrays indexed by the
+     * local start of each segment of the period.
+     */
+    private final static class LocalInfo extends PeriodInfo {
+        /** The offset of a segment that needs the generic algorithm. */
+        static final int UNSAFE = Integer.MIN_VALUE;
+        /** The distance from a transition beyond which a local instant is stable. */
+        private static final long MARGIN = 3L * DateTimeConstants.MILLIS_PER_DAY;
+
+        // The first start has its lower 32 bits clear.
+        final long[] iStarts;
+        final int[] iOffsets;
+
+        LocalInfo(DateTimeZone zone, long periodStart) {
+            super((int)(periodStart >> 32));
+            long periodEnd = periodStart | 0xffffffffL;
+            long[] starts = new long[4];
+            int[] offsets = new int[4];
+            int size = 0;
+            if (periodStart < Long.MIN_VALUE + MARGIN || periodEnd > Long.MAX_VALUE - 2 * MARGIN) {
+                starts[size] = periodStart;
+                offsets[size++] = UNSAFE;
+            } else {
+                long transition = periodStart - MARGIN;
+                long stableStart = periodStart;
+                int offset = zone.getOffset(transition);
+                while (true) {
+                    long next = zone.nextTransition(transition);
+                    long stableEnd = (next <= transition ? Long.MAX_VALUE : next - MARGIN);
+                    if (stableEnd > stableStart) {
+                        int stableOffset = (Math.abs(offset) < DateTimeConstants.MILLIS_PER_DAY ? offset : UNSAFE);
+                        if (size == 0 || offsets[size - 1] != stableOffset) {
+                            if (size == starts.length) {
+                                starts = grow(starts);
+                                offsets = grow(offsets);
+                            }
+                            starts[size] = stableStart;
+                            offsets[size++] = stableOffset;
+                        }
+                    }
+                    if (stableEnd > periodEnd) {
+                        break;
+                    }
+                    if (size == 0 || offsets[size - 1] != UNSAFE) {
+                        if (size == starts.length) {
+                            starts = grow(starts);
+                            offsets = grow(offsets);
+                        }
+                        starts[size] = Math.max(stableStart, stableEnd);
+                        offsets[size++] = UNSAFE;
+                    }
+                    transition = next;
+                    stableStart = next + MARGIN;
+                    offset = zone.getOffset(next);
                 }
-                return iStandardOffset;
             }
-            return iNextInfo.getStandardOffset(millis);
+            iStarts = new long[size];
+            iOffsets = new int[size];
+            System.arraycopy(starts, 0, iStarts, 0, size);
+            System.arraycopy(offsets, 0, iOffsets, 0, size);
+        }
+
+        private static long[] grow(long[] array) {
+            long[] grown = new long[array.length * 2];
+            System.arraycopy(array, 0, grown, 0, array.length);
+            return grown;
+        }
+
+        private static int[] grow(int[] array) {
+            int[] grown = new int[array.length * 2];
+            System.arraycopy(array, 0, grown, 0, array.length);
+            return grown;
+        }
+
+        int indexOf(long millisLocal) {
+            long[] starts = iStarts;
+            int i = starts.length - 1;
+            while (i > 0 && millisLocal < starts[i]) {
+                i--;
+            }
+            return i;
         }
     }
 }
@@ -32,6 +32,7 @@ import java.util.Set;
 
 import org.joda.time.Chronology;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeConstants;
 import org.joda.time.DateTimeUtils;
 import org.joda.time.DateTimeZone;
 import org.joda.time.Period;
@@ -1493,6 +1494,8 @@ public class DateTimeZoneBuilder {
         private final String[] iNameKeys;
 
         private final DSTZone iTailZone;
+        /** The transitions of the tail zone up to the horizon, created on first use. */
+        private transient volatile TailTable iTailTable;
 
         /**
          * Constructor used ONLY for valid input, loaded via static methods.
@@ -1524,6 +1527,11 @@ public class DateTimeZoneBuilder {
             if (iTailZone == null) {
                 return iNameKeys[i - 1];
             }
+            TailTable table = getTailTable();
+            int j = table.find(instant);
+            if (j < table.iLast) {
+                return table.iNameKeys[j];
+            }
             return iTailZone.getNameKey(instant);
         }
 
@@ -1543,6 +1551,11 @@ public class DateTimeZoneBuilder {
             if (iTailZone == null) {
                 return iWallOffsets[i - 1];
             }
+            TailTable table = getTailTable();
+            int j = table.find(instant);
+            if (j < table.iLast) {
+                return table.iWallOffsets[j];
+            }
             return iTailZone.getOffset(instant);
         }
 
@@ -1562,6 +1575,11 @@ public class DateTimeZoneBuilder {
             if (iTailZone == null) {
                 return iStandardOffsets[i - 1];
             }
+            TailTable table = getTailTable();
+            int j = table.find(instant);
+            if (j < table.iLast) {
+                return table.iStandardOffsets[j];
+            }
             return iTailZone.getStandardOffset(instant);
         }
 
@@ -1579,6 +1597,11 @@ public class DateTimeZoneBuilder {
             if (iTailZone == null) {
                 return instant;
             }
+            TailTable table = getTailTable();
+            int j = table.find(instant);
+            if (j >= 0 && j < table.iLast) {
+                return table.iTransitions[j + 1];
+            }
             long end = transitions[transitions.length - 1];
             if (instant < end) {
                 instant = end;
@@ -1606,6 +1629,11 @@ public class DateTimeZoneBuilder {
                 return instant;
             }
             if (iTailZone != null) {
+                TailTable table = getTailTable();
+                int j = table.find(instant);
+                if (j > 0 && j < table.iLast) {
+                    return table.iTransitions[j] - 1;
+                }
                 long prev = iTailZone.previousTransition(instant);
                 if (prev < instant) {
                     return prev;
@@ -1618,6 +1646,21 @@ public class DateTimeZoneBuilder {
             return instant;
         }
 
+        /**
+         * Gets the transitions of the tail zone up to the horizon.
+         * Racing threads may each create the table, but the tables are equal.
+         * 
+         * @return the table, not null
+         */
+        private TailTable getTailTable() {
+            TailTable table = iTailTable;
+            if (table == null) {
+                table = TailTable.create(iTransitions[iTransitions.length - 1], iTailZone);
+                iTailTable = table;
+            }
+            return table;
+        }
+
         public boolean equals(Object obj) {
             if (this == obj) {
                 return true;
@@ -1728,4 +1771,126 @@ public class DateTimeZoneBuilder {
             return false;
         }
     }
+
+    /**
+     * The transitions of a tail zone, precalculated from the last transition of
+     * a PrecalculatedZone up to the horizon, so that the recurrence rules need
+     * not be evaluated for instants before the horizon.
+     * <p>
+     * The horizon is the start of the year given by the system property
+     * <code>org.joda.time.tz.DateTimeZoneBuilder.horizon</code>, default 2100.
+     * The first entry is the last transition of the PrecalculatedZone and the last
+     * entry is the first transition at or after the horizon. An instant at or
+     * after the last entry must be handled by the tail zone itself.
+     */
+    private static final class TailTable {
+        /** The horizon in millis. */
+        private static final long cHorizon = horizonMillis(getHorizonYear());
+
+        private static int getHorizonYear() {
+            try {
+                return Integer.getInteger("org.joda.time.tz.DateTimeZoneBuilder.horizon", 2100).intValue();
+            } catch (SecurityException ex) {
+                return 2100;
+            }
+        }
+
+        /**
+         * Gets the millis at the start of the year in UTC, without relying on
+         * a chronology, as this is called while loading zones.
+         */
+        private static long horizonMillis(int year) {
+            year = Math.max(1970, Math.min(year, 100000));
+            long days = 365L * (year - 1970)
+                + ((year - 1) / 4 - 1969 / 4)
+                - ((year - 1) / 100 - 1969 / 100)
+                + ((year - 1) / 400 - 1969 / 400);
+            return days * DateTimeConstants.MILLIS_PER_DAY;
+        }
+
+        static TailTable create(long start, DSTZone tailZone) {
+            long[] transitions = new long[64];
+            int[] wallOffsets = new int[64];
+            int[] standardOffsets = new int[64];
+            String[] nameKeys = new String[64];
+            int size = 0;
+            long instant = start;
+            while (true) {
+                if (size == transitions.length) {
+                    transitions = copyOf(transitions, size * 2);
+                    wallOffsets = copyOf(wallOffsets, size * 2);
+                    standardOffsets = copyOf(standardOffsets, size * 2);
+                    String[] keys = new String[size * 2];
+                    System.arraycopy(nameKeys, 0, keys, 0, size);
+                    nameKeys = keys;
+                }
+                transitions[size] = instant;
+                wallOffsets[size] = tailZone.getOffset(instant);
+                standardOffsets[size] = tailZone.getStandardOffset(instant);
+                nameKeys[size] = tailZone.getNameKey(instant);
+                size++;
+                if (instant >= cHorizon) {
+                    break;
+                }
+                long next = tailZone.nextTransition(instant);
+                if (next <= instant) {
+                    break;
+                }
+                instant = next;
+            }
+            String[] keys = new String[size];
+            System.arraycopy(nameKeys, 0, keys, 0, size);
+            return new TailTable(copyOf(transitions, size), copyOf(wallOffsets, size),
+                                 copyOf(standardOffsets, size), keys);
+        }
+
+        private static long[] copyOf(long[] array, int size) {
+            long[] copy = new long[size];
+            System.arraycopy(array, 0, copy, 0, Math.min(size, array.length));
+            return copy;
+        }
+
+        private static int[] copyOf(int[] array, int size) {
+            int[] copy = new int[size];
+            System.arraycopy(array, 0, copy, 0, Math.min(size, array.length));
+            return copy;
+        }
+
+        final long[] iTransitions;
+        final int[] iWallOffsets;
+        final int[] iStandardOffsets;
+        final String[] iNameKeys;
+        /** The index of the last entry. */
+        final int iLast;
+
+        private TailTable(long[] transitions, int[] wallOffsets,
+                          int[] standardOffsets, String[] nameKeys) {
+            iTransitions = transitions;
+            iWallOffsets = wallOffsets;
+            iStandardOffsets = standardOffsets;
+            iNameKeys = nameKeys;
+            iLast = transitions.length - 1;
+        }
+
+        /**
+         * Finds the index of the last transition at or before the instant.
+         * The search halves the range without an early exit, so the loop
+         * always runs the same number of times and the comparison can be
+         * compiled to a conditional move.
+         * 
+         * @param instant  the instant to find
+         * @return the index, -1 if before the first transition
+         */
+        int find(long instant) {
+            long[] transitions = iTransitions;
+            int base = 0;
+            int n = transitions.length;
+            while (n > 1) {
+                int half = n >>> 1;
+                base = (transitions[base + half] <= instant) ? base + half : base;
+                n -= half;
+            }
+            return (transitions[base] <= instant) ? base : base - 1;
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- *  Copyright 2001-2011 Stephen Colebourne
+ *  Copyright 2001-2015 Stephen Colebourne
  *
  *  Licensed under the Apache License, Version 2.0 (the "License");
  *  you may not use this file except in compliance with the License.
@@ -16,9 +16,14 @@
 package org.joda.time.tz;
 
 import java.text.DateFormatSymbols;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.joda.time.DateTimeUtils;
 
@@ -26,23 +31,52 @@ import org.joda.time.DateTimeUtils;
  * The default name provider acquires localized names from
  * {@link DateFormatSymbols java.text.DateFormatSymbols}.
  * <p>
+ * The names of every zone in a locale are extracted together the first time
+ * the locale is used, and are then read without locking. The names for a set
+ * of locales can be built up front by passing them to the constructor, or by
+ * setting the system property
+ * <code>org.joda.time.tz.DefaultNameProvider.locales</code> to a comma
+ * separated list of locales, such as <code>en_GB,fr,de_DE</code>.
+ * <p>
  * DefaultNameProvider is thread-safe and immutable.
  *
  * @author Brian S O'Neill
  * @since 1.0
  */
-@SuppressWarnings("unchecked")
 public class DefaultNameProvider implements NameProvider {
-    // locale -> (id -> (nameKey -> [shortName, name]))
-    private HashMap<Locale, Map<String, Map<String, Object>>> iByLocaleCache = createCache();
-    private HashMap<Locale, Map<String, Map<Boolean, Object>>> iByLocaleCache2 = createCache();
 
+    /** The names by locale. */
+    private final ConcurrentHashMap<Locale, LocaleNames> iByLocale = new ConcurrentHashMap<Locale, LocaleNames>();
+    /** The english zone strings by id, used to map name keys. */
+    private volatile Map<String, String[]> iEnglishZoneStrings;
+
+    /**
+     * Constructor, building the names of the locales in the system property.
+     */
     public DefaultNameProvider() {
+        this(getLocalesProperty());
+    }
+
+    /**
+     * Constructor, building the names of the specified locales.
+     *
+     * @param locales  the locales to build names for, null or empty for none
+     * @since 2.9
+     */
+    public DefaultNameProvider(Collection<Locale> locales) {
+        super();
+        if (locales != null) {
+            for (Iterator<Locale> it = locales.iterator(); it.hasNext(); ) {
+                Locale locale = it.next();
+                if (locale != null) {
+                    getLocaleNames(locale);
+                }
+            }
+        }
     }
 
     //-----------------------------------------------------------------------
     // retained original code for name lookup, not used in normal code
-    // this code could be refactored to avoid duplication, but leaving it as is ensures backward compatibility
     public String getShortName(Locale locale, String id, String nameKey) {
         String[] nameSet = getNameSet(locale, id, nameKey);
         return nameSet == null ? null : nameSet[0];
@@ -53,50 +87,12 @@ public class DefaultNameProvider implements NameProvider {
         return nameSet == null ? null : nameSet[1];
     }
 
-    private synchronized String[] getNameSet(Locale locale, String id, String nameKey) {
+    private String[] getNameSet(Locale locale, String id, String nameKey) {
         if (locale == null || id == null || nameKey == null) {
             return null;
         }
-
-        Map<String, Map<String, Object>> byIdCache = iByLocaleCache.get(locale);
-        if (byIdCache == null) {
-            iByLocaleCache.put(locale, byIdCache = createCache());
-        }
-
-        Map<String, Object> byNameKeyCache = byIdCache.get(id);
-        if (byNameKeyCache == null) {
-            byIdCache.put(id, byNameKeyCache = createCache());
-            
-            String[][] zoneStringsEn = DateTimeUtils.getDateFormatSymbols(Locale.ENGLISH).getZoneStrings();
-            String[] setEn = null;
-            for (String[] strings : zoneStringsEn) {
-                if (strings != null && strings.length >= 5 && id.equals(strings[0])) {
-                    setEn = strings;
-                    break;
-                }
-            }
-            String[][] zoneStringsLoc = DateTimeUtils.getDateFormatSymbols(locale).getZoneStrings();
-            String[] setLoc = null;
-            for (String[] strings : zoneStringsLoc) {
-                if (strings != null && strings.length >= 5 && id.equals(strings[0])) {
-                    setLoc = strings;
-                    break;
-                }
-            }
-            
-            if (setEn != null && setLoc != null) {
-                byNameKeyCache.put(setEn[2], new String[] {setLoc[2], setLoc[1]});
-                // need to handle case where summer and winter have the same
-                // abbreviation, such as EST in Australia [1716305]
-                // we handle this by appending "-Summer", cf ZoneInfoCompiler
-                if (setEn[2].equals(setEn[4])) {
-                    byNameKeyCache.put(setEn[4] + "-Summer", new String[] {setLoc[4], setLoc[3]});
-                } else {
-                    byNameKeyCache.put(setEn[4], new String[] {setLoc[4], setLoc[3]});
-                }
-            }
-        }
-        return (String[]) byNameKeyCache.get(nameKey);
+        Map<String, String[]> byNameKey = getLocaleNames(locale).iByNameKey.get(id);
+        return byNameKey == null ? null : byNameKey.get(nameKey);
     }
 
     //-----------------------------------------------------------------------
@@ -112,50 +108,119 @@ public class DefaultNameProvider implements NameProvider {
         return nameSet == null ? null : nameSet[1];
     }
 
-    private synchronized String[] getNameSet(Locale locale, String id, String nameKey, boolean standardTime) {
+    private String[] getNameSet(Locale locale, String id, String nameKey, boolean standardTime) {
         if (locale == null || id == null || nameKey == null) {
             return null;
         }
         if (id.startsWith("Etc/")) {
             id = id.substring(4);
         }
+        String[][] nameSets = getLocaleNames(locale).iByStandardTime.get(id);
+        return nameSets == null ? null : nameSets[standardTime ? 0 : 1];
+    }
 
-        Map<String, Map<Boolean, Object>> byIdCache = iByLocaleCache2.get(locale);
-        if (byIdCache == null) {
-            iByLocaleCache2.put(locale, byIdCache = createCache());
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the names of a locale, building them if necessary.
+     * <p>
+     * Two threads may build the same locale at once, in which case the names
+     * built first are kept.
+     *
+     * @param locale  the locale, not null
+     * @return the names, not null
+     */
+    private LocaleNames getLocaleNames(Locale locale) {
+        LocaleNames names = iByLocale.get(locale);
+        if (names == null) {
+            Map<String, String[]> english = iEnglishZoneStrings;
+            if (english == null) {
+                english = indexZoneStrings(Locale.ENGLISH);
+                iEnglishZoneStrings = english;
+            }
+            names = new LocaleNames(english, indexZoneStrings(locale));
+            LocaleNames existing = iByLocale.putIfAbsent(locale, names);
+            if (existing != null) {
+                names = existing;
+            }
         }
+        return names;
+    }
 
-        Map<Boolean, Object> byNameKeyCache = byIdCache.get(id);
-        if (byNameKeyCache == null) {
-            byIdCache.put(id, byNameKeyCache = createCache());
-            
-            String[][] zoneStringsEn = DateTimeUtils.getDateFormatSymbols(Locale.ENGLISH).getZoneStrings();
-            String[] setEn = null;
-            for (String[] strings : zoneStringsEn) {
-                if (strings != null && strings.length >= 5 && id.equals(strings[0])) {
-                    setEn = strings;
-                    break;
-                }
-            }
-            String[][] zoneStringsLoc = DateTimeUtils.getDateFormatSymbols(locale).getZoneStrings();
-            String[] setLoc = null;
-            for (String[] strings : zoneStringsLoc) {
-                if (strings != null && strings.length >= 5 && id.equals(strings[0])) {
-                    setLoc = strings;
-                    break;
-                }
+    /**
+     * Indexes the zone strings of a locale by id, keeping the first entry of
+     * each id that has all five strings.
+     *
+     * @param locale  the locale, not null
+     * @return the zone strings by id, not null
+     */
+    private static Map<String, String[]> indexZoneStrings(Locale locale) {
+        String[][] zoneStrings = DateTimeUtils.getDateFormatSymbols(locale).getZoneStrings();
+        Map<String, String[]> index = new HashMap<String, String[]>(zoneStrings.length * 2);
+        for (String[] strings : zoneStrings) {
+            if (strings != null && strings.length >= 5 && strings[0] != null && index.containsKey(strings[0]) == false) {
+                index.put(strings[0], strings);
             }
-            
-            if (setEn != null && setLoc != null) {
-                byNameKeyCache.put(Boolean.TRUE, new String[] {setLoc[2], setLoc[1]});
-                byNameKeyCache.put(Boolean.FALSE, new String[] {setLoc[4], setLoc[3]});
+        }
+        return index;
+    }
+
+    private static Collection<Locale> getLocalesProperty() {
+        String property;
+        try {
+            property = System.getProperty("org.joda.time.tz.DefaultNameProvider.locales");
+        } catch (SecurityException ex) {
+            property = null;
+        }
+        if (property == null) {
+            return null;
+        }
+        List<Locale> locales = new ArrayList<Locale>();
+        String[] split = property.split(",");
+        for (int i = 0; i < split.length; i++) {
+            String[] parts = split[i].trim().split("_", 3);
+            if (parts[0].length() > 0) {
+                locales.add(new Locale(parts[0], parts.length > 1 ? parts[1] : "", parts.length > 2 ? parts[2] : ""));
             }
         }
-        return (String[]) byNameKeyCache.get(Boolean.valueOf(standardTime));
+        return locales;
     }
 
     //-----------------------------------------------------------------------
-    private HashMap createCache() {
-        return new HashMap(7);
+    /**
+     * The names of every zone in one locale, never changed once built.
+     */
+    private static final class LocaleNames {
+        // id -> (nameKey -> [shortName, name])
+        final Map<String, Map<String, String[]>> iByNameKey;
+        // id -> [[standard shortName, name], [summer shortName, name]]
+        final Map<String, String[][]> iByStandardTime;
+
+        LocaleNames(Map<String, String[]> english, Map<String, String[]> localized) {
+            iByNameKey = new HashMap<String, Map<String, String[]>>(english.size() * 2);
+            iByStandardTime = new HashMap<String, String[][]>(english.size() * 2);
+            for (Iterator<Map.Entry<String, String[]>> it = english.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, String[]> entry = it.next();
+                String[] setEn = entry.getValue();
+                String[] setLoc = localized.get(entry.getKey());
+                if (setLoc == null) {
+                    continue;
+                }
+                String[] standard = new String[] {setLoc[2], setLoc[1]};
+                String[] summer = new String[] {setLoc[4], setLoc[3]};
+                Map<String, String[]> byNameKey = new HashMap<String, String[]>(4);
+                byNameKey.put(setEn[2], standard);
+                // need to handle case where summer and winter have the same
+                // abbreviation, such as EST in Australia [1716305]
+                // we handle this by appending "-Summer", cf ZoneInfoCompiler
+                if (setEn[2].equals(setEn[4])) {
+                    byNameKey.put(setEn[4] + "-Summer", summer);
+                } else {
+                    byNameKey.put(setEn[4], summer);
+                }
+                iByNameKey.put(entry.getKey(), byNameKey);
+                iByStandardTime.put(entry.getKey(), new String[][] {standard, summer});
+            }
+        }
     }
+
 }
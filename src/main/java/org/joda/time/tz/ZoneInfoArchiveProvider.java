@@ -0,0 +1,419 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.tz;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.lang.ref.SoftReference;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.joda.time.DateTimeZone;
+
+/**
+ * ZoneInfoArchiveProvider loads zones from the single file archive generated
+ * by {@link ZoneInfoCompiler}.
+ * <p>
+ * The archive is memory mapped when it is a file, and only the directory of
+ * ids is read up front. Each zone is decoded directly from the mapped data the
+ * first time it is requested, without opening a stream.
+ * <p>
+ * Decoded zones are held by soft references, so they can be reclaimed under
+ * memory pressure and decoded again when next requested. Zones can instead be
+ * pinned, holding them strongly once decoded. The ids to pin are passed to the
+ * constructor, or set by the system property
+ * <code>org.joda.time.tz.ZoneInfoArchiveProvider.pinned</code> as a comma
+ * separated list of ids, where <code>*</code> pins every zone.
+ * <p>
+ * This provider can be selected by setting the system property
+ * <code>org.joda.time.DateTimeZone.Provider</code> to the name of this class.
+ * <p>
+ * ZoneInfoArchiveProvider is thread-safe and publicly immutable.
+ *
+ * @since 2.9
+ */
+public class ZoneInfoArchiveProvider implements Provider {
+
+    /** The name of the archive file. */
+    static final String ARCHIVE_NAME = "ZoneInfoArchive";
+    /** The first four bytes of the archive, 'JZA1'. */
+    static final int MAGIC = 0x4A5A4131;
+    /** The id that pins every zone. */
+    private static final String PIN_ALL = "*";
+
+    /** The archive data, read only access through duplicates. */
+    private final ByteBuffer iData;
+    /** The position of the zone data in the archive. */
+    private final int iDataStart;
+    /** Maps ids to the ids of the zones they use. */
+    private final Map<String, String> iLinks;
+    /** Maps the ids of zones to the offset and length of their data. */
+    private final Map<String, long[]> iDirectory;
+    /** The available ids. */
+    private final Set<String> iZoneInfoKeys;
+    /** The ids of the zones to hold strongly, null if all. */
+    private final Set<String> iPinned;
+    /** Maps ids to DateTimeZones or SoftReferences to DateTimeZones. */
+    private final Map<String, Object> iZones = new ConcurrentHashMap<String, Object>();
+
+    /**
+     * Loads the archive from the classpath location <code>org/joda/time/tz/data</code>,
+     * pinning the zones in the system property.
+     *
+     * @throws IOException if the archive cannot be read
+     */
+    public ZoneInfoArchiveProvider() throws IOException {
+        this(readResource("org/joda/time/tz/data/" + ARCHIVE_NAME), getPinnedProperty());
+    }
+
+    /**
+     * Memory maps the archive file, pinning the zones in the system property.
+     *
+     * @param file  the archive file, or the directory holding it
+     * @throws IOException if the archive cannot be read
+     */
+    public ZoneInfoArchiveProvider(File file) throws IOException {
+        this(file, getPinnedProperty());
+    }
+
+    /**
+     * Memory maps the archive file, pinning the specified zones.
+     *
+     * @param file  the archive file, or the directory holding it
+     * @param pinnedIds  the ids of the zones to hold strongly, containing "*" to
+     *  pin all zones, null or empty to pin none
+     * @throws IOException if the archive cannot be read
+     */
+    public ZoneInfoArchiveProvider(File file, Set<String> pinnedIds) throws IOException {
+        this(mapFile(file), pinnedIds);
+    }
+
+    /**
+     * Restricted constructor.
+     */
+    private ZoneInfoArchiveProvider(ByteBuffer data, Set<String> pinnedIds) throws IOException {
+        super();
+        iData = data;
+        Map<String, String> links = new HashMap<String, String>();
+        Map<String, long[]> directory = new HashMap<String, long[]>();
+        try {
+            ByteBuffer header = data.duplicate();
+            DataInput in = new BufferInput(header);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Invalid zone info archive");
+            }
+            String[] ids = new String[in.readInt()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = in.readUTF().intern();
+            }
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                links.put(ids[in.readInt()], ids[in.readInt()]);
+            }
+            for (int i = 0; i < ids.length; i++) {
+                int offset = in.readInt();
+                int length = in.readInt();
+                if (offset >= 0) {
+                    directory.put(ids[i], new long[] {offset, length});
+                }
+            }
+            iDataStart = header.position();
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            throw new IOException("Corrupt zone info archive");
+        }
+        links.put("UTC", "UTC");
+        iZones.put("UTC", DateTimeZone.UTC);
+        iLinks = links;
+        iDirectory = directory;
+        iZoneInfoKeys = Collections.unmodifiableSortedSet(new TreeSet<String>(links.keySet()));
+        if (pinnedIds == null) {
+            iPinned = Collections.emptySet();
+        } else if (pinnedIds.contains(PIN_ALL)) {
+            iPinned = null;
+        } else {
+            iPinned = new HashSet<String>(pinnedIds);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * If an error is thrown while decoding zone data, the exception is logged
+     * to system error and null is returned.
+     *
+     * @param id  the id to load
+     * @return the loaded zone
+     */
+    public DateTimeZone getZone(String id) {
+        if (id == null) {
+            return null;
+        }
+        String zoneId = iLinks.get(id);
+        if (zoneId == null) {
+            return null;
+        }
+        Object obj = iZones.get(zoneId);
+        if (obj instanceof DateTimeZone) {
+            return (DateTimeZone) obj;
+        }
+        if (obj != null) {
+            @SuppressWarnings("unchecked")
+            SoftReference<DateTimeZone> ref = (SoftReference<DateTimeZone>) obj;
+            DateTimeZone tz = ref.get();
+            if (tz != null) {
+                return tz;
+            }
+        }
+        return loadZoneData(zoneId);
+    }
+
+    /**
+     * Gets a list of all the available zone ids.
+     *
+     * @return the zone ids
+     */
+    public Set<String> getAvailableIDs() {
+        return iZoneInfoKeys;
+    }
+
+    /**
+     * Called if an exception is thrown from getZone while decoding zone data.
+     *
+     * @param ex  the exception
+     */
+    protected void uncaughtException(Exception ex) {
+        ex.printStackTrace();
+    }
+
+    /**
+     * Decodes the time zone data for one id.
+     *
+     * @param id  the id of the zone
+     * @return the zone
+     */
+    private DateTimeZone loadZoneData(String id) {
+        long[] entry = iDirectory.get(id);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            ByteBuffer buf = iData.duplicate();
+            buf.position(iDataStart + (int) entry[0]);
+            buf.limit(iDataStart + (int) (entry[0] + entry[1]));
+            DateTimeZone tz = DateTimeZoneBuilder.readFrom(new BufferInput(buf), id);
+            if (iPinned == null || iPinned.contains(id)) {
+                iZones.put(id, tz);
+            } else {
+                iZones.put(id, new SoftReference<DateTimeZone>(tz));
+            }
+            return tz;
+        } catch (IOException ex) {
+            uncaughtException(ex);
+            return null;
+        } catch (RuntimeException ex) {
+            uncaughtException(ex);
+            return null;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    private static Set<String> getPinnedProperty() {
+        String pinned;
+        try {
+            pinned = System.getProperty("org.joda.time.tz.ZoneInfoArchiveProvider.pinned");
+        } catch (SecurityException ex) {
+            pinned = null;
+        }
+        if (pinned == null) {
+            return null;
+        }
+        Set<String> ids = new HashSet<String>();
+        String[] split = pinned.split(",");
+        for (int i = 0; i < split.length; i++) {
+            String id = split[i].trim();
+            if (id.length() > 0) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static ByteBuffer mapFile(File file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("No archive file provided");
+        }
+        if (file.isDirectory()) {
+            file = new File(file, ARCHIVE_NAME);
+        }
+        if (!file.exists()) {
+            throw new IOException("Archive file doesn't exist: " + file);
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            // the mapping remains valid once the file is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            raf.close();
+        }
+    }
+
+    private static ByteBuffer readResource(String path) throws IOException {
+        ClassLoader loader = ZoneInfoArchiveProvider.class.getClassLoader();
+        InputStream in = (loader != null ? loader.getResourceAsStream(path) : ClassLoader.getSystemResourceAsStream(path));
+        if (in == null) {
+            throw new IOException("Resource not found: \"" + path + "\"");
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+            byte[] buf = new byte[8192];
+            int read;
+            while ((read = in.read(buf)) >= 0) {
+                out.write(buf, 0, read);
+            }
+            return ByteBuffer.wrap(out.toByteArray());
+        } finally {
+            in.close();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Reads primitive data from a buffer, with the byte order of a DataInputStream.
+     */
+    static final class BufferInput implements DataInput {
+        private final ByteBuffer iBuffer;
+
+        BufferInput(ByteBuffer buffer) {
+            iBuffer = buffer;
+        }
+
+        public void readFully(byte[] b) throws IOException {
+            readFully(b, 0, b.length);
+        }
+
+        public void readFully(byte[] b, int off, int len) throws IOException {
+            try {
+                iBuffer.get(b, off, len);
+            } catch (BufferUnderflowException ex) {
+                throw new EOFException();
+            }
+        }
+
+        public int skipBytes(int n) {
+            n = Math.max(0, Math.min(n, iBuffer.remaining()));
+            iBuffer.position(iBuffer.position() + n);
+            return n;
+        }
+
+        public boolean readBoolean() throws IOException {
+            return readByte() != 0;
+        }
+
+        public byte readByte() throws IOException {
+            try {
+                return iBuffer.get();
+            } catch (BufferUnderflowException ex) {
+                throw new EOFException();
+            }
+        }
+
+        public int readUnsignedByte() throws IOException {
+            return readByte() & 0xff;
+        }
+
+        public short readShort() throws IOException {
+            try {
+                return iBuffer.getShort();
+            } catch (BufferUnderflowException ex) {
+                throw new EOFException();
+            }
+        }
+
+        public int readUnsignedShort() throws IOException {
+            return readShort() & 0xffff;
+        }
+
+        public char readChar() throws IOException {
+            return (char) readShort();
+        }
+
+        public int readInt() throws IOException {
+            try {
+                return iBuffer.getInt();
+            } catch (BufferUnderflowException ex) {
+                throw new EOFException();
+            }
+        }
+
+        public long readLong() throws IOException {
+            try {
+                return iBuffer.getLong();
+            } catch (BufferUnderflowException ex) {
+                throw new EOFException();
+            }
+        }
+
+        public float readFloat() throws IOException {
+            return Float.intBitsToFloat(readInt());
+        }
+
+        public double readDouble() throws IOException {
+            return Double.longBitsToDouble(readLong());
+        }
+
+        public String readLine() {
+            // as DataInputStream, each byte is a character and the line ends
+            // at a line feed, a carriage return, or both
+            if (iBuffer.hasRemaining() == false) {
+                return null;
+            }
+            StringBuilder buf = new StringBuilder();
+            while (iBuffer.hasRemaining()) {
+                char c = (char) (iBuffer.get() & 0xff);
+                if (c == '\n') {
+                    break;
+                }
+                if (c == '\r') {
+                    if (iBuffer.hasRemaining() && iBuffer.get(iBuffer.position()) == '\n') {
+                        iBuffer.get();
+                    }
+                    break;
+                }
+                buf.append(c);
+            }
+            return buf.toString();
+        }
+
+        public String readUTF() throws IOException {
+            return DataInputStream.readUTF(this);
+        }
+    }
+
+}
@@ -15,7 +15,11 @@
  */
 package org.joda.time.tz;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -23,15 +27,25 @@ import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Properties;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import org.joda.time.Chronology;
 import org.joda.time.DateTime;
@@ -50,6 +64,9 @@ import org.joda.time.format.ISODateTimeFormat;
  * compiled data files. {@link ZoneInfoProvider} loads the encoded files and
  * converts them back into {@link DateTimeZone} objects.
  * <p>
+ * The encoded zones are also written to a single indexed archive, which
+ * {@link ZoneInfoArchiveProvider} memory maps.
+ * <p>
  * Although this tool is similar to zic, the binary formats are not
  * compatible. The latest IANA time zone database files may be obtained
  * <a href="http://www.iana.org/time-zones">here</a>.
@@ -65,6 +82,11 @@ public class ZoneInfoCompiler {
 
     static Chronology cLenientISO;
 
+    /** The name of the file holding the fingerprints of an incremental compile. */
+    static final String FINGERPRINTS_NAME = "ZoneInfoFingerprints";
+    /** The version of the compiled format, included in each fingerprint. */
+    private static final String FINGERPRINT_VERSION = "1";
+
     //-----------------------------------------------------------------------
     /**
      * Launches the ZoneInfoCompiler tool.
@@ -75,6 +97,8 @@ public class ZoneInfoCompiler {
      *   -src &lt;directory&gt;    Specify where to read source files
      *   -dst &lt;directory&gt;    Specify where to write generated files
      *   -verbose            Output verbosely (default false)
+     *   -threads &lt;count&gt;    Number of threads to compile with (default processors)
+     *   -incremental        Only rebuild zones whose source changed (default false)
      * </pre>
      */
     public static void main(String[] args) throws Exception {
@@ -86,6 +110,8 @@ public class ZoneInfoCompiler {
         File inputDir = null;
         File outputDir = null;
         boolean verbose = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean incremental = false;
 
         int i;
         for (i=0; i<args.length; i++) {
@@ -96,6 +122,10 @@ public class ZoneInfoCompiler {
                     outputDir = new File(args[++i]);
                 } else if ("-verbose".equals(args[i])) {
                     verbose = true;
+                } else if ("-threads".equals(args[i])) {
+                    threads = Integer.parseInt(args[++i]);
+                } else if ("-incremental".equals(args[i])) {
+                    incremental = true;
                 } else if ("-?".equals(args[i])) {
                     printUsage();
                     return;
@@ -105,6 +135,9 @@ public class ZoneInfoCompiler {
             } catch (IndexOutOfBoundsException e) {
                 printUsage();
                 return;
+            } catch (NumberFormatException e) {
+                printUsage();
+                return;
             }
         }
 
@@ -120,6 +153,8 @@ public class ZoneInfoCompiler {
 
         ZoneInfoLogger.set(verbose);
         ZoneInfoCompiler zic = new ZoneInfoCompiler();
+        zic.setThreads(threads);
+        zic.setIncremental(incremental);
         zic.compile(outputDir, sources);
     }
 
@@ -129,6 +164,8 @@ public class ZoneInfoCompiler {
         System.out.println("  -src <directory>    Specify where to read source files");
         System.out.println("  -dst <directory>    Specify where to write generated files");
         System.out.println("  -verbose            Output verbosely (default false)");
+        System.out.println("  -threads <count>    Number of threads to compile with (default processors)");
+        System.out.println("  -incremental        Only rebuild zones whose source changed (default false)");
     }
 
     static DateTimeOfYear getStartOfYear() {
@@ -191,6 +228,62 @@ public class ZoneInfoCompiler {
         }
     }
 
+    /**
+     * Writes the archive of all zones, in the format read by {@link ZoneInfoArchiveProvider}.
+     * <p>
+     * The archive holds a table of all the ids, the mappings from ids to the
+     * ids of the zones they use, a directory of the offset and length of the
+     * data of each zone, and then the data of each zone as written by
+     * {@link DateTimeZoneBuilder#writeTo(String, DataOutput)}.
+     * 
+     * @param dout  the output stream
+     * @param zimap  maps string ids to DateTimeZone objects
+     * @param encoded  maps the ids of the zones to their encoded data
+     */
+    static void writeZoneInfoArchive(DataOutputStream dout, Map<String, DateTimeZone> zimap,
+                                     Map<String, byte[]> encoded) throws IOException {
+        // Build the string table, ordered by id.
+        TreeSet<String> ids = new TreeSet<String>();
+        for (Entry<String, DateTimeZone> entry : zimap.entrySet()) {
+            ids.add(entry.getKey());
+            ids.add(entry.getValue().getID());
+        }
+        Map<String, Integer> idToIndex = new HashMap<String, Integer>(ids.size() * 2);
+        dout.writeInt(ZoneInfoArchiveProvider.MAGIC);
+        dout.writeInt(ids.size());
+        for (String id : ids) {
+            idToIndex.put(id, Integer.valueOf(idToIndex.size()));
+            dout.writeUTF(id);
+        }
+
+        // Write the mappings.
+        dout.writeInt(zimap.size());
+        for (Entry<String, DateTimeZone> entry : zimap.entrySet()) {
+            dout.writeInt(idToIndex.get(entry.getKey()).intValue());
+            dout.writeInt(idToIndex.get(entry.getValue().getID()).intValue());
+        }
+
+        // Write the directory, indexed by id, then the data.
+        int offset = 0;
+        for (String id : ids) {
+            byte[] data = encoded.get(id);
+            if (data == null) {
+                dout.writeInt(-1);
+                dout.writeInt(0);
+            } else {
+                dout.writeInt(offset);
+                dout.writeInt(data.length);
+                offset += data.length;
+            }
+        }
+        for (String id : ids) {
+            byte[] data = encoded.get(id);
+            if (data != null) {
+                dout.write(data);
+            }
+        }
+    }
+
     static int parseYear(String str, int def) {
         str = str.toLowerCase();
         if (str.equals("minimum") || str.equals("min")) {
@@ -341,6 +434,12 @@ public class ZoneInfoCompiler {
     // List String pairs to link.
     private List<String> iBackLinks;
 
+    // Number of threads to parse and build with.
+    private int iThreads = 1;
+
+    // True to reuse zones whose source has not changed.
+    private boolean iIncremental;
+
     public ZoneInfoCompiler() {
         iRuleSets = new HashMap<String, RuleSet>();
         iZones = new ArrayList<Zone>();
@@ -348,6 +447,32 @@ public class ZoneInfoCompiler {
         iBackLinks = new ArrayList<String>();
     }
 
+    /**
+     * Sets the number of threads used to parse source files and to build,
+     * write and verify zones. The output does not depend on the number of threads.
+     *
+     * @param threads  the number of threads, one or less to compile on the calling thread
+     * @since 2.9
+     */
+    public void setThreads(int threads) {
+        iThreads = threads;
+    }
+
+    /**
+     * Sets whether to compile incrementally.
+     * <p>
+     * When incremental, a fingerprint of the source of each zone and its rules
+     * is stored in the output directory. A zone whose fingerprint matches that
+     * of the previous compile is read back from its compiled file, rather than
+     * being built and verified again.
+     *
+     * @param incremental  true to compile incrementally
+     * @since 2.9
+     */
+    public void setIncremental(boolean incremental) {
+        iIncremental = incremental;
+    }
+
     /**
      * Returns a map of ids to DateTimeZones.
      *
@@ -355,13 +480,24 @@ public class ZoneInfoCompiler {
      * @param sources optional list of source files to parse
      */
     public Map<String, DateTimeZone> compile(File outputDir, File[] sources) throws IOException {
-        if (sources != null) {
-            for (int i=0; i<sources.length; i++) {
-                BufferedReader in = new BufferedReader(new FileReader(sources[i]));
-                parseDataFile(in, "backward".equals(sources[i].getName()));
-                in.close();
+        ExecutorService executor = null;
+        if (iThreads > 1) {
+            executor = Executors.newFixedThreadPool(iThreads);
+        }
+        try {
+            return compile(outputDir, sources, executor);
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
             }
         }
+    }
+
+    private Map<String, DateTimeZone> compile(File outputDir, File[] sources,
+                                              ExecutorService executor) throws IOException {
+        if (sources != null) {
+            parseDataFiles(sources, executor);
+        }
 
         if (outputDir != null) {
             if (!outputDir.exists()) {
@@ -376,43 +512,55 @@ public class ZoneInfoCompiler {
 
         Map<String, DateTimeZone> map = new TreeMap<String, DateTimeZone>();
         Map<String, Zone> sourceMap = new TreeMap<String, Zone>();
+        Map<String, byte[]> encoded = new HashMap<String, byte[]>();
+        Properties fingerprints = null;
+        Properties newFingerprints = null;
+        if (iIncremental && outputDir != null) {
+            fingerprints = readFingerprints(outputDir);
+            newFingerprints = new Properties();
+        }
 
         System.out.println("Writing zoneinfo files");
         // write out the standard entries
+        List<Future<CompiledZone>> results = new ArrayList<Future<CompiledZone>>();
         for (int i = 0; i < iZones.size(); i++) {
             Zone zone = iZones.get(i);
-            DateTimeZoneBuilder builder = new DateTimeZoneBuilder();
-            zone.addToBuilder(builder, iRuleSets);
-            DateTimeZone tz = builder.toDateTimeZone(zone.iName, true);
-            if (test(tz.getID(), tz)) {
+            results.add(submit(executor, new ZoneTask(zone, zone.iName, outputDir, fingerprints)));
+        }
+        for (int i = 0; i < results.size(); i++) {
+            CompiledZone compiled = getResult(results.get(i));
+            DateTimeZone tz = compiled.iZone;
+            if (compiled.iValid) {
                 map.put(tz.getID(), tz);
-                sourceMap.put(tz.getID(), zone);
-                if (outputDir != null) {
-                    writeZone(outputDir, builder, tz);
-                }
+                sourceMap.put(tz.getID(), iZones.get(i));
+                compiled.store(encoded, newFingerprints);
             }
         }
 
         // revive zones from "good" links
+        results.clear();
         for (int i = 0; i < iGoodLinks.size(); i += 2) {
             String baseId = iGoodLinks.get(i);
             String alias = iGoodLinks.get(i + 1);
             Zone sourceZone = sourceMap.get(baseId);
             if (sourceZone == null) {
                 System.out.println("Cannot find source zone '" + baseId + "' to link alias '" + alias + "' to");
+                results.add(null);
             } else {
-                DateTimeZoneBuilder builder = new DateTimeZoneBuilder();
-                sourceZone.addToBuilder(builder, iRuleSets);
-                DateTimeZone revived = builder.toDateTimeZone(alias, true);
-                if (test(revived.getID(), revived)) {
-                    map.put(revived.getID(), revived);
-                    if (outputDir != null) {
-                        writeZone(outputDir, builder, revived);
-                    }
+                results.add(submit(executor, new ZoneTask(sourceZone, alias, outputDir, fingerprints)));
+            }
+        }
+        for (int i = 0; i < iGoodLinks.size(); i += 2) {
+            Future<CompiledZone> result = results.get(i / 2);
+            if (result != null) {
+                CompiledZone compiled = getResult(result);
+                DateTimeZone revived = compiled.iZone;
+                if (compiled.iValid) {
+                    compiled.store(encoded, newFingerprints);
                 }
                 map.put(revived.getID(), revived);
                 if (ZoneInfoLogger.verbose()) {
-                    System.out.println("Good link: " + alias + " -> " + baseId + " revived");
+                    System.out.println("Good link: " + iGoodLinks.get(i + 1) + " -> " + iGoodLinks.get(i) + " revived");
                 }
             }
         }
@@ -444,22 +592,253 @@ public class ZoneInfoCompiler {
                 file.getParentFile().mkdirs();
             }
 
+            // Sort and filter out any duplicates that match case.
+            Map<String, DateTimeZone> zimap = new TreeMap<String, DateTimeZone>(String.CASE_INSENSITIVE_ORDER);
+            zimap.putAll(map);
+
             OutputStream out = new FileOutputStream(file);
             DataOutputStream dout = new DataOutputStream(out);
             try {
-                // Sort and filter out any duplicates that match case.
-                Map<String, DateTimeZone> zimap = new TreeMap<String, DateTimeZone>(String.CASE_INSENSITIVE_ORDER);
-                zimap.putAll(map);
                 writeZoneInfoMap(dout, zimap);
             } finally {
                 dout.close();
             }
+
+            System.out.println("Writing " + ZoneInfoArchiveProvider.ARCHIVE_NAME);
+            file = new File(outputDir, ZoneInfoArchiveProvider.ARCHIVE_NAME);
+            dout = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            try {
+                writeZoneInfoArchive(dout, zimap, encoded);
+            } finally {
+                dout.close();
+            }
+        }
+
+        if (newFingerprints != null) {
+            writeFingerprints(outputDir, newFingerprints);
         }
 
         return map;
     }
 
-    private void writeZone(File outputDir, DateTimeZoneBuilder builder, DateTimeZone tz) throws IOException {
+    /**
+     * Parses the source files, in parallel if there is an executor, merging
+     * the results in the order of the files.
+     */
+    private void parseDataFiles(File[] sources, ExecutorService executor) throws IOException {
+        final boolean verbose = ZoneInfoLogger.verbose();
+        List<Future<ZoneInfoCompiler>> results = new ArrayList<Future<ZoneInfoCompiler>>();
+        for (int i = 0; i < sources.length; i++) {
+            final File source = sources[i];
+            results.add(submit(executor, new Callable<ZoneInfoCompiler>() {
+                public ZoneInfoCompiler call() throws IOException {
+                    ZoneInfoLogger.set(verbose);
+                    ZoneInfoCompiler parsed = new ZoneInfoCompiler();
+                    BufferedReader in = new BufferedReader(new FileReader(source));
+                    try {
+                        parsed.parseDataFile(in, "backward".equals(source.getName()));
+                    } finally {
+                        in.close();
+                    }
+                    return parsed;
+                }
+            }));
+        }
+        for (int i = 0; i < results.size(); i++) {
+            ZoneInfoCompiler parsed = getResult(results.get(i));
+            for (Entry<String, RuleSet> entry : parsed.iRuleSets.entrySet()) {
+                RuleSet rs = iRuleSets.get(entry.getKey());
+                if (rs == null) {
+                    iRuleSets.put(entry.getKey(), entry.getValue());
+                } else {
+                    rs.addRules(entry.getValue());
+                }
+            }
+            iZones.addAll(parsed.iZones);
+            iGoodLinks.addAll(parsed.iGoodLinks);
+            iBackLinks.addAll(parsed.iBackLinks);
+        }
+    }
+
+    /**
+     * Runs the task on the executor, or immediately if there is no executor.
+     */
+    private static <T> Future<T> submit(ExecutorService executor, Callable<T> task) {
+        if (executor != null) {
+            return executor.submit(task);
+        }
+        FutureTask<T> future = new FutureTask<T>(task);
+        future.run();
+        return future;
+    }
+
+    /**
+     * Gets the result of a task, rethrowing any exception it threw.
+     */
+    private static <T> T getResult(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compiling");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause.toString());
+        }
+    }
+
+    /**
+     * Gets the fingerprint of the source of a zone, covering the zone
+     * lines and all the rules they refer to.
+     */
+    private String fingerprint(Zone zone, String id) {
+        StringBuilder buf = new StringBuilder(1024);
+        buf.append(FINGERPRINT_VERSION).append('\n');
+        buf.append(System.getProperty("java.version")).append('\n');
+        buf.append(id).append('\n');
+        buf.append(zone);
+        for (Zone part = zone; part != null; part = part.iNext) {
+            RuleSet rs = (part.iRules == null ? null : iRuleSets.get(part.iRules));
+            if (rs != null) {
+                for (int i = 0; i < rs.iRules.size(); i++) {
+                    buf.append(rs.iRules.get(i));
+                }
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(buf.toString().getBytes("UTF-8"));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (int i = 0; i < digest.length; i++) {
+                hex.append(Character.forDigit((digest[i] >> 4) & 0xf, 16));
+                hex.append(Character.forDigit(digest[i] & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (Exception ex) {
+            throw new IllegalStateException("Unable to fingerprint zone: " + ex);
+        }
+    }
+
+    private static Properties readFingerprints(File outputDir) throws IOException {
+        Properties fingerprints = new Properties();
+        File file = new File(outputDir, FINGERPRINTS_NAME);
+        if (file.exists()) {
+            InputStream in = new FileInputStream(file);
+            try {
+                fingerprints.load(in);
+            } finally {
+                in.close();
+            }
+        }
+        return fingerprints;
+    }
+
+    private static void writeFingerprints(File outputDir, Properties fingerprints) throws IOException {
+        OutputStream out = new FileOutputStream(new File(outputDir, FINGERPRINTS_NAME));
+        try {
+            fingerprints.store(out, "ZoneInfoCompiler fingerprints");
+        } finally {
+            out.close();
+        }
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream((int) file.length());
+            byte[] buf = new byte[4096];
+            int read;
+            while ((read = in.read(buf)) >= 0) {
+                out.write(buf, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Builds, writes and verifies one zone, or reads it back if unchanged.
+     */
+    private final class ZoneTask implements Callable<CompiledZone> {
+        private final Zone iZone;
+        private final String iId;
+        private final File iOutputDir;
+        private final Properties iFingerprints;
+        private final boolean iVerbose;
+
+        ZoneTask(Zone zone, String id, File outputDir, Properties fingerprints) {
+            iZone = zone;
+            iId = id;
+            iOutputDir = outputDir;
+            iFingerprints = fingerprints;
+            iVerbose = ZoneInfoLogger.verbose();
+        }
+
+        public CompiledZone call() throws IOException {
+            ZoneInfoLogger.set(iVerbose);
+            String fingerprint = null;
+            if (iFingerprints != null) {
+                fingerprint = fingerprint(iZone, iId);
+                File file = new File(iOutputDir, iId);
+                if (fingerprint.equals(iFingerprints.getProperty(iId)) && file.isFile()) {
+                    if (ZoneInfoLogger.verbose()) {
+                        System.out.println("Unchanged " + iId);
+                    }
+                    byte[] data = readFile(file);
+                    DateTimeZone tz = DateTimeZoneBuilder.readFrom(new ByteArrayInputStream(data), iId);
+                    return new CompiledZone(tz, true, data, fingerprint);
+                }
+            }
+            DateTimeZoneBuilder builder = new DateTimeZoneBuilder();
+            iZone.addToBuilder(builder, iRuleSets);
+            DateTimeZone tz = builder.toDateTimeZone(iId, true);
+            if (!test(tz.getID(), tz)) {
+                return new CompiledZone(tz, false, null, null);
+            }
+            byte[] data = null;
+            if (iOutputDir != null) {
+                data = writeZone(iOutputDir, builder, tz);
+            }
+            return new CompiledZone(tz, true, data, fingerprint);
+        }
+    }
+
+    /**
+     * The result of compiling one zone.
+     */
+    private static final class CompiledZone {
+        final DateTimeZone iZone;
+        final boolean iValid;
+        final byte[] iEncoded;
+        final String iFingerprint;
+
+        CompiledZone(DateTimeZone zone, boolean valid, byte[] encoded, String fingerprint) {
+            iZone = zone;
+            iValid = valid;
+            iEncoded = encoded;
+            iFingerprint = fingerprint;
+        }
+
+        void store(Map<String, byte[]> encoded, Properties fingerprints) {
+            if (iEncoded != null) {
+                encoded.put(iZone.getID(), iEncoded);
+            }
+            if (iFingerprint != null && fingerprints != null) {
+                fingerprints.setProperty(iZone.getID(), iFingerprint);
+            }
+        }
+    }
+
+    private byte[] writeZone(File outputDir, DateTimeZoneBuilder builder, DateTimeZone tz) throws IOException {
         if (ZoneInfoLogger.verbose()) {
             System.out.println("Writing " + tz.getID());
         }
@@ -467,9 +846,12 @@ public class ZoneInfoCompiler {
         if (!file.getParentFile().exists()) {
             file.getParentFile().mkdirs();
         }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        builder.writeTo(tz.getID(), bytes);
+        byte[] data = bytes.toByteArray();
         OutputStream out = new FileOutputStream(file);
         try {
-            builder.writeTo(tz.getID(), out);
+            out.write(data);
         } finally {
             out.close();
         }
@@ -483,6 +865,7 @@ public class ZoneInfoCompiler {
             System.out.println("*e* Error in " + tz.getID() +
                                ": Didn't read properly from file");
         }
+        return data;
     }
 
     public void parseDataFile(BufferedReader in, boolean backward) throws IOException {
@@ -768,6 +1151,12 @@ public class ZoneInfoCompiler {
             iRules.add(rule);
         }
 
+        void addRules(RuleSet ruleSet) {
+            for (int i = 0; i < ruleSet.iRules.size(); i++) {
+                addRule(ruleSet.iRules.get(i));
+            }
+        }
+
         /**
          * Adds recurring savings rules to the builder.
          */
@@ -92,6 +92,7 @@ public class TestAll extends TestCase {
         suite.addTest(TestHours.suite());
         suite.addTest(TestMinutes.suite());
         suite.addTest(TestSeconds.suite());
+        suite.addTest(TestMiniPool.suite());
         
         suite.addTest(TestTimeOfDay_Basics.suite());
         suite.addTest(TestTimeOfDay_Constructors.suite());
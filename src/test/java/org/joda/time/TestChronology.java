@@ -246,4 +246,71 @@ public class TestChronology extends TestCase {
         assertEquals("ZonedChronology[ISOChronology[UTC], Europe/Paris]", ZonedChronology.getInstance(isoParis, paris).toString());
     }
 
+    //-----------------------------------------------------------------------
+    public void testGetDateTimeFields() {
+        DateTimeZone paris = DateTimeZone.forID("Europe/Paris");
+        ISOChronology isoParis = ISOChronology.getInstance(paris);
+        Chronology[] chronos = new Chronology[] {
+            ISOChronology.getInstanceUTC(),
+            isoParis,
+            GJChronology.getInstance(paris),
+            GregorianChronology.getInstanceUTC(),
+            GregorianChronology.getInstance(paris),
+            JulianChronology.getInstance(paris),
+            BuddhistChronology.getInstance(paris),
+            CopticChronology.getInstanceUTC(),
+            EthiopicChronology.getInstance(paris),
+            IslamicChronology.getInstance(paris),
+            LenientChronology.getInstance(isoParis),
+            StrictChronology.getInstance(isoParis),
+            ZonedChronology.getInstance(ISOChronology.getInstanceUTC(), paris),
+        };
+        long[] instants = new long[] {
+            0L, -1L, 1L, TEST_TIME1, TEST_TIME2, -TEST_TIME2,
+            -62135596800001L, 253402300799999L, 1111111111111111L, -1111111111111111L,
+        };
+        int[] values = new int[7];
+        for (int i = 0; i < chronos.length; i++) {
+            Chronology chrono = chronos[i];
+            for (int j = 0; j < instants.length; j++) {
+                long instant = instants[j];
+                String msg = chrono + " " + instant;
+                try {
+                    chrono.year().get(instant);
+                } catch (IllegalArgumentException ex) {
+                    try {
+                        chrono.getDateTimeFields(instant, values);
+                        fail(msg);
+                    } catch (IllegalArgumentException ex2) {
+                        // expected
+                    }
+                    continue;
+                }
+                chrono.getDateTimeFields(instant, values);
+                assertEquals(msg, chrono.year().get(instant), values[0]);
+                assertEquals(msg, chrono.monthOfYear().get(instant), values[1]);
+                assertEquals(msg, chrono.dayOfMonth().get(instant), values[2]);
+                assertEquals(msg, chrono.hourOfDay().get(instant), values[3]);
+                assertEquals(msg, chrono.minuteOfHour().get(instant), values[4]);
+                assertEquals(msg, chrono.secondOfMinute().get(instant), values[5]);
+                assertEquals(msg, chrono.millisOfSecond().get(instant), values[6]);
+            }
+        }
+    }
+
+    public void testGetDateTimeFields_roundTrip() {
+        Chronology chrono = ISOChronology.getInstance(LONDON);
+        int[] values = new int[7];
+        chrono.getDateTimeFields(TEST_TIME2, values);
+        assertEquals(2003, values[0]);
+        assertEquals(5, values[1]);
+        assertEquals(6, values[2]);
+        assertEquals(15, values[3]);
+        assertEquals(28, values[4]);
+        assertEquals(0, values[5]);
+        assertEquals(0, values[6]);
+        assertEquals(TEST_TIME2, chrono.getDateTimeMillis(
+            values[0], values[1], values[2], values[3], values[4], values[5], values[6]));
+    }
+
 }
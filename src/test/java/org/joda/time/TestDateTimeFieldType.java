@@ -24,6 +24,7 @@ import java.lang.reflect.Constructor;
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
 
+import org.joda.time.chrono.BaseChronology;
 import org.joda.time.chrono.CopticChronology;
 
 /**
@@ -282,6 +283,29 @@ public class TestDateTimeFieldType extends TestCase {
         assertSerialization(DateTimeFieldType.millisOfSecond());
     }
 
+    public void test_getField_notAssembled() throws Exception {
+        Chronology chrono = new BaseChronology() {
+            public DateTimeZone getZone() {
+                return DateTimeZone.UTC;
+            }
+            public Chronology withUTC() {
+                return this;
+            }
+            public Chronology withZone(DateTimeZone zone) {
+                return this;
+            }
+            public String toString() {
+                return "Test";
+            }
+        };
+        assertSame(chrono.era(), DateTimeFieldType.era().getField(chrono));
+        assertSame(chrono.year(), DateTimeFieldType.year().getField(chrono));
+        assertSame(chrono.dayOfMonth(), DateTimeFieldType.dayOfMonth().getField(chrono));
+        assertSame(chrono.hourOfDay(), DateTimeFieldType.hourOfDay().getField(chrono));
+        assertSame(chrono.millisOfSecond(), DateTimeFieldType.millisOfSecond().getField(chrono));
+        assertEquals(false, DateTimeFieldType.year().isSupported(chrono));
+    }
+
     public void test_other() throws Exception {
         assertEquals(2, DateTimeFieldType.class.getDeclaredClasses().length);
         Class cls = DateTimeFieldType.class.getDeclaredClasses()[1];
@@ -352,6 +352,21 @@ public class TestDateTimeZone extends TestCase {
                         4 * 60 * 60 * 1000 + 45 * 60 * 1000 + 17 * 1000 + 45));
     }        
 
+    public void testForOffsetMillis_int_interned() {
+        DateTimeZone zone = DateTimeZone.forOffsetMillis(5 * 60 * 60 * 1000 + 30 * 60 * 1000);
+        assertEquals("+05:30", zone.getID());
+        assertSame(zone, DateTimeZone.forOffsetMillis(5 * 60 * 60 * 1000 + 30 * 60 * 1000));
+        assertSame(zone, DateTimeZone.forOffsetHoursMinutes(5, 30));
+        assertSame(zone, DateTimeZone.forID("+05:30"));
+        assertSame(zone, DateTimeZone.forTimeZone(TimeZone.getTimeZone("GMT+05:30")));
+        assertSame(DateTimeZone.forOffsetHours(-23), DateTimeZone.forID("-23:00"));
+        assertSame(DateTimeZone.forOffsetMillis(23 * 60 * 60 * 1000 + 45 * 60 * 1000), DateTimeZone.forID("+23:45"));
+        
+        DateTimeZone odd = DateTimeZone.forOffsetMillis(4 * 60 * 60 * 1000 + 45 * 60 * 1000 + 17 * 1000 + 45);
+        assertEquals("+04:45:17.045", odd.getID());
+        assertSame(odd, DateTimeZone.forID("+04:45:17.045"));
+    }
+
     //-----------------------------------------------------------------------
     public void testForTimeZone_TimeZone() {
         assertEquals(DateTimeZone.getDefault(), DateTimeZone.forTimeZone((TimeZone) null));
@@ -0,0 +1,150 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * This class is a Junit unit test for MiniPool.
+ */
+public class TestMiniPool extends TestCase {
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite() {
+        return new TestSuite(TestMiniPool.class);
+    }
+
+    public TestMiniPool(String name) {
+        super(name);
+    }
+
+    //-----------------------------------------------------------------------
+    public void testHotRange() {
+        DaysMiniPool pool = new DaysMiniPool(-4, 4, 4);
+        Days first = pool.retrieve(3);
+        assertEquals(3, first.getDays());
+        assertSame(first, pool.retrieve(3));
+        assertSame(pool.retrieve(-4), pool.retrieve(-4));
+        assertEquals(2, pool.getMissCount());
+        assertEquals(2, pool.getHitCount());
+        assertEquals(0, pool.getEvictionCount());
+    }
+
+    public void testLimitsRetained() {
+        DaysMiniPool pool = new DaysMiniPool(0, 0, 1);
+        Days max = pool.retrieve(Integer.MAX_VALUE);
+        Days min = pool.retrieve(Integer.MIN_VALUE);
+        for (int i = 1; i < 100; i++) {
+            pool.retrieve(i);
+        }
+        assertSame(max, pool.retrieve(Integer.MAX_VALUE));
+        assertSame(min, pool.retrieve(Integer.MIN_VALUE));
+    }
+
+    public void testOverflowBounded() {
+        DaysMiniPool pool = new DaysMiniPool(0, 0, 2);
+        for (int i = 1; i <= 100; i++) {
+            assertEquals(i, pool.retrieve(i).getDays());
+        }
+        assertEquals(100, pool.getMissCount());
+        assertTrue(pool.getEvictionCount() >= 98);
+        Days last = pool.retrieve(100);
+        assertSame(last, pool.retrieve(100));
+    }
+
+    public void testOverflowSizeRounded() {
+        DaysMiniPool pool = new DaysMiniPool(0, 0, 3);
+        for (int i = 1; i <= 4; i++) {
+            pool.retrieve(i);
+        }
+        assertTrue(pool.getEvictionCount() <= 3);
+    }
+
+    public void testInvalidRange() {
+        try {
+            new DaysMiniPool(1, 0, 4);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+        try {
+            new DaysMiniPool(Integer.MIN_VALUE, Integer.MAX_VALUE, 4);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    public void testConcurrentRetrieve() throws Exception {
+        final DaysMiniPool pool = new DaysMiniPool(-16, 16, 8);
+        final Days[][] seen = new Days[8][33];
+        Thread[] threads = new Thread[seen.length];
+        for (int t = 0; t < threads.length; t++) {
+            final Days[] mine = seen[t];
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int loop = 0; loop < 1000; loop++) {
+                        for (int i = -16; i <= 16; i++) {
+                            Days days = pool.retrieve(i);
+                            if (mine[i + 16] == null) {
+                                mine[i + 16] = days;
+                            } else if (mine[i + 16] != days) {
+                                mine[i + 16] = Days.MIN_VALUE;
+                            }
+                        }
+                        pool.retrieve(1000 + loop);
+                    }
+                }
+            };
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+        }
+        for (int i = 0; i < 33; i++) {
+            for (int t = 1; t < seen.length; t++) {
+                assertSame(seen[0][i], seen[t][i]);
+            }
+            assertEquals(i - 16, seen[0][i].getDays());
+        }
+        assertEquals(8 * 1000 * 34, pool.getHitCount() + pool.getMissCount());
+    }
+
+    public void testSingletonPools() {
+        assertSame(DaysPool.getInstance(), DaysPool.getInstance());
+        assertSame(Days.days(1000), Days.days(1000));
+        assertSame(Hours.hours(-1000), Hours.hours(-1000));
+        assertTrue(DaysPool.getInstance().getHitCount() > 0);
+    }
+
+    //-----------------------------------------------------------------------
+    static class DaysMiniPool extends MiniPool<Days> {
+        DaysMiniPool(int hotMin, int hotMax, int overflowSize) {
+            super(hotMin, hotMax, overflowSize);
+        }
+
+        protected Days create(int numeral) {
+            return new Days(numeral);
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.chrono;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDateTime;
+
+/**
+ * This class is a Junit unit test for BatchUtils.
+ */
+public class TestBatchUtils extends TestCase {
+
+    private static final DateTimeZone PARIS = DateTimeZone.forID("Europe/Paris");
+    private static final DateTimeZone LONDON = DateTimeZone.forID("Europe/London");
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite() {
+        return new TestSuite(TestBatchUtils.class);
+    }
+
+    public TestBatchUtils(String name) {
+        super(name);
+    }
+
+    //-----------------------------------------------------------------------
+    public void testToLocalFields_sortedAcrossTransitions() {
+        // 2010-01-01T00:00Z onwards, every 37 minutes for two years
+        long[] instants = new long[2 * 365 * 24 * 60 / 37];
+        for (int i = 0; i < instants.length; i++) {
+            instants[i] = 1262304000000L + i * 37L * DateTimeConstants.MILLIS_PER_MINUTE;
+        }
+        assertMatches(instants, ISOChronology.getInstance(PARIS));
+        assertMatches(instants, ISOChronology.getInstance(LONDON));
+        assertMatches(instants, ISOChronology.getInstanceUTC());
+        assertMatches(instants, ISOChronology.getInstance(DateTimeZone.forOffsetHoursMinutes(5, 30)));
+    }
+
+    public void testToLocalFields_random() {
+        Random random = new Random(1234);
+        long[] instants = new long[5000];
+        for (int i = 0; i < instants.length; i++) {
+            instants[i] = (random.nextLong() % (500L * 365 * DateTimeConstants.MILLIS_PER_DAY));
+        }
+        assertMatches(instants, ISOChronology.getInstance(PARIS));
+        assertMatches(instants, GregorianChronology.getInstance(LONDON));
+        assertMatches(instants, JulianChronology.getInstance(PARIS));
+        assertMatches(instants, CopticChronology.getInstanceUTC());
+        assertMatches(instants, GJChronology.getInstance(PARIS));
+        assertMatches(instants, IslamicChronology.getInstance(LONDON));
+    }
+
+    public void testToLocalFields_zone() {
+        long[] instants = new long[] {1277942400000L};  // 2010-07-01T00:00Z
+        int[] years = new int[1];
+        int[] months = new int[1];
+        int[] days = new int[1];
+        int[] millis = new int[1];
+        BatchUtils.toLocalFields(instants, PARIS, years, months, days, millis);
+        assertEquals(2010, years[0]);
+        assertEquals(7, months[0]);
+        assertEquals(1, days[0]);
+        assertEquals(2 * DateTimeConstants.MILLIS_PER_HOUR, millis[0]);
+    }
+
+    public void testToLocalFields_range() {
+        long[] instants = new long[] {0L, 0L, 0L};
+        int[] years = new int[3];
+        int[] months = new int[3];
+        int[] days = new int[3];
+        int[] millis = new int[3];
+        BatchUtils.toLocalFields(instants, 1, 1, ISOChronology.getInstanceUTC(), years, months, days, millis);
+        assertEquals(0, years[0]);
+        assertEquals(1970, years[1]);
+        assertEquals(0, years[2]);
+        try {
+            BatchUtils.toLocalFields(instants, 2, 2, null, years, months, days, millis);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {
+            // expected
+        }
+        try {
+            BatchUtils.toLocalFields(instants, 0, 3, null, years, months, new int[2], millis);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {
+            // expected
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    private void assertMatches(long[] instants, Chronology chrono) {
+        int[] years = new int[instants.length];
+        int[] months = new int[instants.length];
+        int[] days = new int[instants.length];
+        int[] millis = new int[instants.length];
+        BatchUtils.toLocalFields(instants, 0, instants.length, chrono, years, months, days, millis);
+        for (int i = 0; i < instants.length; i++) {
+            LocalDateTime expected = new LocalDateTime(instants[i], chrono);
+            String msg = chrono + " " + instants[i];
+            assertEquals(msg, expected.getYear(), years[i]);
+            assertEquals(msg, expected.getMonthOfYear(), months[i]);
+            assertEquals(msg, expected.getDayOfMonth(), days[i]);
+            assertEquals(msg, expected.getMillisOfDay(), millis[i]);
+        }
+    }
+
+}
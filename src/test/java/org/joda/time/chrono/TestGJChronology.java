@@ -524,6 +524,29 @@ public class TestGJChronology extends TestCase {
         assertEquals("Jan", new YearMonthDay("2005-01-01", chrono).monthOfYear().getAsShortText());
     }
 
+    public void testSetAsText_caseInsensitive() {
+        GJLocaleSymbols symbols = GJLocaleSymbols.forLocale(Locale.ENGLISH);
+        assertEquals(9, symbols.monthOfYearTextToValue("September"));
+        assertEquals(9, symbols.monthOfYearTextToValue("sEPTEMBER"));
+        assertEquals(9, symbols.monthOfYearTextToValue("sep"));
+        assertEquals(9, symbols.monthOfYearTextToValue("9"));
+        assertEquals(3, symbols.dayOfWeekTextToValue("WED"));
+        assertEquals(0, symbols.eraTextToValue("bce"));
+        assertEquals(1, symbols.eraTextToValue("Ad"));
+        try {
+            symbols.monthOfYearTextToValue("Sept");
+            fail();
+        } catch (IllegalFieldValueException ex) {
+            // good
+        }
+        try {
+            symbols.monthOfYearTextToValue("13");
+            fail();
+        } catch (IllegalFieldValueException ex) {
+            // good
+        }
+    }
+
     public void testLeapYearRulesConstruction() {
         // 1500 not leap in Gregorian, but is leap in Julian
         DateMidnight dt = new DateMidnight(1500, 2, 29, GJChronology.getInstanceUTC());
@@ -25,6 +25,7 @@ import org.joda.time.Chronology;
 import org.joda.time.DateMidnight;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeField;
 import org.joda.time.DateTimeUtils;
 import org.joda.time.DateTimeZone;
 import org.joda.time.YearMonthDay;
@@ -328,4 +329,91 @@ public class TestGregorianChronology extends TestCase {
         assertEquals(true, dt.dayOfYear().isLeap());
     }
 
+    public void testYearMonthDay_roundTrip() {
+        GregorianChronology chrono = GregorianChronology.getInstanceUTC();
+        // every day either side of the day table window edges
+        for (int year : new int[] {1899, 1900, 2100, 2101}) {
+            long start = chrono.getYearMillis(year) - 40L * DateTimeConstants.MILLIS_PER_DAY;
+            for (int i = 0; i < 80; i++) {
+                long day = start + i * (long) DateTimeConstants.MILLIS_PER_DAY;
+                assertYearMonthDay(chrono, day);
+                assertYearMonthDay(chrono, day - 1);
+            }
+        }
+        // spread over the whole range, the year of Long.MIN_VALUE starts before the range
+        long step = Long.MAX_VALUE / 100000;
+        for (long instant = Long.MIN_VALUE + step; instant < Long.MAX_VALUE - step; instant += step) {
+            assertYearMonthDay(chrono, instant);
+        }
+        assertYearMonthDay(chrono, Long.MAX_VALUE);
+    }
+
+    public void testMonthAndYearDifference_reversesAdd() {
+        Chronology chrono = GregorianChronology.getInstanceUTC();
+        DateTimeField months = chrono.monthOfYear();
+        DateTimeField years = chrono.year();
+        long start = new DateTime(2011, 12, 1, 0, 0, chrono).getMillis();
+        for (int day = 0; day < 3 * 366; day += 1) {
+            long instant = start + day * (long) DateTimeConstants.MILLIS_PER_DAY + 3600000L;
+            for (int v = -30; v <= 30; v++) {
+                assertEquals(v, months.getDifference(months.add(instant, v), instant));
+                assertEquals(v, years.getDifference(years.add(instant, v), instant));
+            }
+        }
+    }
+
+    public void testMonthAndYearDifference_clamped() {
+        Chronology chrono = GregorianChronology.getInstanceUTC();
+        DateTimeField months = chrono.monthOfYear();
+        DateTimeField years = chrono.year();
+        // month end on the minuend matches a later day on the subtrahend
+        assertEquals(1, months.getDifference(millis(chrono, 2015, 2, 28, 12), millis(chrono, 2015, 1, 31, 12)));
+        assertEquals(0, months.getDifference(millis(chrono, 2015, 2, 28, 11), millis(chrono, 2015, 1, 31, 12)));
+        assertEquals(0, months.getDifference(millis(chrono, 2016, 2, 28, 12), millis(chrono, 2016, 1, 31, 12)));
+        assertEquals(-1, months.getDifference(millis(chrono, 2015, 1, 31, 12), millis(chrono, 2015, 2, 28, 12)));
+        // leap day on the subtrahend matches Feb 28 in a non-leap year
+        assertEquals(1, years.getDifference(millis(chrono, 2013, 2, 28, 12), millis(chrono, 2012, 2, 29, 12)));
+        assertEquals(0, years.getDifference(millis(chrono, 2013, 2, 28, 11), millis(chrono, 2012, 2, 29, 12)));
+        assertEquals(3, years.getDifference(millis(chrono, 2016, 2, 28, 12), millis(chrono, 2012, 2, 29, 12)));
+        assertEquals(4, years.getDifference(millis(chrono, 2016, 2, 29, 12), millis(chrono, 2012, 2, 29, 12)));
+        assertEquals(0, years.getDifference(millis(chrono, 2012, 2, 29, 12), millis(chrono, 2011, 3, 1, 12)));
+        assertEquals(-1, years.getDifference(millis(chrono, 2012, 2, 29, 12), millis(chrono, 2013, 2, 28, 12)));
+    }
+
+    public void testCenturyFields() {
+        Chronology chrono = GregorianChronology.getInstanceUTC();
+        assertCenturyFields(chrono, 2000, 20, 100);
+        assertCenturyFields(chrono, 2001, 21, 1);
+        assertCenturyFields(chrono, 1, 1, 1);
+        assertCenturyFields(chrono, 0, 1, 1);
+        assertCenturyFields(chrono, -99, 1, 100);
+        assertCenturyFields(chrono, -100, 2, 1);
+        assertEquals(16, chrono.weekyearOfCentury().get(millis(chrono, 2015, 6, 1, 12)));
+        assertEquals(100, chrono.weekyearOfCentury().get(millis(chrono, -1, 6, 1, 12)));
+        assertEquals(1, chrono.weekyearOfCentury().get(millis(chrono, -100, 6, 1, 12)));
+    }
+
+    private static void assertCenturyFields(Chronology chrono, int year, int centuryOfEra, int yearOfCentury) {
+        long instant = millis(chrono, year, 6, 1, 12);
+        assertEquals(centuryOfEra, chrono.centuryOfEra().get(instant));
+        assertEquals(yearOfCentury, chrono.yearOfCentury().get(instant));
+    }
+
+    private static long millis(Chronology chrono, int year, int month, int day, int hour) {
+        return chrono.getDateTimeMillis(year, month, day, hour, 0, 0, 0);
+    }
+
+    private void assertYearMonthDay(BasicChronology chrono, long instant) {
+        int year = chrono.getYear(instant);
+        int month = chrono.getMonthOfYear(instant);
+        int day = chrono.getDayOfMonth(instant);
+        assertEquals(month, chrono.getMonthOfYear(instant, year));
+        assertEquals(day, chrono.getDayOfMonth(instant, year, month));
+        assertTrue(month >= 1 && month <= 12);
+        assertTrue(day >= 1 && day <= chrono.getDaysInYearMonth(year, month));
+        long dayStart = chrono.getYearMonthDayMillis(year, month, day);
+        assertTrue(instant >= dayStart);
+        assertTrue(instant - dayStart < DateTimeConstants.MILLIS_PER_DAY);
+    }
+
 }
@@ -32,8 +32,11 @@ import org.joda.time.DurationField;
 import org.joda.time.DurationFieldType;
 import org.joda.time.IllegalFieldValueException;
 import org.joda.time.Partial;
+import org.joda.time.Period;
+import org.joda.time.PeriodType;
 import org.joda.time.TimeOfDay;
 import org.joda.time.YearMonthDay;
+import org.joda.time.tz.FixedDateTimeZone;
 
 /**
  * This class is a Junit unit test for ISOChronology.
@@ -118,6 +121,23 @@ public class TestISOChronology extends TestCase {
         assertSame(ISOChronology.getInstance(), ISOChronology.getInstance(LONDON));
     }
 
+    public void testEquality_fixedOffset() {
+        DateTimeZone zone = DateTimeZone.forOffsetHoursMinutes(5, 30);
+        ISOChronology chrono = ISOChronology.getInstance(zone);
+        assertSame(zone, chrono.getZone());
+        assertSame(chrono, ISOChronology.getInstance(zone));
+        assertSame(chrono, ISOChronology.getInstance(DateTimeZone.forID("+05:30")));
+        assertSame(chrono, ISOChronology.getInstanceUTC().withZone(zone));
+        
+        // a zone with the same offset but another ID is not the interned zone
+        DateTimeZone other = new FixedDateTimeZone("Custom", null, zone.getOffset(0L), zone.getOffset(0L));
+        assertEquals(other, ISOChronology.getInstance(other).getZone());
+        assertSame(chrono, ISOChronology.getInstance(zone));
+        
+        DateTimeZone large = new FixedDateTimeZone("Large", null, 48 * DateTimeConstants.MILLIS_PER_HOUR, 0);
+        assertEquals(large, ISOChronology.getInstance(large).getZone());
+    }
+
     public void testWithUTC() {
         assertSame(ISOChronology.getInstanceUTC(), ISOChronology.getInstance(LONDON).withUTC());
         assertSame(ISOChronology.getInstanceUTC(), ISOChronology.getInstance(TOKYO).withUTC());
@@ -472,4 +492,70 @@ public class TestISOChronology extends TestCase {
         assertEquals(true, dt.dayOfYear().isLeap());
     }
 
+    public void testPeriodBetween_matchesFieldByField() {
+        PeriodType[] types = new PeriodType[] {
+            PeriodType.standard(), PeriodType.yearMonthDay(), PeriodType.yearWeekDayTime(),
+            PeriodType.dayTime(), PeriodType.months(), PeriodType.years()};
+        Chronology[] chronos = new Chronology[] {
+            ISOChronology.getInstanceUTC(), ISOChronology.getInstance(PARIS),
+            ISOChronology.getInstance(DateTimeZone.forID("America/Sao_Paulo")),
+            GregorianChronology.getInstance(TOKYO)};
+        long start = new DateTime(2012, 2, 29, 0, 30, DateTimeZone.UTC).getMillis();
+        for (int i = 0; i < 2000; i++) {
+            long startInstant = start + i * 10799999L;
+            long endInstant = startInstant + (i % 2 == 0 ? 1 : -1) * (i * 3187000013L);
+            for (int c = 0; c < chronos.length; c++) {
+                for (int t = 0; t < types.length; t++) {
+                    Period period = new Period(0L, types[t]);
+                    int[] expected = getFieldByField(chronos[c], period, startInstant, endInstant);
+                    int[] actual = chronos[c].get(period, startInstant, endInstant);
+                    for (int j = 0; j < expected.length; j++) {
+                        assertEquals(expected[j], actual[j]);
+                    }
+                }
+            }
+        }
+    }
+
+    public void testCenturyFields() {
+        Chronology[] chronos = {ISOChronology.getInstanceUTC(), ISOChronology.getInstance(PARIS)};
+        for (int c = 0; c < chronos.length; c++) {
+            Chronology chrono = chronos[c];
+            assertCenturyFields(chrono, 2000, 20, 0);
+            assertCenturyFields(chrono, 2001, 20, 1);
+            assertCenturyFields(chrono, 0, 0, 0);
+            assertCenturyFields(chrono, -101, 1, 1);
+            // weekyearOfCentury follows the year of era
+            long instant = chrono.getDateTimeMillis(2016, 1, 1, 12, 0, 0, 0);
+            assertEquals(2015, chrono.weekyear().get(instant));
+            assertEquals(16, chrono.weekyearOfCentury().get(instant));
+        }
+    }
+
+    private static void assertCenturyFields(Chronology chrono, int year, int centuryOfEra, int yearOfCentury) {
+        long instant = chrono.getDateTimeMillis(year, 6, 1, 12, 0, 0, 0);
+        assertEquals(centuryOfEra, chrono.centuryOfEra().get(instant));
+        assertEquals(yearOfCentury, chrono.yearOfCentury().get(instant));
+    }
+
+    public void testPeriodBetween_gap() {
+        // adding a year to the start reaches the midnight gap on 2014-10-19
+        DateTimeZone zone = DateTimeZone.forID("America/Sao_Paulo");
+        DateTime start = new DateTime(2013, 10, 19, 0, 30, zone);
+        DateTime end = new DateTime(2014, 10, 19, 12, 0, zone);
+        assertEquals(new Period(1, 0, 0, 0, 10, 30, 0, 0), new Period(start, end));
+        PeriodType type = PeriodType.yearMonthDayTime().withYearsRemoved();
+        assertEquals(new Period(0, 12, 0, 0, 10, 30, 0, 0, type), new Period(start, end, type));
+    }
+
+    private static int[] getFieldByField(Chronology chrono, Period period, long startInstant, long endInstant) {
+        int[] values = new int[period.size()];
+        for (int i = 0; i < period.size(); i++) {
+            DurationField field = period.getFieldType(i).getField(chrono);
+            values[i] = field.getDifference(endInstant, startInstant);
+            startInstant = field.add(startInstant, values[i]);
+        }
+        return values;
+    }
+
 }
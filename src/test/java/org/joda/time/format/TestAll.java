@@ -38,10 +38,12 @@ public class TestAll extends TestCase {
         suite.addTest(TestDateTimeFormatter.suite());
         suite.addTest(TestDateTimeFormat.suite());
         suite.addTest(TestDateTimeFormatStyle.suite());
+        suite.addTest(TestFormatterCache.suite());
         suite.addTest(TestDateTimeParserBucket.suite());
         suite.addTest(TestISODateTimeFormat.suite());
         suite.addTest(TestISODateTimeFormat_Fields.suite());
         suite.addTest(TestISODateTimeFormatParsing.suite());
+        suite.addTest(TestISODateTimeFormat_FastPath.suite());
         suite.addTest(TestDateTimeFormatterBuilder.suite());
         
         suite.addTest(TestPeriodFormatter.suite());
@@ -16,7 +16,12 @@
 package org.joda.time.format;
 
 import java.io.CharArrayWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.text.ParsePosition;
 import java.util.Locale;
+import java.util.Random;
 import java.util.TimeZone;
 
 import junit.framework.TestCase;
@@ -27,6 +32,7 @@ import org.joda.time.DateTime;
 import org.joda.time.DateTimeConstants;
 import org.joda.time.DateTimeUtils;
 import org.joda.time.DateTimeZone;
+import org.joda.time.IllegalInstantException;
 import org.joda.time.LocalDate;
 import org.joda.time.LocalDateTime;
 import org.joda.time.LocalTime;
@@ -244,6 +250,106 @@ public class TestDateTimeFormatter extends TestCase {
         } catch (IllegalArgumentException ex) {}
     }
 
+    public void testPrint_charArrayMethods() {
+        DateTime dt = new DateTime(2004, 6, 9, 10, 20, 30, 40, UTC);
+        char[] buf = new char[40];
+        buf[0] = '#';
+        int len = f.printTo(buf, 1, dt);
+        assertEquals("#Wed 2004-06-09T10:20:30Z", new String(buf, 0, len + 1));
+        
+        len = f.printTo(buf, 0, dt.getMillis());
+        assertEquals("Wed 2004-06-09T11:20:30+01:00", new String(buf, 0, len));
+        
+        len = ISODateTimeFormat.dateTime().printTo(buf, 0, dt);
+        assertEquals("2004-06-09T10:20:30.040Z", new String(buf, 0, len));
+        
+        try {
+            f.printTo(new char[10], 0, dt);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+        try {
+            f.printTo(buf, 41, dt);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+        
+        // the thread's buffer is reusable after a failure
+        len = g.printTo(buf, 0, dt);
+        assertEquals("2004-06-09T10:20:30Z", new String(buf, 0, len));
+    }
+
+    public void testPrint_charBufferMethods() {
+        DateTime dt = new DateTime(2004, 6, 9, 10, 20, 30, 40, UTC);
+        CharBuffer buf = CharBuffer.allocate(60);
+        int len = f.printTo(buf, dt);
+        assertEquals(24, len);
+        len = f.printTo(buf, dt.getMillis());
+        assertEquals(29, len);
+        buf.flip();
+        assertEquals("Wed 2004-06-09T10:20:30ZWed 2004-06-09T11:20:30+01:00", buf.toString());
+        
+        try {
+            f.printTo(CharBuffer.allocate(10), dt);
+            fail();
+        } catch (BufferOverflowException ex) {}
+    }
+
+    public void testPrint_byteBufferMethods() throws Exception {
+        DateTime dt = new DateTime(2004, 6, 9, 10, 20, 30, 40, UTC);
+        ByteBuffer buf = ByteBuffer.allocate(60);
+        int len = f.printTo(buf, dt);
+        assertEquals(24, len);
+        assertEquals("Wed 2004-06-09T10:20:30Z", new String(buf.array(), 0, len, "UTF-8"));
+        
+        buf.clear();
+        DateTimeFormatter french = DateTimeFormat.forPattern("d MMMM yyyy").withLocale(Locale.FRENCH);
+        len = french.printTo(buf, new DateTime(2004, 2, 9, 0, 0, UTC));
+        assertEquals("9 f\u00e9vrier 2004", new String(buf.array(), 0, len, "UTF-8"));
+        assertEquals(15, len);
+        
+        buf.clear();
+        DateTimeFormatter surrogates = new DateTimeFormatterBuilder()
+            .appendLiteral("\ud83d\ude00").appendYear(4, 4).appendLiteral("\ud83d").toFormatter();
+        len = surrogates.printTo(buf, dt);
+        assertEquals("\ud83d\ude002004?", new String(buf.array(), 0, len, "UTF-8"));
+        
+        try {
+            f.printTo(ByteBuffer.allocate(10), dt);
+            fail();
+        } catch (BufferOverflowException ex) {}
+    }
+
+    public void testPrint_fractionDigits() {
+        DateTimeFormatter fraction = new DateTimeFormatterBuilder()
+            .appendFractionOfSecond(1, 9).toFormatter().withZone(UTC);
+        assertEquals("04", fraction.print(40L));
+        assertEquals("004", fraction.print(4L));
+        assertEquals("123", fraction.print(123L));
+        assertEquals("1", fraction.print(100L));
+        assertEquals("0", fraction.print(0L));
+        fraction = new DateTimeFormatterBuilder()
+            .appendFractionOfSecond(3, 9).toFormatter().withZone(UTC);
+        assertEquals("100", fraction.print(100L));
+        assertEquals("000", fraction.print(0L));
+        fraction = new DateTimeFormatterBuilder()
+            .appendFractionOfHour(2, 9).toFormatter().withZone(UTC);
+        assertEquals("50", fraction.print(30L * 60 * 1000));
+        assertEquals("000277777", fraction.print(1000L));
+    }
+
+    public void testPrint_largeNumbers() {
+        DateTimeFormatter year = new DateTimeFormatterBuilder()
+            .appendYear(1, 9).toFormatter().withZone(UTC);
+        assertEquals("123456", year.print(new DateTime(123456, 1, 1, 0, 0, UTC)));
+        assertEquals("-12345", year.print(new DateTime(-12345, 1, 1, 0, 0, UTC)));
+        year = new DateTimeFormatterBuilder()
+            .appendYear(8, 9).toFormatter().withZone(UTC);
+        assertEquals("00123456", year.print(new DateTime(123456, 1, 1, 0, 0, UTC)));
+        DateTimeFormatter millis = new DateTimeFormatterBuilder()
+            .appendMillisOfDay(1).toFormatter().withZone(UTC);
+        assertEquals("86399999", millis.print(86399999L));
+        assertEquals("1000000", millis.print(1000000L));
+    }
+
     //-----------------------------------------------------------------------
     public void testPrint_chrono_and_zone() {
         DateTime dt = new DateTime(2004, 6, 9, 10, 20, 30, 40, UTC);
@@ -1012,6 +1118,92 @@ public class TestDateTimeFormatter extends TestCase {
         assertEquals(10512, f.parseMillis("10.512999"));
     }
 
+    public void testTryParseMillis() {
+        DateTimeFormatter f = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm").withZone(LONDON);
+        ParsePosition pos = new ParsePosition(0);
+        assertEquals(f.parseMillis("2015-06-30 10:20"), f.tryParseMillis("2015-06-30 10:20", pos));
+        assertEquals(16, pos.getIndex());
+        assertEquals(-1, pos.getErrorIndex());
+        
+        // invalid text
+        pos.setIndex(0);
+        assertEquals(0L, f.tryParseMillis("2015-0x-30 10:20", pos));
+        assertEquals(0, pos.getIndex());
+        assertEquals(6, pos.getErrorIndex());
+        assertEquals(0L, f.tryParseMillis("2015-06-30 10:20x", pos));
+        assertEquals(16, pos.getErrorIndex());
+        
+        // invalid field or gap
+        assertEquals(0L, f.tryParseMillis("2015-13-30 10:20", pos));
+        assertEquals(0, pos.getErrorIndex());
+        assertEquals(0L, f.tryParseMillis("2015-02-30 10:20", pos));
+        assertEquals(0, pos.getErrorIndex());
+        assertEquals(0L, f.tryParseMillis("2015-03-29 01:30", pos));
+        assertEquals(0, pos.getErrorIndex());
+        
+        // reused after failure, from an index
+        pos.setIndex(4);
+        assertEquals(f.parseMillis("2015-06-30 10:20"), f.tryParseMillis("at: 2015-06-30 10:20", pos));
+        assertEquals(20, pos.getIndex());
+        assertEquals(-1, pos.getErrorIndex());
+        
+        try {
+            f.tryParseMillis("2015-06-30 10:20", null);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+    public void testTryParseMillis_iso() {
+        DateTimeFormatter f = ISODateTimeFormat.dateTimeParser().withZone(PARIS);
+        ParsePosition pos = new ParsePosition(0);
+        assertEquals(f.parseMillis("2015-06-30T10:20:30.123Z"), f.tryParseMillis("2015-06-30T10:20:30.123Z", pos));
+        assertEquals(-1, pos.getErrorIndex());
+        pos.setIndex(0);
+        assertEquals(f.parseMillis("2015-06-30T10:20"), f.tryParseMillis("2015-06-30T10:20", pos));
+        pos.setIndex(0);
+        assertEquals(0L, f.tryParseMillis("2015-06-31T10:20", pos));
+        assertEquals(0, pos.getErrorIndex());
+        assertEquals(0L, f.tryParseMillis("2015-06-30X10:20", pos));
+        assertEquals(10, pos.getErrorIndex());
+    }
+
+    public void testParseMillis_reusedBucket() {
+        DateTimeFormatter[] formatters = {
+            ISODateTimeFormat.dateTimeParser().withZone(PARIS),
+            DateTimeFormat.forPattern("dd/MMM/yyyy:HH:mm:ss Z").withLocale(Locale.ENGLISH),
+            DateTimeFormat.forPattern("EEE, d MMM yyyy HH:mm ZZZ").withLocale(Locale.ENGLISH),
+        };
+        String[][] texts = {
+            {"2015-06-30T10:20:30.123Z", "2015-W27-2T10:20+01:00", "2015-181", "2015-06", "T10:20"},
+            {"10/Oct/2015:13:55:36 -0700", "01/Jan/2000:00:00:00 +0000"},
+            {"Tue, 30 Jun 2015 10:20 Europe/London", "Sat, 1 Jan 2000 00:00 America/New_York"},
+        };
+        for (int i = 0; i < formatters.length; i++) {
+            DateTimeParserBucket bucket = formatters[i].createParserBucket();
+            ParsePosition pos = new ParsePosition(0);
+            for (int repeat = 0; repeat < 2; repeat++) {
+                for (int j = 0; j < texts[i].length; j++) {
+                    long expected = formatters[i].parseMillis(texts[i][j]);
+                    assertEquals(texts[i][j], expected, formatters[i].parseMillis(texts[i][j], bucket));
+                    pos.setIndex(0);
+                    assertEquals(texts[i][j], expected, formatters[i].tryParseMillis(texts[i][j], pos, bucket));
+                    assertEquals(-1, pos.getErrorIndex());
+                }
+            }
+            try {
+                formatters[i].parseMillis("junk", bucket);
+                fail();
+            } catch (IllegalArgumentException ex) {}
+            pos.setIndex(0);
+            assertEquals(0L, formatters[i].tryParseMillis("junk", pos, bucket));
+            assertEquals(0, pos.getErrorIndex());
+        }
+        try {
+            formatters[0].parseMillis("2015-06-30", null);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
     //-----------------------------------------------------------------------
     // Ensure time zone name switches properly at the zone DST transition.
     public void testZoneNameNearTransition() {
@@ -1045,4 +1237,139 @@ public class TestDateTimeFormatter extends TestCase {
         assertEquals("2005-10-30 02:00:01.0 EST", fmt.print(outDST_2));
     }
 
+    //-----------------------------------------------------------------------
+    private static final String[] COMPILE_PATTERNS = {
+        "yyyy-MM-dd HH:mm:ss.SSS",
+        "yyyyMMddHHmmssSSS",
+        "dd/MM/yyyy",
+        "MM/dd HH:mm",
+        "HH:mm:ss",
+        "EEE, dd MMM yyyy HH:mm:ss Z",
+        "yyyy-MM-dd'T'HH:mm:ss.SSSZZ",
+        "d MMMM yyyy 'at' h:mm a",
+        "yyyy-DDD ww e",
+        "y-M-d H:m:s.S",
+        "yy-MM-dd",
+        "GGGG yyyy CC",
+    };
+
+    public void testCompile_print() {
+        Chronology[] chronos = {ISO_UTC, ISO_PARIS, BUDDHIST_PARIS, GJChronology.getInstance(NEWYORK)};
+        Random random = new Random(3);
+        for (int p = 0; p < COMPILE_PATTERNS.length; p++) {
+            DateTimeFormatter plain = DateTimeFormat.forPattern(COMPILE_PATTERNS[p]).withLocale(Locale.FRENCH);
+            DateTimeFormatter compiled = plain.compile();
+            assertNotSame(plain, compiled);
+            assertSame(compiled, compiled.compile());
+            assertEquals(Locale.FRENCH, compiled.getLocale());
+            for (int i = 0; i < 2000; i++) {
+                long millis = (random.nextLong() % (20000L * DateTimeConstants.MILLIS_PER_DAY * 366));
+                Chronology chrono = chronos[i % chronos.length];
+                assertEquals(COMPILE_PATTERNS[p],
+                    plain.withChronology(chrono).print(millis), compiled.withChronology(chrono).print(millis));
+                if (chrono != BUDDHIST_PARIS) {
+                    DateTime dt = new DateTime(millis, chrono);
+                    assertEquals(COMPILE_PATTERNS[p], plain.print(dt), compiled.print(dt));
+                    assertEquals(COMPILE_PATTERNS[p], plain.print(dt.toLocalDateTime()), compiled.print(dt.toLocalDateTime()));
+                }
+            }
+        }
+    }
+
+    public void testCompile_parse() {
+        Random random = new Random(5);
+        for (int p = 0; p < COMPILE_PATTERNS.length; p++) {
+            DateTimeFormatter plain = DateTimeFormat.forPattern(COMPILE_PATTERNS[p]).withZone(PARIS);
+            DateTimeFormatter compiled = plain.compile();
+            for (int i = 0; i < 2000; i++) {
+                long millis = (random.nextLong() % (10000L * DateTimeConstants.MILLIS_PER_DAY * 366));
+                String text = plain.print(millis);
+                assertParseSame(plain, compiled, text);
+                assertParseSame(plain.withOffsetParsed(), compiled.withOffsetParsed(), text);
+                assertParseSame(plain.withChronology(BUDDHIST_PARIS), compiled.withChronology(BUDDHIST_PARIS), text);
+            }
+        }
+    }
+
+    public void testCompile_parseFused() {
+        DateTimeFormatter compiled = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(PARIS).compile();
+        assertTrue(compiled.getParser0() instanceof InternalDirectParser);
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 30, 40, PARIS), compiled.parseDateTime("2004-06-09 10:20:30.040"));
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 30, 4, PARIS), compiled.parseDateTime("2004-6-9 10:20:30.004"));
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 30, 400, PARIS), compiled.parseDateTime("2004-06-09 10:20:30.4"));
+        assertEquals(new DateTime(-2004, 6, 9, 10, 20, 30, 400, PARIS), compiled.parseDateTime("-2004-06-09 10:20:30.4"));
+        assertEquals(new LocalDateTime(2004, 6, 9, 10, 20, 30, 40), compiled.parseLocalDateTime("2004-06-09 10:20:30.040"));
+
+        compiled = DateTimeFormat.forPattern("MM/dd").withZone(UTC).withDefaultYear(2012).compile();
+        assertEquals(new DateTime(2012, 2, 29, 0, 0, UTC).getMillis(), compiled.parseMillis("02/29"));
+        compiled = DateTimeFormat.forPattern("HH:mm").withZone(UTC).compile();
+        assertEquals(new DateTime(1970, 1, 1, 10, 20, UTC).getMillis(), compiled.parseMillis("10:20"));
+        compiled = DateTimeFormat.forPattern("yyyyMMdd").withZone(UTC).compile();
+        assertEquals(new DateTime(2004, 6, 9, 0, 0, UTC).getMillis(), compiled.parseMillis("20040609"));
+
+        assertCompiledParseFails("yyyy-MM-dd", "2004-02-30");
+        assertCompiledParseFails("yyyy-MM-dd", "2004-02-3x");
+        assertCompiledParseFails("yyyy-MM-dd", "2004-02-03 ");
+        assertCompiledParseFails("yyyyMMdd", "200406");
+        assertCompiledParseFails("HH:mm", "24:00");
+        compiled = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm").withZone(PARIS).compile();
+        try {
+            compiled.parseMillis("2011-03-27 02:30");
+            fail();
+        } catch (IllegalInstantException ex) {
+            // expected
+        }
+        assertEquals(compiled.parseMillis("2011-03-27 01:30") + 3600000, compiled.parseMillis("2011-03-27 03:30"));
+    }
+
+    public void testCompile_notComposite() {
+        DateTimeFormatter single = new DateTimeFormatterBuilder().appendYear(4, 9).toFormatter();
+        assertSame(single, single.compile());
+        assertSame(ISODateTimeFormat.dateTime(), ISODateTimeFormat.dateTime().compile());
+    }
+
+    private void assertCompiledParseFails(String pattern, String text) {
+        DateTimeFormatter plain = DateTimeFormat.forPattern(pattern).withZone(UTC);
+        String expected = null;
+        try {
+            plain.parseMillis(text);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            expected = ex.getMessage();
+        }
+        try {
+            plain.compile().parseMillis(text);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals(expected, ex.getMessage());
+        }
+    }
+
+    private void assertParseSame(DateTimeFormatter plain, DateTimeFormatter compiled, String text) {
+        Object expected;
+        try {
+            expected = plain.parseDateTime(text);
+        } catch (IllegalArgumentException ex) {
+            expected = ex.getClass();
+        }
+        Object actual;
+        try {
+            actual = compiled.parseDateTime(text);
+        } catch (IllegalArgumentException ex) {
+            actual = ex.getClass();
+        }
+        assertEquals(text, expected, actual);
+        try {
+            expected = plain.parseLocalDateTime(text);
+        } catch (IllegalArgumentException ex) {
+            expected = ex.getClass();
+        }
+        try {
+            actual = compiled.parseLocalDateTime(text);
+        } catch (IllegalArgumentException ex) {
+            actual = ex.getClass();
+        }
+        assertEquals(text, expected, actual);
+    }
+
 }
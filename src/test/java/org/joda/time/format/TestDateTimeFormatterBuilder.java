@@ -445,6 +445,19 @@ public class TestDateTimeFormatterBuilder extends TestCase {
         assertEquals(dt, f.parseDateTime("2007-03-04 12:30 America/Bahia_Banderas"));
     }
 
+    public void test_parseZoneId_allIds() {
+        DateTimeFormatter f = new DateTimeFormatterBuilder().appendTimeZoneId().appendLiteral(']').toFormatter();
+        for (String id : DateTimeZone.getAvailableIDs()) {
+            DateTimeParserBucket bucket = new DateTimeParserBucket(0L, null, null, null, 2000);
+            String text = id + "]";
+            assertEquals(id, text.length(), f.getParser().parseInto(bucket, text, 0));
+            assertSame(id, DateTimeZone.forID(id), bucket.getZone());
+        }
+        DateTimeParserBucket bucket = new DateTimeParserBucket(0L, null, null, null, 2000);
+        assertEquals(~0, f.getParser().parseInto(bucket, "Europe/Lon]", 0));
+        assertEquals(~0, f.getParser().parseInto(bucket, "Unknown/Zone]", 0));
+    }
+
     public void test_printParseOffset() {
         DateTimeFormatterBuilder bld = new DateTimeFormatterBuilder()
             .appendPattern("yyyy-MM-dd HH:mm ").appendTimeZoneOffset("Z", true, 2, 2);
@@ -668,6 +681,44 @@ public class TestDateTimeFormatterBuilder extends TestCase {
         }
     }
 
+    public void test_parseText_longestMatch() {
+        DateTimeFormatter f = new DateTimeFormatterBuilder()
+            .appendMonthOfYearText().appendLiteral(' ').appendYear(4, 4)
+            .toFormatter().withLocale(Locale.ENGLISH).withZoneUTC();
+        DateTime expected = new DateTime(2015, 9, 1, 0, 0, DateTimeZone.UTC);
+        assertEquals(expected, f.parseDateTime("Sep 2015"));
+        assertEquals(expected, f.parseDateTime("September 2015"));
+        assertEquals(expected, f.parseDateTime("SEPTEMBER 2015"));
+        assertEquals(expected, f.parseDateTime("september 2015"));
+        try {
+            f.parseDateTime("Sept 2015");
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+        try {
+            f.parseDateTime("sEPTEMBER 2015");
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    public void test_parseText_textTrie() {
+        DateTimeFormatterBuilder.TextTrie<Object> trie = new DateTimeFormatterBuilder.TextTrie<Object>(5);
+        trie.add("Jun");
+        trie.add("June");
+        trie.add("Jul");
+        trie.add("Junius");
+        assertEquals("June", trie.match("xJune", 1));
+        assertEquals("Jun", trie.match("Juniper", 0));
+        assertEquals("Jul", trie.match("July", 0));
+        assertEquals(null, trie.match("Ju", 0));
+        assertEquals(null, trie.match("Junius", 1));
+        // limited by the maximum length
+        assertEquals("Jun", trie.match("Junius", 0));
+    }
+
     private static void assertPrint(String expected, DateTimeFormatter f, DateTime dt) {
         assertEquals(expected, f.print(dt));
         StringWriter out = new StringWriter();
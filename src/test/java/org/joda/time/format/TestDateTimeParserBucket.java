@@ -238,6 +238,39 @@ public class TestDateTimeParserBucket extends TestCase {
         assertEquals(2 * MILLIS_PER_HOUR + 100 - OFFSET_0400, test.computeMillis(false));
     }
 
+    public void testSaveRestoreState_branches() {
+        DateTimeParserBucket test = new DateTimeParserBucket(100, ISO_0400, LOCALE, 2000, 2000);
+        test.saveField(DateTimeFieldType.hourOfDay(), 2);
+        Object original = test.saveState();
+        test.saveField(DateTimeFieldType.minuteOfHour(), 6);
+        test.setOffset((Integer) 200);
+        Object best = test.saveState();
+        assertEquals(true, test.restoreState(original));
+        // a second branch must not disturb the first
+        test.saveField(DateTimeFieldType.minuteOfHour(), 8);
+        test.saveField(DateTimeFieldType.secondOfMinute(), 9);
+        assertEquals(2 * MILLIS_PER_HOUR + 8 * MILLIS_PER_MINUTE + 9000 + 100 - OFFSET_0400, test.computeMillis(false));
+        assertEquals(true, test.restoreState(best));
+        assertEquals((Integer) 200, test.getOffsetInteger());
+        assertEquals(2 * MILLIS_PER_HOUR + 6 * MILLIS_PER_MINUTE + 100 - 200, test.computeMillis(false));
+        assertEquals(true, test.restoreState(original));
+        assertEquals(null, test.getOffsetInteger());
+        assertEquals(2 * MILLIS_PER_HOUR + 100 - OFFSET_0400, test.computeMillis(false));
+    }
+
+    public void testSaveCompute_manyFields() {
+        DateTimeParserBucket test = new DateTimeParserBucket(0, ISO_UTC, LOCALE, 2000, 2000);
+        for (int i = 0; i < 20; i++) {
+            test.saveField(DateTimeFieldType.minuteOfHour(), i);
+        }
+        test.saveField(DateTimeFieldType.hourOfDay(), 3);
+        // equal fields are set in the order saved, so the last minute wins
+        assertEquals(3 * MILLIS_PER_HOUR + 19 * MILLIS_PER_MINUTE, test.computeMillis(false));
+        test.reset();
+        test.saveField(DateTimeFieldType.hourOfDay(), 4);
+        assertEquals(4 * MILLIS_PER_HOUR, test.computeMillis(false));
+    }
+
     public void testSaveRestoreState_badType() {
         DateTimeParserBucket bucket1 = new DateTimeParserBucket(100, ISO_0400, LOCALE, 2000, 2000);
         DateTimeParserBucket bucket2 = new DateTimeParserBucket(100, BUDDHIST_PARIS, LOCALE, 2000, 2000);
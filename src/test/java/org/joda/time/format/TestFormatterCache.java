@@ -0,0 +1,159 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.format;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Test.
+ */
+public class TestFormatterCache extends TestCase {
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite() {
+        return new TestSuite(TestFormatterCache.class);
+    }
+
+    public TestFormatterCache(String name) {
+        super(name);
+    }
+
+    //-----------------------------------------------------------------------
+    public void testGetPut() {
+        FormatterCache<String, String> cache = new FormatterCache<String, String>(10);
+        assertEquals(null, cache.get("a"));
+        assertEquals(null, cache.putIfAbsent("a", "A"));
+        assertEquals("A", cache.putIfAbsent("a", "X"));
+        assertEquals("A", cache.get("a"));
+        
+        FormatterCacheStatistics stats = cache.getStatistics();
+        assertEquals(1, stats.getSize());
+        assertEquals(10, stats.getMaximumSize());
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(0, stats.getEvictionCount());
+        assertEquals(0.5d, stats.getHitRate(), 0d);
+        assertEquals("FormatterCacheStatistics[size=1, maximumSize=10, hits=1, misses=1, evictions=0]", stats.toString());
+    }
+
+    public void testStatistics_noLookups() {
+        FormatterCache<String, String> cache = new FormatterCache<String, String>(10);
+        assertEquals(1d, cache.getStatistics().getHitRate(), 0d);
+    }
+
+    public void testDisabled() {
+        FormatterCache<String, String> cache = new FormatterCache<String, String>(0);
+        assertEquals(null, cache.putIfAbsent("a", "A"));
+        assertEquals(null, cache.get("a"));
+        assertEquals(0, cache.getStatistics().getSize());
+        assertEquals(1, cache.getStatistics().getMissCount());
+    }
+
+    public void testEvictsLeastRecentlyUsed() {
+        FormatterCache<Integer, String> cache = new FormatterCache<Integer, String>(10);
+        for (int i = 0; i < 10; i++) {
+            cache.putIfAbsent(i, "v" + i);
+        }
+        // touch the oldest entries so they become the most recently used
+        cache.get(0);
+        cache.get(1);
+        cache.putIfAbsent(10, "v10");
+        
+        FormatterCacheStatistics stats = cache.getStatistics();
+        assertEquals(9, stats.getSize());
+        assertEquals(2, stats.getEvictionCount());
+        assertEquals("v0", cache.get(0));
+        assertEquals("v1", cache.get(1));
+        assertEquals(null, cache.get(2));
+        assertEquals(null, cache.get(3));
+        assertEquals("v4", cache.get(4));
+        assertEquals("v10", cache.get(10));
+    }
+
+    public void testBounded() {
+        FormatterCache<Integer, String> cache = new FormatterCache<Integer, String>(50);
+        for (int i = 0; i < 1000; i++) {
+            cache.putIfAbsent(i, "v" + i);
+            assertTrue(cache.getStatistics().getSize() <= 50);
+        }
+        assertEquals("v999", cache.get(999));
+    }
+
+    public void testConcurrent() throws Exception {
+        final FormatterCache<Integer, String> cache = new FormatterCache<Integer, String>(20);
+        final AtomicInteger failures = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int seed = t;
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 5000; i++) {
+                        Integer key = Integer.valueOf((i * 7 + seed) % 60);
+                        String value = cache.get(key);
+                        if (value == null) {
+                            String existing = cache.putIfAbsent(key, "v" + key);
+                            value = (existing == null ? "v" + key : existing);
+                        }
+                        if (value.equals("v" + key) == false) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+        }
+        assertEquals(0, failures.get());
+        FormatterCacheStatistics stats = cache.getStatistics();
+        assertTrue(stats.getSize() <= 20 + threads.length);
+        assertEquals(20000, stats.getHitCount() + stats.getMissCount());
+    }
+
+    //-----------------------------------------------------------------------
+    public void testDateTimeFormat_patternCacheStatistics() {
+        FormatterCacheStatistics before = DateTimeFormat.getPatternCacheStatistics();
+        DateTimeFormat.forPattern("yyyy'cache-test'MM");
+        DateTimeFormat.forPattern("yyyy'cache-test'MM");
+        FormatterCacheStatistics after = DateTimeFormat.getPatternCacheStatistics();
+        assertEquals(500, after.getMaximumSize());
+        assertTrue(after.getHitCount() >= before.getHitCount() + 1);
+        assertTrue(after.getMissCount() >= before.getMissCount() + 1);
+    }
+
+    public void testDateTimeFormat_styleCacheStatistics() {
+        DateTimeFormat.forStyle("SS").print(0L);
+        FormatterCacheStatistics stats = DateTimeFormat.getStyleCacheStatistics();
+        assertEquals(500, stats.getMaximumSize());
+        assertTrue(stats.getSize() >= 1);
+    }
+
+    public void testPeriodFormat_cacheStatistics() {
+        PeriodFormat.wordBased(Locale.ENGLISH);
+        FormatterCacheStatistics stats = PeriodFormat.getCacheStatistics();
+        assertEquals(100, stats.getMaximumSize());
+        assertTrue(stats.getSize() >= 1);
+    }
+
+}
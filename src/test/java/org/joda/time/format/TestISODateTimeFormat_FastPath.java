@@ -0,0 +1,256 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.format;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.IllegalFieldValueException;
+import org.joda.time.IllegalInstantException;
+import org.joda.time.LocalDateTime;
+import org.joda.time.MutableDateTime;
+import org.joda.time.chrono.BuddhistChronology;
+import org.joda.time.chrono.ISOChronology;
+
+/**
+ * This class is a Junit unit test for the fast path of the fixed ISO layouts.
+ */
+public class TestISODateTimeFormat_FastPath extends TestCase {
+
+    private static final DateTimeZone PARIS = DateTimeZone.forID("Europe/Paris");
+    private static final DateTimeZone LONDON = DateTimeZone.forID("Europe/London");
+    private static final DateTimeZone KATHMANDU = DateTimeZone.forID("Asia/Kathmandu");
+    private static final DateTimeZone NEW_YORK = DateTimeZone.forID("America/New_York");
+
+    private DateTimeZone originalDateTimeZone = null;
+    private TimeZone originalTimeZone = null;
+    private Locale originalLocale = null;
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite() {
+        return new TestSuite(TestISODateTimeFormat_FastPath.class);
+    }
+
+    public TestISODateTimeFormat_FastPath(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        originalDateTimeZone = DateTimeZone.getDefault();
+        originalTimeZone = TimeZone.getDefault();
+        originalLocale = Locale.getDefault();
+        DateTimeZone.setDefault(LONDON);
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/London"));
+        Locale.setDefault(Locale.UK);
+    }
+
+    protected void tearDown() throws Exception {
+        DateTimeZone.setDefault(originalDateTimeZone);
+        TimeZone.setDefault(originalTimeZone);
+        Locale.setDefault(originalLocale);
+        originalDateTimeZone = null;
+        originalTimeZone = null;
+        originalLocale = null;
+    }
+
+    //-----------------------------------------------------------------------
+    public void testFormattersAreFast() {
+        assertTrue(ISODateTimeFormat.date().getParser0() instanceof FastISOFormat);
+        assertTrue(ISODateTimeFormat.dateTime().getPrinter0() instanceof FastISOFormat);
+        assertTrue(ISODateTimeFormat.dateTimeNoMillis().getParser0() instanceof FastISOFormat);
+        assertTrue(ISODateTimeFormat.basicDateTime().getParser0() instanceof FastISOFormat);
+        assertTrue(ISODateTimeFormat.dateTimeParser().getParser0() instanceof FastISOFormat);
+        assertEquals(null, ISODateTimeFormat.dateTimeParser().getPrinter0());
+        assertEquals(DateTimeZone.UTC, ISODateTimeFormat.localDateOptionalTimeParser().getZone());
+    }
+
+    //-----------------------------------------------------------------------
+    public void testPrint_matchesPattern() {
+        DateTimeFormatter extended = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd'T'HH:mm:ss.SSS")
+            .appendTimeZoneOffset("Z", true, 2, 4)
+            .toFormatter();
+        DateTimeFormatter basic = new DateTimeFormatterBuilder()
+            .appendPattern("yyyyMMdd'T'HHmmss")
+            .appendTimeZoneOffset("Z", false, 2, 2)
+            .toFormatter();
+        DateTimeZone[] zones = {DateTimeZone.UTC, PARIS, KATHMANDU, NEW_YORK, DateTimeZone.forOffsetHours(-12)};
+        Random random = new Random(42);
+        long min = new DateTime(0, 1, 1, 0, 0, DateTimeZone.UTC).getMillis();
+        long max = new DateTime(9999, 12, 31, 0, 0, DateTimeZone.UTC).getMillis();
+        for (int i = 0; i < 20000; i++) {
+            long millis = min + (long) (random.nextDouble() * (max - min));
+            DateTimeZone zone = zones[i % zones.length];
+            assertEquals(extended.withZone(zone).print(millis),
+                ISODateTimeFormat.dateTime().withZone(zone).print(millis));
+            assertEquals(basic.withZone(zone).print(millis),
+                ISODateTimeFormat.basicDateTimeNoMillis().withZone(zone).print(millis));
+        }
+    }
+
+    public void testParse_matchesPattern() {
+        DateTimeFormatter extended = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd'T'HH:mm:ss.SSS")
+            .appendTimeZoneOffset("Z", true, 2, 4)
+            .toFormatter();
+        Random random = new Random(7);
+        long min = new DateTime(0, 1, 1, 0, 0, DateTimeZone.UTC).getMillis();
+        long max = new DateTime(9999, 12, 31, 0, 0, DateTimeZone.UTC).getMillis();
+        for (int i = 0; i < 20000; i++) {
+            long millis = min + (long) (random.nextDouble() * (max - min));
+            String text = extended.withZone(i % 2 == 0 ? PARIS : KATHMANDU).print(millis);
+            assertEquals(text, millis, ISODateTimeFormat.dateTime().parseMillis(text));
+            assertEquals(text, millis, ISODateTimeFormat.dateTimeParser().parseMillis(text));
+            String local = text.substring(0, 23);
+            assertEquals(local, extended.withZone(NEW_YORK).parseLocalDateTime(local + "Z"),
+                ISODateTimeFormat.localDateOptionalTimeParser().parseLocalDateTime(local));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void testPrint_layouts() {
+        DateTime dt = new DateTime(2004, 6, 9, 10, 20, 30, 40, PARIS);
+        assertEquals("2004-06-09", ISODateTimeFormat.date().print(dt));
+        assertEquals("2004-06-09T10:20:30.040+02:00", ISODateTimeFormat.dateTime().print(dt));
+        assertEquals("2004-06-09T10:20:30+02:00", ISODateTimeFormat.dateTimeNoMillis().print(dt));
+        assertEquals("20040609", ISODateTimeFormat.basicDate().print(dt));
+        assertEquals("20040609T102030.040+0200", ISODateTimeFormat.basicDateTime().print(dt));
+        assertEquals("20040609T102030+0200", ISODateTimeFormat.basicDateTimeNoMillis().print(dt));
+        assertEquals("2004-06-09T08:20:30.040Z", ISODateTimeFormat.dateTime().print(dt.withZone(DateTimeZone.UTC)));
+        assertEquals("2004-06-09T08:20:30.040Z", ISODateTimeFormat.dateTime().withZoneUTC().print(dt));
+        assertEquals("2004-06-09T10:20:30.040", ISODateTimeFormat.dateHourMinuteSecondMillis().print(dt));
+    }
+
+    public void testPrint_fallback() {
+        DateTime dt = new DateTime(10000, 1, 1, 0, 0, 0, 0, DateTimeZone.UTC);
+        assertEquals("10000-01-01T00:00:00.000Z", ISODateTimeFormat.dateTime().print(dt));
+        dt = new DateTime(-1, 12, 31, 0, 0, 0, 0, DateTimeZone.UTC);
+        assertEquals("-0001-12-31T00:00:00.000Z", ISODateTimeFormat.dateTime().print(dt));
+        dt = new DateTime(2004, 6, 9, 10, 20, 30, 40, DateTimeZone.forOffsetMillis(1000));
+        assertEquals("2004-06-09T10:20:30.040+00:00:01", ISODateTimeFormat.dateTime().print(dt));
+        dt = new DateTime(2004, 6, 9, 10, 20, 30, 40, PARIS).withChronology(BuddhistChronology.getInstance(PARIS));
+        assertEquals("2547-06-09T10:20:30.040+02:00", ISODateTimeFormat.dateTime().print(dt));
+    }
+
+    //-----------------------------------------------------------------------
+    public void testParse_layouts() {
+        DateTime expected = new DateTime(2004, 6, 9, 10, 20, 30, 40, PARIS);
+        assertEquals(expected.getMillis(), ISODateTimeFormat.dateTime().parseMillis("2004-06-09T10:20:30.040+02:00"));
+        assertEquals(expected.getMillis(), ISODateTimeFormat.basicDateTime().parseMillis("20040609T102030.040+0200"));
+        assertEquals(expected.getMillis(), ISODateTimeFormat.dateTimeParser().parseMillis("2004-06-09T08:20:30.040Z"));
+        assertEquals(expected.getMillis() - 40, ISODateTimeFormat.dateTimeNoMillis().parseMillis("2004-06-09T10:20:30+02:00"));
+        assertEquals(expected.getMillis() - 40, ISODateTimeFormat.basicDateTimeNoMillis().parseMillis("20040609T102030+0200"));
+        assertEquals(new DateTime(2004, 6, 9, 10, 20, 30, 40, LONDON).getMillis(),
+            ISODateTimeFormat.dateOptionalTimeParser().parseMillis("2004-06-09T10:20:30.040"));
+        assertEquals(new DateTime(2004, 6, 9, 0, 0, LONDON).getMillis(), ISODateTimeFormat.date().parseMillis("2004-06-09"));
+        assertEquals(new DateTime(2004, 6, 9, 0, 0, PARIS).getMillis(),
+            ISODateTimeFormat.basicDate().withZone(PARIS).parseMillis("20040609"));
+        assertEquals(new DateTime(2004, 6, 9, 0, 0, LONDON).getMillis(),
+            ISODateTimeFormat.dateTimeParser().parseMillis("2004-06-09"));
+    }
+
+    public void testParse_dateTimeResults() {
+        String text = "2004-06-09T10:20:30.040+02:00";
+        DateTime expected = new DateTime(2004, 6, 9, 10, 20, 30, 40, PARIS);
+        DateTime dt = ISODateTimeFormat.dateTime().parseDateTime(text);
+        assertEquals(expected.withZone(LONDON), dt);
+        dt = ISODateTimeFormat.dateTime().withOffsetParsed().parseDateTime(text);
+        assertEquals(expected.withZone(DateTimeZone.forOffsetHours(2)), dt);
+        dt = ISODateTimeFormat.dateTime().withZone(NEW_YORK).parseDateTime(text);
+        assertEquals(expected.withZone(NEW_YORK), dt);
+        dt = ISODateTimeFormat.dateTimeParser().withOffsetParsed().parseDateTime("2004-06-09T10:20:30.040Z");
+        assertEquals(ISOChronology.getInstanceUTC(), dt.getChronology());
+        dt = ISODateTimeFormat.dateTimeParser().withOffsetParsed().parseDateTime("2004-06-09T10:20:30.040");
+        assertEquals(ISOChronology.getInstance(LONDON), dt.getChronology());
+        assertEquals(DateTime.parse(text), dt.withZone(PARIS).withHourOfDay(10).withZone(DateTimeZone.forOffsetHours(2)));
+
+        MutableDateTime mdt = ISODateTimeFormat.dateTime().withOffsetParsed().parseMutableDateTime(text);
+        assertEquals(expected.withZone(DateTimeZone.forOffsetHours(2)), mdt.toDateTime());
+
+        LocalDateTime ldt = ISODateTimeFormat.dateTime().parseLocalDateTime(text);
+        assertEquals(new LocalDateTime(2004, 6, 9, 10, 20, 30, 40), ldt);
+        ldt = ISODateTimeFormat.basicDate().parseLocalDateTime("00000229");
+        assertEquals(new LocalDateTime(0, 2, 29, 0, 0), ldt);
+
+        MutableDateTime into = new MutableDateTime(0L, PARIS);
+        assertEquals(text.length(), ISODateTimeFormat.dateTime().parseInto(into, text, 0));
+        assertEquals(expected, into.toDateTime());
+    }
+
+    public void testParse_fallback() {
+        DateTimeFormatter parser = ISODateTimeFormat.dateTimeParser();
+        DateTime expected = new DateTime(2004, 6, 9, 10, 20, 30, 40, PARIS);
+        assertEquals(expected.getMillis(), parser.parseMillis("2004-06-09T10:20:30.04+02:00"));
+        assertEquals(expected.getMillis(), parser.parseMillis("2004-06-09T10:20:30,040+02:00"));
+        assertEquals(expected.getMillis(), parser.parseMillis("2004-06-09T10:20:30.040+0200"));
+        assertEquals(expected.getMillis() - 30040, parser.parseMillis("2004-06-09T10:20+02:00"));
+        assertEquals(expected.getMillis(), parser.parseMillis("+2004-06-09T10:20:30.040+02:00"));
+        assertEquals(expected.getMillis() + 1, parser.parseMillis("2004-06-09T10:20:30.0411+02:00"));
+        assertEquals(new DateTime(2004, 6, 9, 0, 0, LONDON).getMillis(), parser.parseMillis("2004-161"));
+        assertEquals(new DateTime(2004, 6, 9, 0, 0, LONDON).getMillis(), ISODateTimeFormat.date().parseMillis("2004-6-9"));
+        assertEquals(new DateTime(12004, 6, 9, 0, 0, LONDON).getMillis(), ISODateTimeFormat.date().parseMillis("12004-06-09"));
+
+        DateTime buddhist = ISODateTimeFormat.dateTime().withChronology(BuddhistChronology.getInstance(PARIS))
+            .parseDateTime("2547-06-09T10:20:30.040+02:00");
+        assertEquals(expected.withChronology(BuddhistChronology.getInstance(PARIS)), buddhist);
+    }
+
+    public void testParse_invalid() {
+        assertParseFails(ISODateTimeFormat.dateTime(), "2004-06-09T10:20:30.040", IllegalArgumentException.class);
+        assertParseFails(ISODateTimeFormat.dateTime(), "2004-06-09T10:20:30+02:00", IllegalArgumentException.class);
+        assertParseFails(ISODateTimeFormat.dateTimeNoMillis(), "2004-06-09T10:20:30.040+02:00", IllegalArgumentException.class);
+        assertParseFails(ISODateTimeFormat.date(), "2004-06-09T10:20:30", IllegalArgumentException.class);
+        assertParseFails(ISODateTimeFormat.localDateOptionalTimeParser(), "2004-06-09T10:20:30Z", IllegalArgumentException.class);
+        assertParseFails(ISODateTimeFormat.date(), "2004-02-30", IllegalFieldValueException.class);
+        assertParseFails(ISODateTimeFormat.date(), "2005-02-29", IllegalFieldValueException.class);
+        assertParseFails(ISODateTimeFormat.date(), "2004-13-01", IllegalFieldValueException.class);
+        assertParseFails(ISODateTimeFormat.dateTime(), "2004-06-09T24:00:00.000Z", IllegalFieldValueException.class);
+        assertParseFails(ISODateTimeFormat.dateTime(), "2004-06-09T10:60:00.000Z", IllegalFieldValueException.class);
+        assertParseFails(ISODateTimeFormat.dateTime(), "2004-06-09T10:20:30.040+24:00", IllegalArgumentException.class);
+        assertParseFails(ISODateTimeFormat.dateTimeParser(), "2011-03-27T01:30:00", IllegalInstantException.class);
+        try {
+            ISODateTimeFormat.date().parseMillis("2004-02-30");
+            fail();
+        } catch (IllegalFieldValueException ex) {
+            assertEquals("Cannot parse \"2004-02-30\": Value 30 for dayOfMonth must be in the range [1,29]", ex.getMessage());
+        }
+    }
+
+    private void assertParseFails(DateTimeFormatter f, String text, Class<?> type) {
+        try {
+            f.parseMillis(text);
+            fail(text);
+        } catch (IllegalArgumentException ex) {
+            assertEquals(text, type, ex.getClass());
+        }
+        try {
+            f.parseDateTime(text);
+            fail(text);
+        } catch (IllegalArgumentException ex) {
+            assertEquals(text, type, ex.getClass());
+        }
+    }
+
+}
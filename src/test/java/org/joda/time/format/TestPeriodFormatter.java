@@ -16,6 +16,7 @@
 package org.joda.time.format;
 
 import java.io.CharArrayWriter;
+import java.text.ParsePosition;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -203,6 +204,35 @@ public class TestPeriodFormatter extends TestCase {
         } catch (IllegalArgumentException ex) {}
     }
 
+    public void testTryParsePeriod() {
+        ParsePosition pos = new ParsePosition(0);
+        assertEquals(new Period(1, 2, 3, 4, 5, 6, 7, 8), f.tryParsePeriod("P1Y2M3W4DT5H6M7.008S", pos));
+        assertEquals(20, pos.getIndex());
+        assertEquals(-1, pos.getErrorIndex());
+        
+        pos.setIndex(0);
+        assertEquals(null, f.tryParsePeriod("ABC", pos));
+        assertEquals(0, pos.getIndex());
+        assertEquals(0, pos.getErrorIndex());
+        assertEquals(null, f.tryParsePeriod("P1Y2MX", pos));
+        assertEquals(5, pos.getErrorIndex());
+        
+        pos.setIndex(2);
+        assertEquals(new Period(0, 0, 0, 4, 0, 0, 0, 0), f.tryParsePeriod("= P4D", pos));
+        assertEquals(5, pos.getIndex());
+        assertEquals(-1, pos.getErrorIndex());
+        
+        pos = new ParsePosition(0);
+        assertEquals(null, f.withParseType(PeriodType.days()).tryParsePeriod("P1Y", pos));
+        assertEquals(0, pos.getIndex());
+        assertEquals(0, pos.getErrorIndex());
+        
+        try {
+            f.tryParsePeriod("P4D", null);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
     //-----------------------------------------------------------------------
     public void testParseMutablePeriod_simple() {
         MutablePeriod expect = new MutablePeriod(1, 2, 3, 4, 5, 6, 7, 8);
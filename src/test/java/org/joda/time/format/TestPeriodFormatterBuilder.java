@@ -427,6 +427,25 @@ public class TestPeriodFormatterBuilder extends TestCase {
         assertEquals(Period.days(2), period);
     }
 
+    public void testRegExAffixPluralRules() {
+        // polish style rules, checked within and beyond the cached values
+        PeriodFormatter f = builder.appendDays().appendSuffix(
+                new String[] {"^1$", "[0-9]*(?<!1)[2-4]$", "[0-9]*"},
+                new String[] {" dzie\u0144", " dni ", " dni"}).toFormatter();
+        int[] values = {1, 2, 5, 12, 22, 25, 112, 1022, 1023, 1024, 2022, 123452, -2, -1024, -1025};
+        for (int i = 0; i < values.length; i++) {
+            for (int repeat = 0; repeat < 2; repeat++) {
+                // the regexes see the sign, so negative values use the last suffix
+                int value = (values[i] < 0 ? 0 : values[i]);
+                String expected = (value == 1 ? " dzie\u0144"
+                        : (value % 10 >= 2 && value % 10 <= 4 && value % 100 / 10 != 1 ? " dni " : " dni"));
+                Period period = Period.days(values[i]);
+                assertEquals(values[i] + expected, f.print(period));
+                assertEquals(f.print(period).length(), f.getPrinter().calculatePrintedLength(period, null));
+            }
+        }
+    }
+
     public void testFormatPrefixRegEx1() {
         PeriodFormatter f = builder.appendPrefix(new String[] { "^1$", "^.*$" }, new String[] { "Year:", "Years:" }).appendYears()
                 .toFormatter();
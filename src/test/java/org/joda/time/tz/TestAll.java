@@ -37,7 +37,9 @@ public class TestAll extends TestCase {
         suite.addTest(TestUTCProvider.suite());
         suite.addTest(TestBuilder.suite());
         suite.addTest(TestCompiler.suite());
+        suite.addTest(TestZoneInfoArchiveProvider.suite());
         suite.addTest(TestCachedDateTimeZone.suite());
+        suite.addTest(TestDefaultNameProvider.suite());
         suite.addTest(TestFixedDateTimeZone.suite());
         return suite;
     }
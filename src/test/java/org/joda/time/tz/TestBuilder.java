@@ -274,6 +274,39 @@ public class TestBuilder extends TestCase {
         }
     }
 
+    public void testTransitionsAcrossHorizon() {
+        // transitions up to 2100 are precalculated, those after use the rules
+        DateTimeZone tz = buildAmericaLosAngeles();
+        long instant = new DateTime("2090-01-01T00:00Z").getMillis();
+        for (int year = 2090; year < 2110; year++) {
+            long start = tz.nextTransition(instant);
+            DateTime startDT = new DateTime(start, DateTimeZone.UTC);
+            assertEquals(year, startDT.getYear());
+            assertEquals(4, startDT.getMonthOfYear());
+            assertEquals(7, startDT.getDayOfWeek());
+            assertEquals(10, startDT.getHourOfDay());
+            assertEquals(-8 * 3600000, tz.getOffset(start - 1));
+            assertEquals(-7 * 3600000, tz.getOffset(start));
+            assertEquals("PST", tz.getNameKey(start - 1));
+            assertEquals("PDT", tz.getNameKey(start));
+            assertEquals(-8 * 3600000, tz.getStandardOffset(start));
+            assertEquals(start - 1, tz.previousTransition(start));
+            assertEquals(start - 1, tz.previousTransition(start + 1));
+
+            long end = tz.nextTransition(start);
+            DateTime endDT = new DateTime(end, DateTimeZone.UTC);
+            assertEquals(year, endDT.getYear());
+            assertEquals(10, endDT.getMonthOfYear());
+            assertEquals(7, endDT.getDayOfWeek());
+            assertEquals(9, endDT.getHourOfDay());
+            assertEquals(-7 * 3600000, tz.getOffset(end - 1));
+            assertEquals(-8 * 3600000, tz.getOffset(end));
+            assertEquals(end, tz.nextTransition(start + 1));
+            assertEquals(start - 1, tz.previousTransition(end - 1));
+            instant = end;
+        }
+    }
+
     public void testSerialization() throws IOException {
         DateTimeZone tz = testSerialization
             (buildAmericaLosAngelesBuilder(), "America/Los_Angeles");
@@ -23,7 +23,11 @@ import java.io.ObjectOutputStream;
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
 
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeConstants;
 import org.joda.time.DateTimeZone;
+import org.joda.time.IllegalInstantException;
+import org.joda.time.LocalDateTime;
 
 /**
  * Test cases for FixedDateTimeZone.
@@ -61,6 +65,131 @@ public class TestCachedDateTimeZone extends TestCase {
         assertSame(zone1, zone2);
     }
 
+    public void test_matchesUncachedZone() {
+        CachedDateTimeZone zone = CachedDateTimeZone.forZone(DateTimeZone.forID("Europe/London"));
+        DateTimeZone uncached = zone.getUncachedZone();
+        long instant = new DateTime(1900, 1, 1, 0, 0, DateTimeZone.UTC).getMillis();
+        long end = new DateTime(2100, 1, 1, 0, 0, DateTimeZone.UTC).getMillis();
+        while (instant < end) {
+            long next = uncached.nextTransition(instant);
+            assertEquals(uncached.getOffset(next - 1), zone.getOffset(next - 1));
+            assertEquals(uncached.getOffset(next), zone.getOffset(next));
+            assertEquals(uncached.getStandardOffset(next), zone.getStandardOffset(next));
+            assertEquals(uncached.getNameKey(next - 1), zone.getNameKey(next - 1));
+            assertEquals(uncached.getNameKey(next), zone.getNameKey(next));
+            instant = next;
+        }
+    }
+
+    public void test_localToUTCMatchesUncachedZone() {
+        String[] ids = {"Europe/London", "America/New_York", "Australia/Lord_Howe", "Pacific/Apia"};
+        for (int i = 0; i < ids.length; i++) {
+            CachedDateTimeZone zone = CachedDateTimeZone.forZone(DateTimeZone.forID(ids[i]));
+            DateTimeZone uncached = zone.getUncachedZone();
+            long instant = new DateTime(1900, 1, 1, 0, 0, DateTimeZone.UTC).getMillis();
+            long end = new DateTime(2100, 1, 1, 0, 0, DateTimeZone.UTC).getMillis();
+            while (instant < end) {
+                long next = uncached.nextTransition(instant);
+                for (long local = next - 4 * DateTimeConstants.MILLIS_PER_DAY;
+                        local < next + 4 * DateTimeConstants.MILLIS_PER_DAY;
+                        local += DateTimeConstants.MILLIS_PER_HOUR / 4) {
+                    assertEquals(uncached.getOffsetFromLocal(local), zone.getOffsetFromLocal(local));
+                    assertEquals(uncached.convertLocalToUTC(local, false), zone.convertLocalToUTC(local, false));
+                    assertEquals(uncached.isLocalDateTimeGap(new LocalDateTime(local, DateTimeZone.UTC)),
+                            zone.isLocalDateTimeGap(new LocalDateTime(local, DateTimeZone.UTC)));
+                }
+                instant = next;
+            }
+        }
+    }
+
+    public void test_convertLocalToUTC_strictGap() {
+        CachedDateTimeZone zone = CachedDateTimeZone.forZone(DateTimeZone.forID("Europe/London"));
+        long gap = new DateTime(2015, 3, 29, 1, 30, DateTimeZone.UTC).getMillis();
+        try {
+            zone.convertLocalToUTC(gap, true);
+            fail();
+        } catch (IllegalInstantException ex) {
+            // expected
+        }
+        long summer = new DateTime(2015, 7, 1, 12, 0, DateTimeZone.UTC).getMillis();
+        assertEquals(summer - DateTimeConstants.MILLIS_PER_HOUR, zone.convertLocalToUTC(summer, true));
+    }
+
+    public void test_statistics() {
+        DateTimeZone uncached = ((CachedDateTimeZone) DateTimeZone.forID("America/New_York")).getUncachedZone();
+        CachedDateTimeZone zone = CachedDateTimeZone.forZone(uncached);
+        assertEquals(16, zone.getCacheSize());
+        assertEquals(0, zone.getHitCount());
+        assertEquals(0, zone.getMissCount());
+        
+        long instant = new DateTime(2015, 6, 1, 0, 0, DateTimeZone.UTC).getMillis();
+        zone.getOffset(instant);
+        zone.getOffset(instant + 1);
+        zone.getNameKey(instant);
+        assertEquals(2, zone.getHitCount());
+        assertEquals(1, zone.getMissCount());
+        assertEquals(0, zone.getCollisionCount());
+        assertEquals(16, zone.getCacheSize());
+    }
+
+    public void test_growsWithSpread() {
+        DateTimeZone uncached = ((CachedDateTimeZone) DateTimeZone.forID("America/New_York")).getUncachedZone();
+        CachedDateTimeZone zone = CachedDateTimeZone.forZone(uncached);
+        long period = 1L << 32;
+        long base = new DateTime(1950, 1, 1, 0, 0, DateTimeZone.UTC).getMillis();
+        // a narrow range stays small
+        for (int i = 0; i < 1000; i++) {
+            zone.getOffset(base + (i % 8) * period);
+        }
+        assertEquals(16, zone.getCacheSize());
+        assertEquals(0, zone.getCollisionCount());
+        // a sweep over decades grows the cache
+        for (int r = 0; r < 4; r++) {
+            for (int i = 0; i < 1000; i++) {
+                zone.getOffset(base + i * period);
+            }
+        }
+        assertEquals(512, zone.getCacheSize());
+        assertTrue(zone.getCollisionCount() > 0);
+        assertTrue(zone.getMissCount() > zone.getCollisionCount());
+        assertEquals(5000, zone.getHitCount() + zone.getMissCount());
+    }
+
+    public void test_concurrentLookups() throws Exception {
+        final DateTimeZone uncached = ((CachedDateTimeZone) DateTimeZone.forID("America/New_York")).getUncachedZone();
+        final CachedDateTimeZone zone = CachedDateTimeZone.forZone(uncached);
+        final long period = 1L << 32;
+        final long base = new DateTime(1950, 1, 1, 0, 0, DateTimeZone.UTC).getMillis();
+        final boolean[] failed = new boolean[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int r = 0; r < 4; r++) {
+                        for (int i = 0; i < 1000; i++) {
+                            long instant = base + i * period + 12345;
+                            if (zone.getOffset(instant) != uncached.getOffset(instant) ||
+                                    zone.getOffsetFromLocal(instant) != uncached.getOffsetFromLocal(instant)) {
+                                failed[0] = true;
+                            }
+                        }
+                    }
+                }
+            };
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+        }
+        assertEquals(false, failed[0]);
+        assertEquals(512, zone.getCacheSize());
+        // local instants near a transition also look up offsets
+        assertTrue(zone.getHitCount() + zone.getMissCount() >= 4 * 4 * 1000 * 2);
+    }
+
     //-----------------------------------------------------------------------
     public void testSerialization() throws Exception {
         CachedDateTimeZone test = CachedDateTimeZone.forZone(DateTimeZone.forID("Europe/Paris"));
@@ -20,6 +20,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
 import java.util.StringTokenizer;
 
 import junit.framework.TestCase;
@@ -118,6 +119,55 @@ public class TestCompiler extends TestCase {
         TestBuilder.testReverseTransitions(tz, TestBuilder.AMERICA_LOS_ANGELES_DATA);
     }
 
+    public void testCompile_parallel() throws Exception {
+        File srcDir = new File("src/main/java/org/joda/time/tz/src");
+        File[] sources = new File[] {new File(srcDir, "europe"), new File(srcDir, "northamerica")};
+        ZoneInfoCompiler sequential = new ZoneInfoCompiler();
+        sequential.setThreads(1);
+        Map<String, DateTimeZone> expected = sequential.compile(null, sources);
+        ZoneInfoCompiler parallel = new ZoneInfoCompiler();
+        parallel.setThreads(4);
+        Map<String, DateTimeZone> test = parallel.compile(null, sources);
+        assertEquals(expected.keySet(), test.keySet());
+        for (String id : expected.keySet()) {
+            assertEquals(id, expected.get(id), test.get(id));
+        }
+    }
+
+    public void testCompile_incremental() throws Exception {
+        File srcDir = createDataFile(AMERICA_LOS_ANGELES_FILE);
+        File destDir = makeTempDir();
+        File[] sources = new File[] {new File(srcDir, "tzdata")};
+        ZoneInfoCompiler zic = new ZoneInfoCompiler();
+        zic.setIncremental(true);
+        DateTimeZone built = zic.compile(destDir, sources).get("America/Los_Angeles");
+        deleteOnExit(destDir);
+        assertEquals(true, new File(destDir, ZoneInfoCompiler.FINGERPRINTS_NAME).exists());
+
+        // replace the compiled file, which an unchanged source will reuse
+        FileOutputStream out = new FileOutputStream(new File(destDir, "America/Los_Angeles"));
+        new DateTimeZoneBuilder().setStandardOffset(3600000).setFixedSavings("XXX", 0)
+            .writeTo("America/Los_Angeles", out);
+        out.close();
+        zic = new ZoneInfoCompiler();
+        zic.setIncremental(true);
+        DateTimeZone reused = zic.compile(destDir, sources).get("America/Los_Angeles");
+        assertEquals(true, reused.isFixed());
+        assertEquals(3600000, reused.getOffset(0L));
+
+        // a changed source is built again
+        srcDir = createDataFile(AMERICA_LOS_ANGELES_FILE.replace("Rule    CA  1948    only    -   Mar 14",
+                                                                  "Rule    CA  1948    only    -   Mar 15"));
+        sources = new File[] {new File(srcDir, "tzdata")};
+        zic = new ZoneInfoCompiler();
+        zic.setIncremental(true);
+        DateTimeZone rebuilt = zic.compile(destDir, sources).get("America/Los_Angeles");
+        assertEquals(false, rebuilt.isFixed());
+        assertEquals(false, built.equals(rebuilt));
+        assertEquals(built.getOffset(0L), rebuilt.getOffset(0L));
+        assertEquals(rebuilt, new ZoneInfoProvider(destDir).getZone("America/Los_Angeles"));
+    }
+
     private Provider compileAndLoad(String data) throws Exception {
         File tempDir = createDataFile(data);
         File destDir = makeTempDir();
@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.tz;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Test cases for DefaultNameProvider.
+ */
+public class TestDefaultNameProvider extends TestCase {
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite() {
+        return new TestSuite(TestDefaultNameProvider.class);
+    }
+
+    public TestDefaultNameProvider(String name) {
+        super(name);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_nameKey() {
+        DefaultNameProvider provider = new DefaultNameProvider();
+        assertEquals("GMT", provider.getShortName(Locale.ENGLISH, "Europe/London", "GMT"));
+        assertEquals("BST", provider.getShortName(Locale.ENGLISH, "Europe/London", "BST"));
+        assertEquals("British Summer Time", provider.getName(Locale.ENGLISH, "Europe/London", "BST"));
+        assertEquals(null, provider.getShortName(Locale.ENGLISH, "Europe/London", "XXX"));
+        assertEquals(null, provider.getShortName(Locale.ENGLISH, "Unknown/Zone", "GMT"));
+        assertEquals(null, provider.getShortName(null, "Europe/London", "GMT"));
+        assertEquals(null, provider.getShortName(Locale.ENGLISH, null, "GMT"));
+        assertEquals(null, provider.getShortName(Locale.ENGLISH, "Europe/London", null));
+    }
+
+    public void test_standardTime() {
+        DefaultNameProvider provider = new DefaultNameProvider();
+        assertEquals("GMT", provider.getShortName(Locale.ENGLISH, "Europe/London", "GMT", true));
+        assertEquals("BST", provider.getShortName(Locale.ENGLISH, "Europe/London", "BST", false));
+        assertEquals("Greenwich Mean Time", provider.getName(Locale.ENGLISH, "Europe/London", "GMT", true));
+        assertEquals(null, provider.getName(Locale.ENGLISH, "Unknown/Zone", "GMT", true));
+        assertEquals(null, provider.getName(null, "Europe/London", "GMT", true));
+    }
+
+    public void test_prebuiltLocales() {
+        DefaultNameProvider lazy = new DefaultNameProvider();
+        DefaultNameProvider prebuilt = new DefaultNameProvider(Arrays.asList(Locale.FRANCE, Locale.GERMANY, null));
+        String[] ids = {"Europe/London", "Europe/Paris", "America/New_York", "Asia/Tokyo"};
+        Locale[] locales = {Locale.FRANCE, Locale.GERMANY, Locale.UK};
+        for (int i = 0; i < ids.length; i++) {
+            for (int j = 0; j < locales.length; j++) {
+                assertEquals(lazy.getName(locales[j], ids[i], "GMT", true), prebuilt.getName(locales[j], ids[i], "GMT", true));
+                assertEquals(lazy.getShortName(locales[j], ids[i], "GMT", false), prebuilt.getShortName(locales[j], ids[i], "GMT", false));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2001-2015 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.tz;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.joda.time.DateTimeZone;
+
+/**
+ * This class is a JUnit test for ZoneInfoArchiveProvider.
+ */
+public class TestZoneInfoArchiveProvider extends TestCase {
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite() {
+        return new TestSuite(TestZoneInfoArchiveProvider.class);
+    }
+
+    public TestZoneInfoArchiveProvider(String name) {
+        super(name);
+    }
+
+    //-----------------------------------------------------------------------
+    public void testMatchesZoneInfoProvider() throws Exception {
+        Provider expected = new ZoneInfoProvider("org/joda/time/tz/data");
+        Provider test = new ZoneInfoArchiveProvider();
+        assertEquals(expected.getAvailableIDs(), test.getAvailableIDs());
+        for (String id : expected.getAvailableIDs()) {
+            DateTimeZone zone = test.getZone(id);
+            assertEquals(id, expected.getZone(id), zone);
+            assertEquals(id, expected.getZone(id).getID(), zone.getID());
+        }
+    }
+
+    public void testGetZone() throws Exception {
+        Provider test = new ZoneInfoArchiveProvider();
+        assertSame(DateTimeZone.UTC, test.getZone("UTC"));
+        assertEquals(null, test.getZone(null));
+        assertEquals(null, test.getZone("Blah"));
+        DateTimeZone paris = test.getZone("Europe/Paris");
+        assertEquals("Europe/Paris", paris.getID());
+        assertSame(paris, test.getZone("Europe/Paris"));
+        assertEquals(3600000, paris.getStandardOffset(0L));
+    }
+
+    //-----------------------------------------------------------------------
+    public void testCompiledArchive() throws Exception {
+        File dir = compile(TestCompiler.AMERICA_LOS_ANGELES_FILE);
+        assertEquals(true, new File(dir, ZoneInfoArchiveProvider.ARCHIVE_NAME).exists());
+
+        Provider test = new ZoneInfoArchiveProvider(dir);
+        assertEquals(true, test.getAvailableIDs().contains("America/Los_Angeles"));
+        assertEquals(true, test.getAvailableIDs().contains("UTC"));
+        DateTimeZone tz = test.getZone("America/Los_Angeles");
+        assertEquals("America/Los_Angeles", tz.getID());
+        TestBuilder.testForwardTransitions(tz, TestBuilder.AMERICA_LOS_ANGELES_DATA);
+        TestBuilder.testReverseTransitions(tz, TestBuilder.AMERICA_LOS_ANGELES_DATA);
+    }
+
+    public void testPinned() throws Exception {
+        File dir = compile(TestCompiler.AMERICA_LOS_ANGELES_FILE);
+        Set<String> pinned = new HashSet<String>();
+        pinned.add("America/Los_Angeles");
+        Provider test = new ZoneInfoArchiveProvider(new File(dir, ZoneInfoArchiveProvider.ARCHIVE_NAME), pinned);
+        DateTimeZone tz = test.getZone("America/Los_Angeles");
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            assertSame(tz, test.getZone("America/Los_Angeles"));
+        }
+        test = new ZoneInfoArchiveProvider(dir, Collections.singleton("*"));
+        tz = test.getZone("America/Los_Angeles");
+        System.gc();
+        assertSame(tz, test.getZone("America/Los_Angeles"));
+    }
+
+    public void testInvalidArchive() throws Exception {
+        File dir = makeTempDir();
+        File file = new File(dir, ZoneInfoArchiveProvider.ARCHIVE_NAME);
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        out.close();
+        try {
+            new ZoneInfoArchiveProvider(dir);
+            fail();
+        } catch (IOException ex) {
+            // expected
+        }
+        try {
+            new ZoneInfoArchiveProvider(new File(dir, "Missing"));
+            fail();
+        } catch (IOException ex) {
+            // expected
+        }
+    }
+
+    public void testBufferInputReadLine() throws Exception {
+        byte[] bytes = "one\ntwo\r\nthree\rfour".getBytes("ISO-8859-1");
+        ZoneInfoArchiveProvider.BufferInput in = new ZoneInfoArchiveProvider.BufferInput(ByteBuffer.wrap(bytes));
+        assertEquals("one", in.readLine());
+        assertEquals("two", in.readLine());
+        assertEquals("three", in.readLine());
+        assertEquals("four", in.readLine());
+        assertEquals(null, in.readLine());
+        
+        in = new ZoneInfoArchiveProvider.BufferInput(ByteBuffer.wrap(new byte[] {'\n', 'a', (byte) 0xe9}));
+        assertEquals("", in.readLine());
+        assertEquals("a\u00e9", in.readLine());
+        assertEquals(null, in.readLine());
+    }
+
+    //-----------------------------------------------------------------------
+    private File compile(String data) throws Exception {
+        File srcDir = makeTempDir();
+        File srcFile = new File(srcDir, "tzdata");
+        srcFile.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(srcFile);
+        out.write(data.getBytes("UTF-8"));
+        out.close();
+        File destDir = makeTempDir();
+        ZoneInfoCompiler.main(new String[] {
+            "-src", srcDir.getAbsolutePath(),
+            "-dst", destDir.getAbsolutePath(),
+            "tzdata"
+        });
+        deleteOnExit(destDir);
+        return destDir;
+    }
+
+    private File makeTempDir() {
+        File tempDir = new File(System.getProperty("java.io.tmpdir"));
+        tempDir = new File(tempDir, "joda-test-" + (new java.util.Random().nextInt() & 0xffffff));
+        tempDir.mkdirs();
+        tempDir.deleteOnExit();
+        return tempDir;
+    }
+
+    private void deleteOnExit(File tempFile) {
+        tempFile.deleteOnExit();
+        if (tempFile.isDirectory()) {
+            File[] files = tempFile.listFiles();
+            for (int i = 0; i < files.length; i++) {
+                deleteOnExit(files[i]);
+            }
+        }
+    }
+
+}